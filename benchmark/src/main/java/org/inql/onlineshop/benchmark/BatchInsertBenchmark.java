@@ -0,0 +1,94 @@
+package org.inql.onlineshop.benchmark;
+
+import org.h2.tools.Server;
+import org.inql.onlineshop.domain.Item;
+import org.inql.onlineshop.repository.ItemRepository;
+import org.inql.onlineshop.service.ItemService;
+import org.inql.onlineshop.service.ItemServiceImpl;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bulk catalog load through saveAll: pooled sequence ids with JDBC batching against an IDENTITY keyed table,
+ * where Hibernate has to send every insert on its own to learn the generated key.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class BatchInsertBenchmark {
+
+    @Param({"100000"})
+    int size;
+
+    // 0 turns JDBC batching off for the sequence keyed items
+    @Param({"0", "50"})
+    int batchSize;
+
+    private Server server;
+    private ConfigurableApplicationContext context;
+    private JdbcTemplate jdbcTemplate;
+    private EntityManagerFactory entityManagerFactory;
+    private ItemService itemService;
+    private IdentityItemRepository identityItemRepository;
+    private List<Item> items;
+    private List<IdentityItem> identityItems;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        // over TCP every statement is a network round trip, which is what batching saves
+        server = Server.createTcpServer("-tcpPort", "0", "-ifNotExists").start();
+        context = BenchmarkContext.start(
+                "spring.datasource.url=jdbc:h2:tcp://localhost:" + server.getPort() + "/mem:batch-insert;DB_CLOSE_DELAY=-1",
+                "spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize,
+                // only id generation and batching differ between the two tables
+                "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+                "spring.jpa.properties.hibernate.cache.use_query_cache=false");
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        entityManagerFactory = context.getBean(EntityManagerFactory.class);
+        itemService = new ItemServiceImpl(context.getBean(ItemRepository.class));
+        identityItemRepository = context.getBean(IdentityItemRepository.class);
+    }
+
+    @Setup(Level.Iteration)
+    public void prepare() {
+        jdbcTemplate.execute("delete from db_item");
+        jdbcTemplate.execute("delete from benchmark_identity_item");
+        entityManagerFactory.getCache().evictAll();
+        Random random = new Random(1L);
+        items = new ArrayList<>(size);
+        identityItems = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            String name = BenchmarkData.itemName(i);
+            double value = BenchmarkData.itemValue(random);
+            items.add(new Item(name, value));
+            identityItems.add(new IdentityItem(name, value));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+        server.stop();
+    }
+
+    @Benchmark
+    public Iterable<Item> pooledSequence() {
+        return itemService.saveAll(items);
+    }
+
+    @Benchmark
+    public Iterable<IdentityItem> identity() {
+        return identityItemRepository.saveAll(identityItems);
+    }
+}
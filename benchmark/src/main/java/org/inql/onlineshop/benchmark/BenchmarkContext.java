@@ -0,0 +1,34 @@
+package org.inql.onlineshop.benchmark;
+
+import org.inql.onlineshop.OnlineshopApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Starts the onlineshop persistence layer against a fresh in-memory H2 database.
+ */
+public final class BenchmarkContext {
+
+    private BenchmarkContext() {
+    }
+
+    public static ConfigurableApplicationContext start(String... properties) {
+        List<String> allProperties = new ArrayList<>(Arrays.asList(
+                "spring.datasource.url=jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                "spring.jpa.hibernate.ddl-auto=create-drop",
+                "spring.jpa.open-in-view=false",
+                "spring.main.banner-mode=off",
+                "logging.level.root=warn"));
+        allProperties.addAll(Arrays.asList(properties));
+        return new SpringApplicationBuilder(OnlineshopApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(allProperties.toArray(new String[0]))
+                .run();
+    }
+}
@@ -0,0 +1,186 @@
+package org.inql.onlineshop.benchmark;
+
+import org.inql.onlineshop.domain.Client;
+import org.inql.onlineshop.domain.Item;
+import org.inql.onlineshop.domain.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Synthetic rows that satisfy the entity constraints, inserted with plain JDBC so setup stays fast.
+ * The same rows can be built as entities for the in-memory repositories, row i always gets id i + 1.
+ */
+public final class BenchmarkData {
+
+    private static final int INSERT_BATCH = 10_000;
+    private static final int LINES_PER_ORDER = 2;
+    // allocationSize of the entity sequences, the pooled optimizer hands out the block ending at the sequence value
+    private static final int SEQUENCE_ALLOCATION = 50;
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Unique name matching the Item name pattern, e.g. 0 -> "Aa", 27 -> "Bb".
+     */
+    public static String itemName(long i) {
+        StringBuilder name = new StringBuilder().append((char) ('A' + i % 26));
+        long rest = i / 26;
+        do {
+            name.append((char) ('a' + rest % 26));
+            rest /= 26;
+        } while (rest > 0);
+        return name.toString();
+    }
+
+    public static double itemValue(Random random) {
+        // a single division keeps two fraction digits, 1 + x / 100D does not always
+        return (100 + random.nextInt(100_000)) / 100D;
+    }
+
+    public static double[] itemValues(int count, long seed) {
+        Random random = new Random(seed);
+        double[] values = new double[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = itemValue(random);
+        }
+        return values;
+    }
+
+    public static String clientName(long i) {
+        return "Name" + itemName(i).toLowerCase();
+    }
+
+    public static String clientSurname(long i) {
+        return "Surname" + itemName(i).toLowerCase();
+    }
+
+    public static String clientEmail(long i) {
+        return "client" + i + "@shop.com";
+    }
+
+    static long orderClientId(int order, int clients) {
+        return 1 + order % clients;
+    }
+
+    static int orderItemIndex(int order, int line, int items) {
+        return (int) ((order * 7L + line) % items);
+    }
+
+    static int orderQuantity(int order, int line) {
+        return 1 + (order + line) % 3;
+    }
+
+    public static void insertItems(JdbcTemplate jdbcTemplate, int count, long seed) {
+        double[] values = itemValues(count, seed);
+        List<Object[]> batch = new ArrayList<>(INSERT_BATCH);
+        for (int i = 0; i < count; i++) {
+            batch.add(new Object[]{i + 1L, itemName(i), values[i]});
+            flushIfFull(jdbcTemplate, "insert into db_item (id, name, value) values (?, ?, ?)", batch);
+        }
+        flush(jdbcTemplate, "insert into db_item (id, name, value) values (?, ?, ?)", batch);
+        restartSequence(jdbcTemplate, "item_seq", count + 1L);
+    }
+
+    public static void insertClients(JdbcTemplate jdbcTemplate, int count) {
+        String sql = "insert into db_client (id, name, surname, email) values (?, ?, ?, ?)";
+        List<Object[]> batch = new ArrayList<>(INSERT_BATCH);
+        for (int i = 0; i < count; i++) {
+            batch.add(new Object[]{i + 1L, clientName(i), clientSurname(i), clientEmail(i)});
+            flushIfFull(jdbcTemplate, sql, batch);
+        }
+        flush(jdbcTemplate, sql, batch);
+        restartSequence(jdbcTemplate, "client_seq", count + 1L);
+    }
+
+    /**
+     * Orders spread round robin over the clients, each with two lines. Needs at least two items.
+     */
+    public static void insertOrders(JdbcTemplate jdbcTemplate, int count, int clients, int items, long itemSeed) {
+        double[] values = itemValues(items, itemSeed);
+        String orderSql = "insert into db_order (id, client_id, total, item_count) values (?, ?, ?, ?)";
+        String lineSql = "insert into db_order_line (id, order_id, item_id, quantity, unit_price) values (?, ?, ?, ?, ?)";
+        List<Object[]> orders = new ArrayList<>(INSERT_BATCH);
+        List<Object[]> lines = new ArrayList<>(INSERT_BATCH);
+        for (int i = 0; i < count; i++) {
+            double total = 0D;
+            int itemCount = 0;
+            for (int line = 0; line < LINES_PER_ORDER; line++) {
+                int item = orderItemIndex(i, line, items);
+                lines.add(new Object[]{(long) i * LINES_PER_ORDER + line + 1, i + 1L, item + 1L,
+                        orderQuantity(i, line), values[item]});
+                total += orderQuantity(i, line) * values[item];
+                itemCount += orderQuantity(i, line);
+            }
+            orders.add(new Object[]{i + 1L, orderClientId(i, clients), Math.round(total * 100) / 100D, itemCount});
+            if (lines.size() >= INSERT_BATCH) {
+                // lines reference their orders, which fill a batch more slowly
+                flush(jdbcTemplate, orderSql, orders);
+                flush(jdbcTemplate, lineSql, lines);
+            }
+        }
+        flush(jdbcTemplate, orderSql, orders);
+        flush(jdbcTemplate, lineSql, lines);
+        restartSequence(jdbcTemplate, "order_seq", count + 1L);
+        restartSequence(jdbcTemplate, "order_line_seq", (long) count * LINES_PER_ORDER + 1);
+    }
+
+    public static List<Item> items(int count, long seed) {
+        double[] values = itemValues(count, seed);
+        List<Item> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Item item = new Item(itemName(i), values[i]);
+            item.setId(i + 1L);
+            items.add(item);
+        }
+        return items;
+    }
+
+    public static List<Client> clients(int count) {
+        List<Client> clients = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Client client = new Client(clientName(i), clientSurname(i), clientEmail(i));
+            client.setId(i + 1L);
+            clients.add(client);
+        }
+        return clients;
+    }
+
+    public static List<Order> orders(int count, List<Client> clients, List<Item> items) {
+        List<Order> orders = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Order order = new Order();
+            order.setId(i + 1L);
+            order.setClient(clients.get((int) orderClientId(i, clients.size()) - 1));
+            for (int line = 0; line < LINES_PER_ORDER; line++) {
+                order.addItem(items.get(orderItemIndex(i, line, items.size())), orderQuantity(i, line))
+                        .setId((long) i * LINES_PER_ORDER + line + 1);
+            }
+            orders.add(order);
+        }
+        return orders;
+    }
+
+    /**
+     * Keeps ids handed out by the pooled sequence clear of the explicit ones, the first id will be {@code nextId}.
+     */
+    private static void restartSequence(JdbcTemplate jdbcTemplate, String sequence, long nextId) {
+        jdbcTemplate.execute("alter sequence " + sequence + " restart with " + (nextId + SEQUENCE_ALLOCATION - 1));
+    }
+
+    private static void flushIfFull(JdbcTemplate jdbcTemplate, String sql, List<Object[]> batch) {
+        if (batch.size() >= INSERT_BATCH) {
+            flush(jdbcTemplate, sql, batch);
+        }
+    }
+
+    private static void flush(JdbcTemplate jdbcTemplate, String sql, List<Object[]> batch) {
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, batch);
+            batch.clear();
+        }
+    }
+}
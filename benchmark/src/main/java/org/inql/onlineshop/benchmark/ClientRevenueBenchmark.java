@@ -0,0 +1,81 @@
+package org.inql.onlineshop.benchmark;
+
+import org.inql.onlineshop.domain.ClientRevenues;
+import org.inql.onlineshop.domain.OrderSnapshot;
+import org.inql.onlineshop.repository.OrderRepository;
+import org.inql.onlineshop.service.ClientRevenueAggregator;
+import org.inql.onlineshop.service.ClientRevenueService;
+import org.inql.onlineshop.service.ClientRevenueServiceImpl;
+import org.inql.onlineshop.service.RevenueMode;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-client revenue aggregated by one grouped query on H2 and in memory by the fork/join
+ * {@link ClientRevenueAggregator}, either including the snapshot load or on a snapshot loaded once.
+ * Each order has two lines, so the default sizes hold 10M order lines. H2 would answer the unchanged grouped
+ * query from its cached result after the first call, so result reuse is switched off for this database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+public class ClientRevenueBenchmark {
+
+    private static final long ITEM_SEED = 1L;
+    private static final int ITEMS = 10_000;
+
+    @Param({"100000"})
+    int clients;
+
+    @Param({"5000000"})
+    int orders;
+
+    @Param({"1", "4"})
+    int parallelism;
+
+    private ConfigurableApplicationContext context;
+    private ClientRevenueAggregator aggregator;
+    private ClientRevenueService clientRevenueService;
+    private OrderSnapshot snapshot;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(
+                "spring.datasource.url=jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1;OPTIMIZE_REUSE_RESULTS=0");
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        BenchmarkData.insertItems(jdbcTemplate, ITEMS, ITEM_SEED);
+        BenchmarkData.insertClients(jdbcTemplate, clients);
+        BenchmarkData.insertOrders(jdbcTemplate, orders, clients, ITEMS, ITEM_SEED);
+        aggregator = new ClientRevenueAggregator(parallelism);
+        clientRevenueService = new ClientRevenueServiceImpl(context.getBean(OrderRepository.class), aggregator);
+        snapshot = clientRevenueService.loadSnapshot();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        aggregator.close();
+        context.close();
+    }
+
+    @Benchmark
+    public ClientRevenues sqlGroupBy() {
+        return clientRevenueService.getClientRevenues(RevenueMode.SQL);
+    }
+
+    @Benchmark
+    public ClientRevenues parallelWithSnapshotLoad() {
+        return clientRevenueService.getClientRevenues(RevenueMode.PARALLEL);
+    }
+
+    @Benchmark
+    public ClientRevenues parallelOnSnapshot() {
+        return clientRevenueService.aggregate(snapshot);
+    }
+}
@@ -0,0 +1,158 @@
+package org.inql.onlineshop.benchmark;
+
+import javassist.NotFoundException;
+import org.inql.onlineshop.domain.Client;
+import org.inql.onlineshop.service.ClientService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Every {@link ClientService} method against H2 and against the in-memory repositories.
+ * Streams are read for one page, writes are measured together with the delete that keeps the table at its size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+public class ClientServiceBenchmark {
+
+    private static final int PAGE = 50;
+
+    @Param({ServiceBackend.H2, ServiceBackend.MEMORY})
+    String backend;
+
+    @Param({"1000", "100000", "1000000"})
+    int size;
+
+    private ServiceBackend services;
+    private ClientService clientService;
+    private long created;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        services = ServiceBackend.start(backend, 0, size, 0);
+        clientService = services.clientService();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        services.close();
+    }
+
+    private int randomRow() {
+        return ThreadLocalRandom.current().nextInt(size);
+    }
+
+    // lower case letters shared by the name and surname of a random client
+    private String randomKeyword() {
+        String letters = BenchmarkData.itemName(randomRow()).toLowerCase();
+        return letters.substring(0, Math.min(3, letters.length()));
+    }
+
+    private Client newClient() {
+        long row = size + created++;
+        return new Client(BenchmarkData.clientName(row), BenchmarkData.clientSurname(row), BenchmarkData.clientEmail(row));
+    }
+
+    private List<Client> readPage(Stream<Client> stream) {
+        try (Stream<Client> clients = stream) {
+            return clients.limit(PAGE).collect(Collectors.toList());
+        }
+    }
+
+    @Benchmark
+    public Set<Client> getClients() {
+        return clientService.getClients();
+    }
+
+    @Benchmark
+    public List<Client> streamClients() {
+        return services.inTransaction(() -> readPage(clientService.streamClients()));
+    }
+
+    @Benchmark
+    public List<Client> streamClientsWithFetchSize() {
+        return services.inTransaction(() -> readPage(clientService.streamClients(PAGE)));
+    }
+
+    @Benchmark
+    public List<Client> getClientsPage() {
+        return clientService.getClients(1L + randomRow(), PAGE);
+    }
+
+    @Benchmark
+    public Client findById() throws NotFoundException {
+        return clientService.findById(1L + randomRow());
+    }
+
+    @Benchmark
+    public Iterable<Client> findAll() {
+        List<Long> ids = new ArrayList<>(PAGE);
+        for (int i = 0; i < PAGE; i++) {
+            ids.add(1L + randomRow());
+        }
+        return clientService.findAll(ids);
+    }
+
+    @Benchmark
+    public Client findByEmail() throws NotFoundException {
+        return clientService.findByEmail(BenchmarkData.clientEmail(randomRow()));
+    }
+
+    @Benchmark
+    public Set<Client> findClientsByName() {
+        return clientService.findClientsByName(BenchmarkData.clientName(randomRow()));
+    }
+
+    @Benchmark
+    public Set<Client> findClientsBySurname() {
+        return clientService.findClientsBySurname(BenchmarkData.clientSurname(randomRow()));
+    }
+
+    @Benchmark
+    public Set<Client> findByNameContaining() {
+        return clientService.findByNameContaining(randomKeyword());
+    }
+
+    @Benchmark
+    public Set<Client> findBySurnameContaining() {
+        return clientService.findBySurnameContaining(randomKeyword());
+    }
+
+    @Benchmark
+    public Set<Client> findByEmailContaining() {
+        return clientService.findByEmailContaining("client" + randomRow() + "@");
+    }
+
+    @Benchmark
+    public List<Client> search() {
+        return clientService.search(randomKeyword(), 20);
+    }
+
+    @Benchmark
+    public Client saveAndDeleteById() {
+        Client client = clientService.save(newClient());
+        clientService.deleteById(client.getId());
+        return client;
+    }
+
+    @Benchmark
+    public Iterable<Client> saveAllAndDeleteById() {
+        List<Client> clients = new ArrayList<>(PAGE);
+        for (int i = 0; i < PAGE; i++) {
+            clients.add(newClient());
+        }
+        Iterable<Client> saved = clientService.saveAll(clients);
+        saved.forEach(client -> clientService.deleteById(client.getId()));
+        return saved;
+    }
+}
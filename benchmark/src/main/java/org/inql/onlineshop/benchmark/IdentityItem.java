@@ -0,0 +1,37 @@
+package org.inql.onlineshop.benchmark;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+/**
+ * Copy of the item table keyed by an IDENTITY column, the baseline for {@link BatchInsertBenchmark}.
+ */
+@Entity
+@Table(name = "benchmark_identity_item")
+public class IdentityItem {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(unique = true)
+    private String name;
+
+    private Double value;
+
+    public IdentityItem() {
+    }
+
+    public IdentityItem(String name, Double value) {
+        this.name = name;
+        this.value = value;
+    }
+
+    public Long getId() {
+        return id;
+    }
+}
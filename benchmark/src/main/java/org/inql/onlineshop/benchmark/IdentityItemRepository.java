@@ -0,0 +1,6 @@
+package org.inql.onlineshop.benchmark;
+
+import org.springframework.data.repository.CrudRepository;
+
+public interface IdentityItemRepository extends CrudRepository<IdentityItem, Long> {
+}
@@ -0,0 +1,96 @@
+package org.inql.onlineshop.benchmark;
+
+import org.inql.onlineshop.domain.Client;
+import org.inql.onlineshop.domain.ClientView;
+import org.inql.onlineshop.index.ClientSearchIndex;
+import org.inql.onlineshop.repository.ClientRepository;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class InMemoryClientRepository extends InMemoryCrudRepository<Client> implements ClientRepository {
+
+    public InMemoryClientRepository() {
+        super(Client::getId, Client::setId);
+    }
+
+    @Override
+    public Optional<Client> findClientByEmail(String email) {
+        return entities.values().stream().filter(client -> client.getEmail().equals(email)).findFirst();
+    }
+
+    @Override
+    public Set<Client> findClientsByName(String name) {
+        return filter(client -> client.getName().equals(name));
+    }
+
+    @Override
+    public Set<Client> findClientsBySurname(String surname) {
+        return filter(client -> client.getSurname().equals(surname));
+    }
+
+    @Override
+    public Set<Client> findClientsByNameContaining(String keyword) {
+        return filter(client -> client.getName().contains(keyword));
+    }
+
+    @Override
+    public Set<Client> findClientsBySurnameContaining(String keyword) {
+        return filter(client -> client.getSurname().contains(keyword));
+    }
+
+    @Override
+    public Set<Client> findClientsByEmailContaining(String keyword) {
+        return filter(client -> client.getEmail().contains(keyword));
+    }
+
+    /**
+     * Folds with {@link ClientSearchIndex#fold}, which applies the same letter mapping the query gets passed.
+     */
+    @Override
+    public Set<Client> findClientsByFoldedPattern(String pattern, String letters, String plainLetters) {
+        String keyword = pattern.substring(1, pattern.length() - 1).replaceAll("\\\\(.)", "$1");
+        return filter(client -> ClientSearchIndex.fold(client.getName()).contains(keyword)
+                || ClientSearchIndex.fold(client.getSurname()).contains(keyword)
+                || ClientSearchIndex.fold(client.getEmail()).contains(keyword));
+    }
+
+    @Override
+    public List<Client> findClientsByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable) {
+        return after(id, pageable);
+    }
+
+    @Override
+    public Stream<Client> streamAll(int fetchSize) {
+        return entities.values().stream();
+    }
+
+    @Override
+    public List<ClientView> findClientViewsBy() {
+        return views(entities.values().stream());
+    }
+
+    @Override
+    public List<ClientView> findClientViewsByName(String name) {
+        return views(findClientsByName(name).stream());
+    }
+
+    @Override
+    public List<ClientView> findClientViewsBySurname(String surname) {
+        return views(findClientsBySurname(surname).stream());
+    }
+
+    @Override
+    public List<ClientView> findClientViewsByNameContaining(String keyword) {
+        return views(findClientsByNameContaining(keyword).stream());
+    }
+
+    private static List<ClientView> views(Stream<Client> clients) {
+        return clients.map(client -> new ClientView(client.getId(), client.getName(), client.getSurname(), client.getEmail()))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,107 @@
+package org.inql.onlineshop.benchmark;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.repository.CrudRepository;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Id ordered map standing in for a table, so that benchmarks can measure the services without a database.
+ * Finders are plain scans, like the repository mocks used by the unit tests.
+ */
+abstract class InMemoryCrudRepository<T> implements CrudRepository<T, Long> {
+
+    protected final NavigableMap<Long, T> entities = new TreeMap<>();
+    private final Function<T, Long> idGetter;
+    private final BiConsumer<T, Long> idSetter;
+    private long lastId;
+
+    InMemoryCrudRepository(Function<T, Long> idGetter, BiConsumer<T, Long> idSetter) {
+        this.idGetter = idGetter;
+        this.idSetter = idSetter;
+    }
+
+    void load(Collection<T> rows) {
+        rows.forEach(this::save);
+    }
+
+    @Override
+    public <S extends T> S save(S entity) {
+        Objects.requireNonNull(entity, "Entity must not be null");
+        Long id = idGetter.apply(entity);
+        if (id == null) {
+            id = ++lastId;
+            idSetter.accept(entity, id);
+        } else {
+            lastId = Math.max(lastId, id);
+        }
+        entities.put(id, entity);
+        return entity;
+    }
+
+    @Override
+    public <S extends T> Iterable<S> saveAll(Iterable<S> iterable) {
+        List<S> saved = new ArrayList<>();
+        iterable.forEach(entity -> saved.add(save(entity)));
+        return saved;
+    }
+
+    @Override
+    public Optional<T> findById(Long id) {
+        return Optional.ofNullable(entities.get(Objects.requireNonNull(id, "Id must not be null")));
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        return entities.containsKey(Objects.requireNonNull(id, "Id must not be null"));
+    }
+
+    @Override
+    public Iterable<T> findAll() {
+        return new ArrayList<>(entities.values());
+    }
+
+    @Override
+    public Iterable<T> findAllById(Iterable<Long> ids) {
+        List<T> found = new ArrayList<>();
+        ids.forEach(id -> findById(id).ifPresent(found::add));
+        return found;
+    }
+
+    @Override
+    public long count() {
+        return entities.size();
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        entities.remove(Objects.requireNonNull(id, "Id must not be null"));
+    }
+
+    @Override
+    public void delete(T entity) {
+        deleteById(idGetter.apply(entity));
+    }
+
+    @Override
+    public void deleteAll(Iterable<? extends T> iterable) {
+        iterable.forEach(this::delete);
+    }
+
+    @Override
+    public void deleteAll() {
+        entities.clear();
+    }
+
+    protected Set<T> filter(Predicate<T> predicate) {
+        return entities.values().stream().filter(predicate).collect(Collectors.toSet());
+    }
+
+    protected List<T> after(Long id, Pageable pageable) {
+        return entities.tailMap(id, false).values().stream().limit(pageable.getPageSize()).collect(Collectors.toList());
+    }
+}
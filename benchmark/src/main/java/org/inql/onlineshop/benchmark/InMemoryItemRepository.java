@@ -0,0 +1,115 @@
+package org.inql.onlineshop.benchmark;
+
+import org.inql.onlineshop.domain.Item;
+import org.inql.onlineshop.domain.ItemView;
+import org.inql.onlineshop.repository.ItemRepository;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class InMemoryItemRepository extends InMemoryCrudRepository<Item> implements ItemRepository {
+
+    private static final Comparator<Item> BY_VALUE_AND_ID = Comparator.comparing(Item::getValue).thenComparing(Item::getId);
+
+    public InMemoryItemRepository() {
+        super(Item::getId, Item::setId);
+    }
+
+    @Override
+    public Optional<Item> findItemByName(String name) {
+        return entities.values().stream().filter(item -> item.getName().equals(name)).findFirst();
+    }
+
+    @Override
+    public Set<Item> findItemsByNameContaining(String keyword) {
+        return filter(item -> item.getName().contains(keyword));
+    }
+
+    @Override
+    public Set<Item> findItemsByValue(Double value) {
+        return filter(item -> item.getValue().equals(value));
+    }
+
+    @Override
+    public Set<Item> findItemsByValueBetween(Double lower, Double upper) {
+        return filter(item -> item.getValue() >= lower && item.getValue() <= upper);
+    }
+
+    @Override
+    public Set<Item> findItemsByValueLessThanEqual(Double value) {
+        return filter(item -> item.getValue() <= value);
+    }
+
+    @Override
+    public Set<Item> findItemsByValueLessThan(Double value) {
+        return filter(item -> item.getValue() < value);
+    }
+
+    @Override
+    public Set<Item> findItemsByValueGreaterThanEqual(Double value) {
+        return filter(item -> item.getValue() >= value);
+    }
+
+    @Override
+    public Set<Item> findItemsByValueGreaterThan(Double value) {
+        return filter(item -> item.getValue() > value);
+    }
+
+    @Override
+    public List<Item> findItemsByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable) {
+        return after(id, pageable);
+    }
+
+    @Override
+    public List<Item> findItemsByOrderByValueAscIdAsc(Pageable pageable) {
+        return entities.values().stream().sorted(BY_VALUE_AND_ID).limit(pageable.getPageSize()).collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Item> findItemsByOrderByValueDescIdDesc(Pageable pageable) {
+        return entities.values().stream().sorted(BY_VALUE_AND_ID.reversed()).limit(pageable.getPageSize()).collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Item> findItemsAfterValue(Double value, Long id, Pageable pageable) {
+        return entities.values().stream()
+                .filter(item -> item.getValue() > value || (item.getValue().equals(value) && item.getId() > id))
+                .sorted(BY_VALUE_AND_ID)
+                .limit(pageable.getPageSize())
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public Stream<Item> streamAll(int fetchSize) {
+        return entities.values().stream();
+    }
+
+    @Override
+    public List<Item> findTop(Comparator<? super Item> comparator, int limit) {
+        return entities.values().stream().sorted(comparator).limit(limit).collect(Collectors.toList());
+    }
+
+    @Override
+    public List<ItemView> findItemViewsBy() {
+        return views(entities.values().stream());
+    }
+
+    @Override
+    public List<ItemView> findItemViewsByNameContaining(String keyword) {
+        return views(findItemsByNameContaining(keyword).stream());
+    }
+
+    @Override
+    public List<ItemView> findItemViewsByValueBetween(Double lower, Double upper) {
+        return views(findItemsByValueBetween(lower, upper).stream());
+    }
+
+    private static List<ItemView> views(Stream<Item> items) {
+        return items.map(item -> new ItemView(item.getId(), item.getName(), item.getValue())).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,219 @@
+package org.inql.onlineshop.benchmark;
+
+import org.inql.onlineshop.domain.ClientRevenues;
+import org.inql.onlineshop.domain.Item;
+import org.inql.onlineshop.domain.Order;
+import org.inql.onlineshop.domain.OrderExport;
+import org.inql.onlineshop.domain.OrderLine;
+import org.inql.onlineshop.domain.OrderSnapshot;
+import org.inql.onlineshop.domain.OrderTotals;
+import org.inql.onlineshop.domain.OrderView;
+import org.inql.onlineshop.repository.OrderRepository;
+import org.springframework.data.domain.Pageable;
+
+import java.util.*;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class InMemoryOrderRepository extends InMemoryCrudRepository<Order> implements OrderRepository {
+
+    private static final Comparator<Order> LARGEST_FIRST = Comparator.comparingDouble(Order::getTotal).thenComparing(Order::getId).reversed();
+
+    public InMemoryOrderRepository() {
+        super(Order::getId, Order::setId);
+    }
+
+    @Override
+    public Set<Order> findOrdersByClient_Id(Long id) {
+        return filter(order -> order.getClient() != null && order.getClient().getId().equals(id));
+    }
+
+    @Override
+    public Set<Order> findOrdersByClient_Email(String email) {
+        return filter(order -> order.getClient() != null && order.getClient().getEmail().equals(email));
+    }
+
+    @Override
+    public Set<Order> findOrderSummariesByClient_Id(Long id) {
+        return findOrdersByClient_Id(id);
+    }
+
+    @Override
+    public Set<Order> findOrderSummariesByClient_Email(String email) {
+        return findOrdersByClient_Email(email);
+    }
+
+    @Override
+    public Set<Order> findOrdersWithItemsByClient_Id(Long id) {
+        return findOrdersByClient_Id(id);
+    }
+
+    @Override
+    public Set<Order> findOrdersWithItemsByClient_Email(String email) {
+        return findOrdersByClient_Email(email);
+    }
+
+    @Override
+    public Set<Order> findOrdersByItemsContains(Item item) {
+        return filter(order -> order.getLines().stream().anyMatch(line -> line.getItem().getId().equals(item.getId())));
+    }
+
+    @Override
+    public List<Order> findOrdersByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable) {
+        return after(id, pageable);
+    }
+
+    @Override
+    public Double sumItemValuesByOrderId(Long id) {
+        return total(entities.get(id));
+    }
+
+    @Override
+    public Double findTotalById(Long id) {
+        Order order = entities.get(id);
+        return order == null ? null : order.getTotal();
+    }
+
+    @Override
+    public List<Order> findOrdersByTotalGreaterThan(Double total, Pageable pageable) {
+        return byTotal(order -> order.getTotal() > total, pageable);
+    }
+
+    @Override
+    public List<Order> findOrdersByTotalBetween(Double min, Double max, Pageable pageable) {
+        return byTotal(order -> order.getTotal() >= min && order.getTotal() <= max, pageable);
+    }
+
+    @Override
+    public List<Order> findOrdersByOrderByTotalDescIdDesc(Pageable pageable) {
+        return byTotal(order -> true, pageable);
+    }
+
+    @Override
+    public List<Object[]> findOrderTotalsByIdGreaterThan(Long id, Pageable pageable) {
+        List<Object[]> rows = new ArrayList<>();
+        for (Order order : after(id, pageable)) {
+            long count = order.getLines().stream().mapToLong(OrderLine::getQuantity).sum();
+            rows.add(new Object[]{order.getId(), order.getTotal(), order.getItemCount(), total(order), count});
+        }
+        return rows;
+    }
+
+    @Override
+    public Stream<Order> streamAll(int fetchSize) {
+        return entities.values().stream();
+    }
+
+    @Override
+    public OrderTotals sumItemValuesByOrderIds(Collection<Long> orderIds) {
+        long[] ids = orderIds.stream().filter(Objects::nonNull).mapToLong(Long::longValue).sorted().distinct().toArray();
+        double[] totals = new double[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            totals[i] = total(entities.get(ids[i]));
+        }
+        return new OrderTotals(ids, totals);
+    }
+
+    @Override
+    public OrderTotals findTotalsByOrderIds(Collection<Long> orderIds) {
+        long[] ids = orderIds.stream().filter(Objects::nonNull).mapToLong(Long::longValue).sorted().distinct().toArray();
+        double[] totals = new double[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            Order order = entities.get(ids[i]);
+            totals[i] = order == null ? 0D : order.getTotal();
+        }
+        return new OrderTotals(ids, totals);
+    }
+
+    @Override
+    public int recomputeTotals(Collection<Long> orderIds) {
+        int updated = 0;
+        for (Long id : orderIds) {
+            Order order = entities.get(id);
+            if (order != null) {
+                order.setLines(order.getLines());
+                updated++;
+            }
+        }
+        return updated;
+    }
+
+    @Override
+    public Stream<OrderExport> streamOrderExports(int fetchSize) {
+        return entities.values().stream().map(order -> new OrderExport(order.getId(),
+                order.getClient() == null ? null : order.getClient().getId(),
+                order.getLines().stream().mapToLong(line -> line.getItem().getId()).toArray(),
+                order.getLines().stream().mapToInt(OrderLine::getQuantity).toArray(),
+                order.getTotal(), order.getItemCount()));
+    }
+
+    @Override
+    public List<Order> findTop(Comparator<? super Order> comparator, int limit) {
+        return entities.values().stream().sorted(comparator).limit(limit).collect(Collectors.toList());
+    }
+
+    /**
+     * Only the clients of stored orders are known here, so clients without orders are not reported.
+     */
+    @Override
+    public ClientRevenues sumTotalsByClient() {
+        OrderSnapshot snapshot = loadSnapshot(0);
+        double[] lifetimeValues = new double[snapshot.clientCount()];
+        int[] orderCounts = new int[snapshot.clientCount()];
+        for (int i = 0; i < snapshot.orderCount(); i++) {
+            int position = snapshot.clientPosition(snapshot.orderClientIdAt(i));
+            lifetimeValues[position] += snapshot.orderTotalAt(i);
+            orderCounts[position]++;
+        }
+        return new ClientRevenues(snapshot.clientIds(), lifetimeValues, orderCounts);
+    }
+
+    @Override
+    public OrderSnapshot loadSnapshot(int fetchSize) {
+        List<Order> withClient = entities.values().stream().filter(order -> order.getClient() != null).collect(Collectors.toList());
+        long[] orderClientIds = withClient.stream().mapToLong(order -> order.getClient().getId()).toArray();
+        double[] orderTotals = withClient.stream().mapToDouble(Order::getTotal).toArray();
+        long[] clientIds = Arrays.stream(orderClientIds).sorted().distinct().toArray();
+        return new OrderSnapshot(clientIds, orderClientIds, orderTotals);
+    }
+
+    @Override
+    public List<OrderView> findOrderViews() {
+        return views(entities.values().stream());
+    }
+
+    @Override
+    public List<OrderView> findOrderViewsByClient_Id(Long id) {
+        return views(findOrdersByClient_Id(id).stream());
+    }
+
+    @Override
+    public List<OrderView> findOrderViewsByClient_Email(String email) {
+        return views(findOrdersByClient_Email(email).stream());
+    }
+
+    private static List<OrderView> views(Stream<Order> orders) {
+        return orders.map(order -> new OrderView(order.getId(), order.getClient() == null ? null : order.getClient().getId(),
+                order.getTotal(), order.getItemCount())).collect(Collectors.toList());
+    }
+
+    private List<Order> byTotal(Predicate<Order> predicate, Pageable pageable) {
+        return entities.values().stream()
+                .filter(predicate)
+                .sorted(LARGEST_FIRST)
+                .skip(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .collect(Collectors.toList());
+    }
+
+    private static double total(Order order) {
+        double total = 0D;
+        if (order != null) {
+            for (OrderLine line : order.getLines()) {
+                total += line.getLineTotal();
+            }
+        }
+        return total;
+    }
+}
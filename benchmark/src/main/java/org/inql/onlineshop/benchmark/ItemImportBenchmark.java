@@ -0,0 +1,103 @@
+package org.inql.onlineshop.benchmark;
+
+import org.inql.onlineshop.importing.ImportFormat;
+import org.inql.onlineshop.importing.ImportResult;
+import org.inql.onlineshop.importing.ItemImporter;
+import org.inql.onlineshop.repository.ItemRepository;
+import org.inql.onlineshop.service.ItemServiceImpl;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.persistence.EntityManagerFactory;
+import javax.validation.Validation;
+import javax.validation.ValidatorFactory;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Catalog import throughput in rows per second, from an in-memory CSV or NDJSON file into an empty H2 table.
+ * Every tenth row is invalid and goes to the rejects.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(ItemImportBenchmark.ROWS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 10)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class ItemImportBenchmark {
+
+    static final int ROWS = 100_000;
+
+    @Param({"CSV", "NDJSON"})
+    ImportFormat format;
+
+    @Param({"1000"})
+    int chunkSize;
+
+    @Param({"1", "4"})
+    int validationThreads;
+
+    private ConfigurableApplicationContext context;
+    private JdbcTemplate jdbcTemplate;
+    private EntityManagerFactory entityManagerFactory;
+    private ValidatorFactory validatorFactory;
+    private ItemImporter itemImporter;
+    private String catalog;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        entityManagerFactory = context.getBean(EntityManagerFactory.class);
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        itemImporter = new ItemImporter(new ItemServiceImpl(context.getBean(ItemRepository.class)),
+                context.getBean(PlatformTransactionManager.class), validatorFactory.getValidator(), chunkSize, validationThreads);
+        catalog = catalog(format);
+    }
+
+    private static String catalog(ImportFormat format) {
+        Random random = new Random(1L);
+        StringBuilder catalog = new StringBuilder(ROWS * 32);
+        if (format == ImportFormat.CSV) {
+            catalog.append("name,value\n");
+        }
+        for (int i = 0; i < ROWS; i++) {
+            String name = BenchmarkData.itemName(i);
+            double value = i % 10 == 9 ? -1D : BenchmarkData.itemValue(random);
+            if (format == ImportFormat.CSV) {
+                catalog.append(name).append(',').append(value).append('\n');
+            } else {
+                catalog.append("{\"name\":\"").append(name).append("\",\"value\":").append(value).append("}\n");
+            }
+        }
+        return catalog.toString();
+    }
+
+    // each invocation loads the whole catalog, which takes far longer than the cleanup
+    @Setup(Level.Invocation)
+    public void prepare() {
+        jdbcTemplate.execute("delete from db_item");
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        itemImporter.close();
+        validatorFactory.close();
+        context.close();
+    }
+
+    @Benchmark
+    public ImportResult importItems() throws IOException {
+        try (Writer rejects = new StringWriter()) {
+            return itemImporter.importItems(new StringReader(catalog), format, rejects);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package org.inql.onlineshop.benchmark;
+
+import org.inql.onlineshop.domain.Item;
+import org.inql.onlineshop.index.ItemNameIndex;
+import org.inql.onlineshop.repository.ItemRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the LIKE '%keyword%' repository query with the trigram {@link ItemNameIndex}, whose ids are then
+ * loaded by primary key the way the item service loads them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+public class ItemNameSearchBenchmark {
+
+    @Param({"1000000"})
+    int size;
+
+    // frequent, rare and missing substrings of the generated names
+    @Param({"ab", "Qbc", "abcd", "Zzzzzz"})
+    String keyword;
+
+    private ConfigurableApplicationContext context;
+    private ItemRepository itemRepository;
+    private ItemNameIndex nameIndex;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        BenchmarkData.insertItems(context.getBean(JdbcTemplate.class), size, 1L);
+        itemRepository = context.getBean(ItemRepository.class);
+        nameIndex = new ItemNameIndex();
+        nameIndex.rebuild(itemRepository.findAll());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Set<Item> likeQuery() {
+        return itemRepository.findItemsByNameContaining(keyword);
+    }
+
+    @Benchmark
+    public Set<Item> trigramIndex() {
+        Set<Item> items = new HashSet<>();
+        itemRepository.findAllById(nameIndex.findIdsByNameContaining(keyword)).forEach(items::add);
+        return items;
+    }
+}
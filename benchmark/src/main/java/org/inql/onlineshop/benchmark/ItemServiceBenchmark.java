@@ -0,0 +1,187 @@
+package org.inql.onlineshop.benchmark;
+
+import javassist.NotFoundException;
+import org.inql.onlineshop.domain.Item;
+import org.inql.onlineshop.service.ItemService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Every {@link ItemService} method against H2 and against the in-memory repositories.
+ * Writes are measured together with the delete that keeps the table at its initial size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+public class ItemServiceBenchmark {
+
+    private static final int PAGE = 50;
+    private static final int TOP = 10;
+    private static final Comparator<Item> BY_NAME_DESCENDING = Comparator.comparing(Item::getName).reversed();
+    private static final Comparator<Item> BY_VALUE_DESCENDING = Comparator.comparing(Item::getValue).thenComparing(Item::getId).reversed();
+    // values are spread uniformly over [1, 1001), both bounds select about 1% of the rows
+    private static final double LOW_VALUE = 11D;
+    private static final double HIGH_VALUE = 991D;
+
+    @Param({ServiceBackend.H2, ServiceBackend.MEMORY})
+    String backend;
+
+    @Param({"1000", "100000", "1000000"})
+    int size;
+
+    private ServiceBackend services;
+    private ItemService itemService;
+    private long created;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        services = ServiceBackend.start(backend, size, 0, 0);
+        itemService = services.itemService();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        services.close();
+    }
+
+    private long randomId() {
+        return 1 + ThreadLocalRandom.current().nextInt(size);
+    }
+
+    private String randomName() {
+        return BenchmarkData.itemName(ThreadLocalRandom.current().nextInt(size));
+    }
+
+    private double randomValue() {
+        return BenchmarkData.itemValue(ThreadLocalRandom.current());
+    }
+
+    private Item newItem() {
+        return new Item(BenchmarkData.itemName(size + created++), 10D);
+    }
+
+    private List<Item> readPage(Stream<Item> stream) {
+        try (Stream<Item> items = stream) {
+            return items.limit(PAGE).collect(Collectors.toList());
+        }
+    }
+
+    @Benchmark
+    public Set<Item> getItems() {
+        return itemService.getItems();
+    }
+
+    @Benchmark
+    public List<Item> streamItems() {
+        return services.inTransaction(() -> readPage(itemService.streamItems()));
+    }
+
+    @Benchmark
+    public List<Item> streamItemsWithFetchSize() {
+        return services.inTransaction(() -> readPage(itemService.streamItems(PAGE)));
+    }
+
+    @Benchmark
+    public List<Item> getItemsPage() {
+        return itemService.getItems(randomId(), PAGE);
+    }
+
+    @Benchmark
+    public List<Item> getItemsByValuePage() {
+        return itemService.getItemsByValue(randomValue(), randomId(), PAGE);
+    }
+
+    @Benchmark
+    public List<Item> getMostExpensiveItems() {
+        return itemService.getMostExpensiveItems(TOP);
+    }
+
+    @Benchmark
+    public List<Item> getTopItems() {
+        return itemService.getTopItems(BY_NAME_DESCENDING, TOP);
+    }
+
+    /**
+     * What {@link #getMostExpensiveItems()} replaces, sorting a copy of the whole table.
+     */
+    @Benchmark
+    public List<Item> sortAllItems() {
+        return itemService.getItems().stream().sorted(BY_VALUE_DESCENDING).limit(TOP).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public Item findById() throws NotFoundException {
+        return itemService.findById(randomId());
+    }
+
+    @Benchmark
+    public Item findByName() throws NotFoundException {
+        return itemService.findByName(randomName());
+    }
+
+    @Benchmark
+    public Set<Item> findByNameContaining() {
+        String name = randomName();
+        return itemService.findByNameContaining(name.substring(0, Math.min(3, name.length())));
+    }
+
+    @Benchmark
+    public Set<Item> findByValue() {
+        return itemService.findByValue(randomValue());
+    }
+
+    @Benchmark
+    public Set<Item> findByValueBetween() {
+        double lower = randomValue();
+        return itemService.findByValueBetween(lower, lower + 10);
+    }
+
+    @Benchmark
+    public Set<Item> findByValueLessThanEqual() {
+        return itemService.findByValueLessThanEqual(LOW_VALUE);
+    }
+
+    @Benchmark
+    public Set<Item> findByValueLessThan() {
+        return itemService.findByValueLessThan(LOW_VALUE);
+    }
+
+    @Benchmark
+    public Set<Item> findByValueGreaterThanEqual() {
+        return itemService.findByValueGreaterThanEqual(HIGH_VALUE);
+    }
+
+    @Benchmark
+    public Set<Item> findByValueGreaterThan() {
+        return itemService.findByValueGreaterThan(HIGH_VALUE);
+    }
+
+    @Benchmark
+    public Item saveAndDeleteById() {
+        Item item = itemService.save(newItem());
+        itemService.deleteById(item.getId());
+        return item;
+    }
+
+    @Benchmark
+    public Iterable<Item> saveAllAndDeleteById() {
+        List<Item> items = new ArrayList<>(PAGE);
+        for (int i = 0; i < PAGE; i++) {
+            items.add(newItem());
+        }
+        Iterable<Item> saved = itemService.saveAll(items);
+        saved.forEach(item -> itemService.deleteById(item.getId()));
+        return saved;
+    }
+}
@@ -0,0 +1,82 @@
+package org.inql.onlineshop.benchmark;
+
+import javassist.NotFoundException;
+import org.inql.onlineshop.domain.Client;
+import org.inql.onlineshop.service.ClientService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The miss path of a lookup by email: the former {@link NotFoundException} filling in its stack trace, the
+ * {@code StacklessNotFoundException} now thrown by {@code findByEmail}, and {@code lookupByEmail} returning an empty
+ * Optional. {@code depth} adds frames below the call, as a web request does, since filling in the trace costs per frame.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xms1g", "-Xmx1g"})
+public class NotFoundBenchmark {
+
+    @Param({ServiceBackend.MEMORY, ServiceBackend.H2})
+    String backend;
+
+    @Param({"0", "100"})
+    int depth;
+
+    private ServiceBackend services;
+    private ClientService clientService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        services = ServiceBackend.start(backend, 0, 1000, 0);
+        clientService = services.clientService();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        services.close();
+    }
+
+    private String missingEmail() {
+        return "missing" + ThreadLocalRandom.current().nextInt(1000) + "@shop.com";
+    }
+
+    private static <T> T atDepth(int depth, Callable<T> call) throws Exception {
+        return depth == 0 ? call.call() : atDepth(depth - 1, call);
+    }
+
+    @Benchmark
+    public Client stackTraceException() throws Exception {
+        String email = missingEmail();
+        return atDepth(depth, () -> {
+            try {
+                return clientService.lookupByEmail(email).orElseThrow(() -> new NotFoundException("Client not found"));
+            } catch (NotFoundException e) {
+                return null;
+            }
+        });
+    }
+
+    @Benchmark
+    public Client stacklessException() throws Exception {
+        String email = missingEmail();
+        return atDepth(depth, () -> {
+            try {
+                return clientService.findByEmail(email);
+            } catch (NotFoundException e) {
+                return null;
+            }
+        });
+    }
+
+    @Benchmark
+    public Client optionalLookup() throws Exception {
+        String email = missingEmail();
+        return atDepth(depth, () -> clientService.lookupByEmail(email).orElse(null));
+    }
+}
@@ -0,0 +1,228 @@
+package org.inql.onlineshop.benchmark;
+
+import javassist.NotFoundException;
+import org.inql.onlineshop.domain.Item;
+import org.inql.onlineshop.domain.Order;
+import org.inql.onlineshop.domain.OrderExport;
+import org.inql.onlineshop.domain.OrderTotals;
+import org.inql.onlineshop.service.OrderFetchPlan;
+import org.inql.onlineshop.service.OrderService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Every {@link OrderService} method against H2 and against the in-memory repositories. Orders are spread over
+ * a tenth as many clients and items. Items are added to a cart order that is recreated for every iteration.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+public class OrderServiceBenchmark {
+
+    private static final int PAGE = 50;
+    private static final int TOTALS_BATCH = 500;
+    private static final Comparator<Order> BY_ITEM_COUNT_DESCENDING = Comparator.comparingInt(Order::getItemCount).reversed();
+    // the cart keeps a handful of lines, repeated items only raise the quantity
+    private static final int CART_ITEMS = 10;
+
+    @Param({ServiceBackend.H2, ServiceBackend.MEMORY})
+    String backend;
+
+    @Param({"1000", "100000", "1000000"})
+    int size;
+
+    private ServiceBackend services;
+    private OrderService orderService;
+    private int references;
+    private List<Item> cartItems;
+    private Order order;
+    private Order cart;
+
+    @Setup(Level.Trial)
+    public void setUp() throws NotFoundException {
+        references = Math.max(2, size / 10);
+        services = ServiceBackend.start(backend, references, references, size);
+        orderService = services.orderService();
+        cartItems = new ArrayList<>(CART_ITEMS);
+        for (long id = 1; id <= Math.min(CART_ITEMS, references); id++) {
+            cartItems.add(services.itemService().findById(id));
+        }
+        order = orderService.findById(1L);
+    }
+
+    @Setup(Level.Iteration)
+    public void newCart() {
+        cart = orderService.save(new Order());
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteCart() {
+        orderService.deleteById(cart.getId());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        services.close();
+    }
+
+    private long randomId() {
+        return 1 + ThreadLocalRandom.current().nextInt(size);
+    }
+
+    private int randomReference() {
+        return ThreadLocalRandom.current().nextInt(references);
+    }
+
+    private Item randomCartItem() {
+        return cartItems.get(ThreadLocalRandom.current().nextInt(cartItems.size()));
+    }
+
+    private List<Long> randomIds(int count) {
+        List<Long> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add(randomId());
+        }
+        return ids;
+    }
+
+    private List<Order> readPage(Stream<Order> stream) {
+        try (Stream<Order> orders = stream) {
+            return orders.limit(PAGE).collect(Collectors.toList());
+        }
+    }
+
+    @Benchmark
+    public Set<Order> getOrders() {
+        return orderService.getOrders();
+    }
+
+    @Benchmark
+    public List<Order> streamOrders() {
+        return services.inTransaction(() -> readPage(orderService.streamOrders()));
+    }
+
+    @Benchmark
+    public List<Order> streamOrdersWithFetchSize() {
+        return services.inTransaction(() -> readPage(orderService.streamOrders(PAGE)));
+    }
+
+    @Benchmark
+    public List<OrderExport> streamOrderExports() {
+        return services.inTransaction(() -> {
+            try (Stream<OrderExport> exports = orderService.streamOrderExports(PAGE)) {
+                return exports.limit(PAGE).collect(Collectors.toList());
+            }
+        });
+    }
+
+    @Benchmark
+    public List<Order> getOrdersPage() {
+        return orderService.getOrders(randomId(), PAGE);
+    }
+
+    @Benchmark
+    public List<Order> getLargestOrders() {
+        return orderService.getLargestOrders(PAGE);
+    }
+
+    @Benchmark
+    public List<Order> getTopOrders() {
+        return orderService.getTopOrders(BY_ITEM_COUNT_DESCENDING, PAGE);
+    }
+
+    @Benchmark
+    public Order findById() throws NotFoundException {
+        return orderService.findById(randomId());
+    }
+
+    @Benchmark
+    public Iterable<Order> findAll() {
+        return orderService.findAll(randomIds(PAGE));
+    }
+
+    @Benchmark
+    public Set<Order> findOrdersByClientId() {
+        return orderService.findOrdersByClientId(1L + randomReference());
+    }
+
+    @Benchmark
+    public Set<Order> findOrdersByClientEmail() {
+        return orderService.findOrdersByClientEmail(BenchmarkData.clientEmail(randomReference()));
+    }
+
+    @Benchmark
+    public Set<Order> findOrdersByClientIdWithItems() {
+        return orderService.findOrdersByClientId(1L + randomReference(), OrderFetchPlan.WITH_ITEMS);
+    }
+
+    @Benchmark
+    public Set<Order> findOrdersByClientEmailWithItems() {
+        return orderService.findOrdersByClientEmail(BenchmarkData.clientEmail(randomReference()), OrderFetchPlan.WITH_ITEMS);
+    }
+
+    @Benchmark
+    public Set<Order> findOrderByItem() {
+        Item item = new Item();
+        item.setId(1L + randomReference());
+        return orderService.findOrderByItem(item);
+    }
+
+    @Benchmark
+    public Order saveAndDeleteById() {
+        Order saved = orderService.save(new Order());
+        orderService.deleteById(saved.getId());
+        return saved;
+    }
+
+    @Benchmark
+    public Iterable<Order> saveAllAndDeleteById() {
+        List<Order> orders = new ArrayList<>(PAGE);
+        for (int i = 0; i < PAGE; i++) {
+            orders.add(new Order());
+        }
+        Iterable<Order> saved = orderService.saveAll(orders);
+        saved.forEach(each -> orderService.deleteById(each.getId()));
+        return saved;
+    }
+
+    @Benchmark
+    public boolean addItemToOrder() {
+        return orderService.addItemToOrder(randomCartItem(), cart);
+    }
+
+    @Benchmark
+    public boolean addItemToOrderWithQuantity() {
+        return orderService.addItemToOrder(randomCartItem(), 3, cart);
+    }
+
+    @Benchmark
+    public boolean addItemsToOrder() {
+        return orderService.addItemsToOrder(cartItems, cart);
+    }
+
+    @Benchmark
+    public double getOrderTotalValue() {
+        return orderService.getOrderTotalValue(order);
+    }
+
+    @Benchmark
+    public double getOrderTotalValueById() {
+        return orderService.getOrderTotalValueById(randomId());
+    }
+
+    @Benchmark
+    public OrderTotals getOrderTotalValues() {
+        return orderService.getOrderTotalValues(randomIds(TOTALS_BATCH));
+    }
+}
@@ -0,0 +1,121 @@
+package org.inql.onlineshop.benchmark;
+
+import org.inql.onlineshop.domain.Client;
+import org.inql.onlineshop.domain.ClientView;
+import org.inql.onlineshop.domain.Item;
+import org.inql.onlineshop.domain.ItemView;
+import org.inql.onlineshop.domain.Order;
+import org.inql.onlineshop.domain.OrderView;
+import org.inql.onlineshop.service.ClientService;
+import org.inql.onlineshop.service.ItemService;
+import org.inql.onlineshop.service.OrderService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Listing and search methods returning managed entities against their read-only view projections on H2.
+ * Run with {@code -prof gc} to compare the bytes allocated per call ({@code gc.alloc.rate.norm}).
+ * Orders are spread over a tenth as many clients and items.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+public class ProjectionBenchmark {
+
+    // matches a few percent of the generated item names
+    private static final String KEYWORD = "ab";
+
+    @Param({"1000", "100000"})
+    int size;
+
+    private ServiceBackend services;
+    private ItemService itemService;
+    private ClientService clientService;
+    private OrderService orderService;
+    private int references;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        references = Math.max(2, size / 10);
+        services = ServiceBackend.start(ServiceBackend.H2, references, references, size);
+        itemService = services.itemService();
+        clientService = services.clientService();
+        orderService = services.orderService();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        services.close();
+    }
+
+    private int randomReference() {
+        return ThreadLocalRandom.current().nextInt(references);
+    }
+
+    @Benchmark
+    public Set<Item> getItems() {
+        return itemService.getItems();
+    }
+
+    @Benchmark
+    public List<ItemView> getItemViews() {
+        return itemService.getItemViews();
+    }
+
+    @Benchmark
+    public Set<Item> findItemsByNameContaining() {
+        return itemService.findByNameContaining(KEYWORD);
+    }
+
+    @Benchmark
+    public List<ItemView> findItemViewsByNameContaining() {
+        return itemService.findViewsByNameContaining(KEYWORD);
+    }
+
+    @Benchmark
+    public Set<Client> getClients() {
+        return clientService.getClients();
+    }
+
+    @Benchmark
+    public List<ClientView> getClientViews() {
+        return clientService.getClientViews();
+    }
+
+    @Benchmark
+    public Set<Client> findClientsByName() {
+        return clientService.findClientsByName(BenchmarkData.clientName(randomReference()));
+    }
+
+    @Benchmark
+    public List<ClientView> findClientViewsByName() {
+        return clientService.findClientViewsByName(BenchmarkData.clientName(randomReference()));
+    }
+
+    @Benchmark
+    public Set<Order> getOrders() {
+        return orderService.getOrders();
+    }
+
+    @Benchmark
+    public List<OrderView> getOrderViews() {
+        return orderService.getOrderViews();
+    }
+
+    @Benchmark
+    public Set<Order> findOrdersByClientEmail() {
+        return orderService.findOrdersByClientEmail(BenchmarkData.clientEmail(randomReference()));
+    }
+
+    @Benchmark
+    public List<OrderView> findOrderViewsByClientEmail() {
+        return orderService.findOrderViewsByClientEmail(BenchmarkData.clientEmail(randomReference()));
+    }
+}
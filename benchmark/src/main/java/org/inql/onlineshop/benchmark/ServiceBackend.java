@@ -0,0 +1,96 @@
+package org.inql.onlineshop.benchmark;
+
+import org.inql.onlineshop.domain.Client;
+import org.inql.onlineshop.domain.Item;
+import org.inql.onlineshop.repository.ClientRepository;
+import org.inql.onlineshop.repository.ItemRepository;
+import org.inql.onlineshop.repository.OrderRepository;
+import org.inql.onlineshop.service.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * The three services wired either to Spring Data repositories on a fresh H2 database ({@value #H2})
+ * or to the in-memory repositories ({@value #MEMORY}), both holding the same {@link BenchmarkData} rows.
+ */
+public final class ServiceBackend implements AutoCloseable {
+
+    public static final String H2 = "h2";
+    public static final String MEMORY = "memory";
+
+    private static final long ITEM_SEED = 1L;
+
+    private final ConfigurableApplicationContext context;
+    private final TransactionTemplate transactionTemplate;
+    private final ItemService itemService;
+    private final ClientService clientService;
+    private final OrderService orderService;
+
+    private ServiceBackend(ConfigurableApplicationContext context, ItemRepository itemRepository,
+                           ClientRepository clientRepository, OrderRepository orderRepository) {
+        this.context = context;
+        this.transactionTemplate = context == null ? null : new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        this.itemService = new ItemServiceImpl(itemRepository);
+        this.clientService = new ClientServiceImpl(clientRepository);
+        this.orderService = new OrderServiceImpl(orderRepository);
+    }
+
+    public static ServiceBackend start(String backend, int items, int clients, int orders) {
+        if (H2.equals(backend)) {
+            ConfigurableApplicationContext context = BenchmarkContext.start();
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+            BenchmarkData.insertItems(jdbcTemplate, items, ITEM_SEED);
+            BenchmarkData.insertClients(jdbcTemplate, clients);
+            if (orders > 0) {
+                BenchmarkData.insertOrders(jdbcTemplate, orders, clients, items, ITEM_SEED);
+            }
+            return new ServiceBackend(context, context.getBean(ItemRepository.class),
+                    context.getBean(ClientRepository.class), context.getBean(OrderRepository.class));
+        }
+        if (MEMORY.equals(backend)) {
+            InMemoryItemRepository itemRepository = new InMemoryItemRepository();
+            InMemoryClientRepository clientRepository = new InMemoryClientRepository();
+            InMemoryOrderRepository orderRepository = new InMemoryOrderRepository();
+            List<Item> itemRows = BenchmarkData.items(items, ITEM_SEED);
+            List<Client> clientRows = BenchmarkData.clients(clients);
+            itemRepository.load(itemRows);
+            clientRepository.load(clientRows);
+            if (orders > 0) {
+                orderRepository.load(BenchmarkData.orders(orders, clientRows, itemRows));
+            }
+            return new ServiceBackend(null, itemRepository, clientRepository, orderRepository);
+        }
+        throw new IllegalArgumentException("Unknown backend " + backend);
+    }
+
+    public ItemService itemService() {
+        return itemService;
+    }
+
+    public ClientService clientService() {
+        return clientService;
+    }
+
+    public OrderService orderService() {
+        return orderService;
+    }
+
+    /**
+     * Runs the work in a transaction on H2, as the cursor backed streams require, and directly in memory.
+     */
+    public <T> T inTransaction(Supplier<T> work) {
+        return transactionTemplate == null ? work.get() : transactionTemplate.execute(status -> work.get());
+    }
+
+    @Override
+    public void close() {
+        if (context != null) {
+            context.close();
+        }
+    }
+}
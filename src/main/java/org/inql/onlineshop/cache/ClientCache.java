@@ -0,0 +1,212 @@
+package org.inql.onlineshop.cache;
+
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalNotification;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.inql.onlineshop.domain.Client;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded cache of client ids under both their id and their email. It holds no entities: a hit only says which
+ * client to load, which the second-level cache then serves as a fresh instance of the caller's persistence
+ * context. Entries expire {@code ttl} after they were loaded, lookups that found nothing are remembered for the
+ * shorter {@code negativeTtl}. Each entry keeps the email the client had when it was cached, so invalidating
+ * the id also drops the old email after a change.
+ * <p>
+ * A load racing with an invalidation is not cached: {@link #generation()} is read before going to the database
+ * and {@code put*} ignore values read before the last invalidation.
+ * <p>
+ * Gets are counted as {@value #GETS_METRIC} tagged with {@code result} hit or miss, where a hit is a get that
+ * saves a query: a remembered miss, or an email resolved to its id. A cached id is counted as a miss, the client
+ * still has to be loaded by that id. Evictions are counted as {@value #EVICTIONS_METRIC}, both tagged with {@code cache} and with {@code key} id or email
+ * for gets.
+ * <p>
+ * Putting a client that is already cached under the same email keeps the entry as it is, so its TTL still runs
+ * from the first load. The hit ratio since start is the {@value #HIT_RATIO_METRIC} gauge.
+ */
+public class ClientCache {
+
+    public static final String GETS_METRIC = "cache.gets";
+    public static final String EVICTIONS_METRIC = "cache.evictions";
+    public static final String SIZE_METRIC = "cache.size";
+    public static final String HIT_RATIO_METRIC = "cache.hit.ratio";
+    public static final String CACHE_TAG = "cache";
+
+    private static final String CLIENTS = "clients";
+    private static final String MISSES = "client.misses";
+
+    private final Cache<Long, String> emailById;
+    private final ConcurrentMap<String, Long> idByEmail = new ConcurrentHashMap<>();
+    private final Cache<Object, Boolean> misses;
+    private final AtomicLong generation = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder lookups = new LongAdder();
+    private final Counter idHits;
+    private final Counter idMisses;
+    private final Counter emailHits;
+    private final Counter emailMisses;
+
+    public ClientCache(Duration ttl, Duration negativeTtl, long maximumSize, MeterRegistry registry) {
+        this(ttl, negativeTtl, maximumSize, registry, Ticker.systemTicker());
+    }
+
+    ClientCache(Duration ttl, Duration negativeTtl, long maximumSize, MeterRegistry registry, Ticker ticker) {
+        Counter evictions = evictionCounter(registry, CLIENTS);
+        this.emailById = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl.toNanos(), TimeUnit.NANOSECONDS)
+                .ticker(ticker)
+                .removalListener((RemovalNotification<Long, String> removed) -> {
+                    idByEmail.remove(removed.getValue(), removed.getKey());
+                    if (removed.wasEvicted()) {
+                        evictions.increment();
+                    }
+                })
+                .build();
+        Counter missEvictions = evictionCounter(registry, MISSES);
+        this.misses = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(negativeTtl.toNanos(), TimeUnit.NANOSECONDS)
+                .ticker(ticker)
+                .removalListener(removed -> {
+                    if (removed.wasEvicted()) {
+                        missEvictions.increment();
+                    }
+                })
+                .build();
+        this.idHits = getsCounter(registry, "id", "hit");
+        this.idMisses = getsCounter(registry, "id", "miss");
+        this.emailHits = getsCounter(registry, "email", "hit");
+        this.emailMisses = getsCounter(registry, "email", "miss");
+        Gauge.builder(SIZE_METRIC, emailById, Cache::size).tags(CACHE_TAG, CLIENTS).register(registry);
+        Gauge.builder(SIZE_METRIC, misses, Cache::size).tags(CACHE_TAG, MISSES).register(registry);
+        Gauge.builder(HIT_RATIO_METRIC, this, ClientCache::hitRatio).tags(CACHE_TAG, CLIENTS).register(registry);
+    }
+
+    private static Counter evictionCounter(MeterRegistry registry, String cache) {
+        return Counter.builder(EVICTIONS_METRIC).tags(CACHE_TAG, cache).register(registry);
+    }
+
+    private static Counter getsCounter(MeterRegistry registry, String key, String result) {
+        return Counter.builder(GETS_METRIC).tags(Tags.of(CACHE_TAG, CLIENTS, "key", key, "result", result)).register(registry);
+    }
+
+    /**
+     * The cached lookup by id: the id of a client known to exist, an empty Optional for a remembered miss,
+     * or null when not cached. Only a remembered miss is counted as a hit.
+     */
+    public Optional<Long> getById(Long id) {
+        Optional<Long> cached = emailById.getIfPresent(id) != null ? Optional.of(id)
+                : misses.getIfPresent(id) != null ? Optional.empty() : null;
+        count(cached != null && !cached.isPresent(), idHits, idMisses);
+        return cached;
+    }
+
+    /**
+     * The cached lookup by email, like {@link #getById}.
+     */
+    public Optional<Long> getByEmail(String email) {
+        Long id = idByEmail.get(email);
+        Optional<Long> cached = id != null && email.equals(emailById.getIfPresent(id)) ? Optional.of(id)
+                : misses.getIfPresent(email) != null ? Optional.empty() : null;
+        count(cached != null, emailHits, emailMisses);
+        return cached;
+    }
+
+    private void count(boolean hit, Counter hitCounter, Counter missCounter) {
+        lookups.increment();
+        if (hit) {
+            hits.increment();
+            hitCounter.increment();
+        } else {
+            missCounter.increment();
+        }
+    }
+
+    public double hitRatio() {
+        long total = lookups.sum();
+        return total == 0 ? 0D : (double) hits.sum() / total;
+    }
+
+    /**
+     * To be read before loading from the database and passed to {@code put*} with the result.
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    public void putById(Long id, Optional<Client> client, long loadedAt) {
+        put(id, client, loadedAt);
+    }
+
+    public void putByEmail(String email, Optional<Client> client, long loadedAt) {
+        put(email, client, loadedAt);
+    }
+
+    private synchronized void put(Object key, Optional<Client> client, long loadedAt) {
+        if (loadedAt != generation.get()) {
+            return;
+        }
+        if (!client.isPresent()) {
+            misses.put(key, Boolean.TRUE);
+            return;
+        }
+        Client found = client.get();
+        if (found.getId() == null || found.getEmail() == null) {
+            return;
+        }
+        if (!found.getEmail().equals(emailById.getIfPresent(found.getId()))) {
+            emailById.put(found.getId(), found.getEmail());
+        }
+        idByEmail.put(found.getEmail(), found.getId());
+    }
+
+    /**
+     * Drops the client cached under the id, with its email as cached, and any remembered miss of the id or the
+     * current email, after a save or delete of the client.
+     */
+    public synchronized void invalidate(Long id, String email) {
+        generation.incrementAndGet();
+        if (id != null) {
+            emailById.invalidate(id);
+            misses.invalidate(id);
+        }
+        if (email != null) {
+            Long cachedId = idByEmail.get(email);
+            if (cachedId != null) {
+                emailById.invalidate(cachedId);
+            }
+            misses.invalidate(email);
+        }
+    }
+
+    public synchronized void invalidateAll() {
+        generation.incrementAndGet();
+        emailById.invalidateAll();
+        misses.invalidateAll();
+    }
+
+    /**
+     * Removes expired entries now, otherwise they are removed, and counted as evicted, during later operations.
+     */
+    public void cleanUp() {
+        emailById.cleanUp();
+        misses.cleanUp();
+    }
+
+    public long size() {
+        return emailById.size();
+    }
+}
@@ -0,0 +1,84 @@
+package org.inql.onlineshop.domain;
+
+import java.util.Arrays;
+
+/**
+ * Lifetime value and order count of every client keyed by client id, backed by parallel primitive arrays
+ * sorted by id. Clients without orders have a lifetime value, order count and average basket of zero.
+ */
+public final class ClientRevenues {
+
+    private static final ClientRevenues EMPTY = new ClientRevenues(new long[0], new double[0], new int[0]);
+
+    private final long[] clientIds;
+    private final double[] lifetimeValues;
+    private final int[] orderCounts;
+
+    public ClientRevenues(long[] clientIds, double[] lifetimeValues, int[] orderCounts) {
+        if (clientIds.length != lifetimeValues.length || clientIds.length != orderCounts.length) {
+            throw new IllegalArgumentException("Client ids, lifetime values and order counts must have the same length");
+        }
+        this.clientIds = clientIds;
+        this.lifetimeValues = lifetimeValues;
+        this.orderCounts = orderCounts;
+    }
+
+    public static ClientRevenues empty() {
+        return EMPTY;
+    }
+
+    public int size() {
+        return clientIds.length;
+    }
+
+    public boolean contains(long clientId) {
+        return Arrays.binarySearch(clientIds, clientId) >= 0;
+    }
+
+    public double getLifetimeValue(long clientId) {
+        int position = Arrays.binarySearch(clientIds, clientId);
+        return position < 0 ? 0D : lifetimeValues[position];
+    }
+
+    public int getOrderCount(long clientId) {
+        int position = Arrays.binarySearch(clientIds, clientId);
+        return position < 0 ? 0 : orderCounts[position];
+    }
+
+    public double getAverageBasket(long clientId) {
+        int position = Arrays.binarySearch(clientIds, clientId);
+        return position < 0 ? 0D : averageBasketAt(position);
+    }
+
+    public long clientIdAt(int position) {
+        return clientIds[position];
+    }
+
+    public double lifetimeValueAt(int position) {
+        return lifetimeValues[position];
+    }
+
+    public int orderCountAt(int position) {
+        return orderCounts[position];
+    }
+
+    public double averageBasketAt(int position) {
+        return orderCounts[position] == 0 ? 0D : lifetimeValues[position] / orderCounts[position];
+    }
+
+    public double totalRevenue() {
+        double sum = 0D;
+        for (double lifetimeValue : lifetimeValues) {
+            sum += lifetimeValue;
+        }
+        return sum;
+    }
+
+    public long totalOrders() {
+        long sum = 0L;
+        for (int orderCount : orderCounts) {
+            sum += orderCount;
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,60 @@
+package org.inql.onlineshop.domain;
+
+import java.util.Objects;
+
+/**
+ * Read-only projection of a client for listings and searches, without its orders.
+ */
+public final class ClientView {
+
+    private final long id;
+    private final String name;
+    private final String surname;
+    private final String email;
+
+    public ClientView(long id, String name, String surname, String email) {
+        this.id = id;
+        this.name = name;
+        this.surname = surname;
+        this.email = email;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getSurname() {
+        return surname;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ClientView)) {
+            return false;
+        }
+        ClientView other = (ClientView) o;
+        return id == other.id && Objects.equals(name, other.name) && Objects.equals(surname, other.surname)
+                && Objects.equals(email, other.email);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(id);
+    }
+
+    @Override
+    public String toString() {
+        return "ClientView(id=" + id + ", name=" + name + ", surname=" + surname + ", email=" + email + ")";
+    }
+}
@@ -2,6 +2,8 @@ package org.inql.onlineshop.domain;
 
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
 import javax.validation.constraints.*;
@@ -9,11 +11,18 @@ import javax.validation.constraints.*;
 @Getter
 @Setter
 @Entity
-@Table(name = "db_item")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@Table(name = "db_item", indexes = {
+        @Index(name = "idx_item_value_id", columnList = "value, id"),
+        // not every database reads an index backwards, H2 does not
+        @Index(name = "idx_item_value_desc", columnList = "value desc, id desc")
+})
 public class Item {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "item_seq")
+    @SequenceGenerator(name = "item_seq", sequenceName = "item_seq", allocationSize = 50)
     private Long id;
 
     @Column(unique = true)
@@ -0,0 +1,54 @@
+package org.inql.onlineshop.domain;
+
+import java.util.Objects;
+
+/**
+ * Read-only projection of an item for listings, built by the query itself so no entity is hydrated,
+ * snapshotted for dirty checking or kept in the persistence context.
+ */
+public final class ItemView {
+
+    private final long id;
+    private final String name;
+    private final double value;
+
+    public ItemView(long id, String name, double value) {
+        this.id = id;
+        this.name = name;
+        this.value = value;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public double getValue() {
+        return value;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ItemView)) {
+            return false;
+        }
+        ItemView other = (ItemView) o;
+        return id == other.id && Double.compare(value, other.value) == 0 && Objects.equals(name, other.name);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(id);
+    }
+
+    @Override
+    public String toString() {
+        return "ItemView(id=" + id + ", name=" + name + ", value=" + value + ")";
+    }
+}
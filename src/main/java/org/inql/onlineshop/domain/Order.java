@@ -1,35 +1,287 @@
 package org.inql.onlineshop.domain;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
 
 @Getter
 @Setter
 @Entity
-@Table(name = "db_order")
+@Table(name = "db_order", indexes = {
+        @Index(name = "idx_order_client", columnList = "client_id"),
+        @Index(name = "idx_order_total", columnList = "total desc, id desc")
+})
+@NamedEntityGraphs({
+        @NamedEntityGraph(name = Order.SUMMARY_GRAPH, attributeNodes = @NamedAttributeNode("client")),
+        @NamedEntityGraph(name = Order.WITH_ITEMS_GRAPH,
+                attributeNodes = {@NamedAttributeNode("client"), @NamedAttributeNode(value = "lines", subgraph = "lines")},
+                subgraphs = @NamedSubgraph(name = "lines", attributeNodes = @NamedAttributeNode("item")))
+})
 public class Order {
 
+    public static final String SUMMARY_GRAPH = "Order.summary";
+    public static final String WITH_ITEMS_GRAPH = "Order.withItems";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_seq")
+    @SequenceGenerator(name = "order_seq", sequenceName = "order_seq", allocationSize = 50)
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "client_id")
     private Client client;
 
-    @ManyToMany
-    @JoinTable(
-            name="Order_Item",
-            joinColumns = @JoinColumn(name = "order_id", referencedColumnName = "id"),
-            inverseJoinColumns = @JoinColumn(name="item_id",referencedColumnName = "id")
-    )
-    private List<Item> items;
+    @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OrderBy("id")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+    private List<OrderLine> lines;
+
+    /**
+     * Sum of the line totals rounded to cents, kept up to date by every item mutation of this class
+     * so that neither the lines nor an aggregate query are needed to read it.
+     */
+    @Setter(AccessLevel.NONE)
+    @Column(name = "total", nullable = false)
+    private double total;
+
+    /**
+     * Sum of the line quantities, the size of {@link #getItems()} without loading the lines.
+     */
+    @Setter(AccessLevel.NONE)
+    @Column(name = "item_count", nullable = false)
+    private int itemCount;
 
     public Order() {
-        items = new ArrayList<>();
+        lines = new ArrayList<>();
+    }
+
+    /**
+     * Adds {@code quantity} pieces of the item, raising the quantity of its line if the order already has one.
+     */
+    public OrderLine addItem(Item item, int quantity) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Quantity must be positive");
+        }
+        for (OrderLine line : lines) {
+            if (line.isFor(item)) {
+                line.setQuantity(line.getQuantity() + quantity);
+                addToTotals(line, quantity);
+                return line;
+            }
+        }
+        OrderLine line = new OrderLine(this, item, quantity);
+        lines.add(line);
+        addToTotals(line, quantity);
+        return line;
+    }
+
+    /**
+     * Replaces the lines, recomputing the total and item count from the new ones.
+     */
+    public void setLines(List<OrderLine> lines) {
+        this.lines = lines;
+        total = 0D;
+        itemCount = 0;
+        for (OrderLine line : lines) {
+            addToTotals(line, line.getQuantity());
+        }
+    }
+
+    private void addToTotals(OrderLine line, int quantity) {
+        total = roundToCents(total + quantity * (line.getUnitPrice() == null ? 0D : line.getUnitPrice()));
+        itemCount += quantity;
+    }
+
+    private void clearLines() {
+        lines.clear();
+        total = 0D;
+        itemCount = 0;
+    }
+
+    private static double roundToCents(double value) {
+        return Math.round(value * 100) / 100D;
+    }
+
+    /**
+     * Items of the order, each one repeated as many times as its line quantity.
+     * Adding to the returned list goes through {@link #addItem(Item, int)}.
+     */
+    public List<Item> getItems() {
+        return new Items();
+    }
+
+    public void setItems(List<Item> items) {
+        clearLines();
+        items.forEach(item -> addItem(item, 1));
+    }
+
+    private class Items extends AbstractList<Item> {
+
+        @Override
+        public Item get(int index) {
+            int remaining = index;
+            for (OrderLine line : lines) {
+                if (remaining < line.getQuantity()) {
+                    return line.getItem();
+                }
+                remaining -= line.getQuantity();
+            }
+            throw new IndexOutOfBoundsException("Index: " + index);
+        }
+
+        @Override
+        public int size() {
+            return itemCount;
+        }
+
+        @Override
+        public Iterator<Item> iterator() {
+            return new ItemIterator(0);
+        }
+
+        @Override
+        public ListIterator<Item> listIterator(int index) {
+            if (index < 0 || index > itemCount) {
+                throw new IndexOutOfBoundsException("Index: " + index);
+            }
+            return new ItemIterator(index);
+        }
+
+        @Override
+        public void add(int index, Item item) {
+            if (index != size()) {
+                throw new UnsupportedOperationException("Items can only be appended");
+            }
+            addItem(item, 1);
+        }
+
+        @Override
+        public Item remove(int index) {
+            int remaining = index;
+            for (Iterator<OrderLine> iterator = lines.iterator(); iterator.hasNext(); ) {
+                OrderLine line = iterator.next();
+                if (remaining < line.getQuantity()) {
+                    if (line.getQuantity() == 1) {
+                        iterator.remove();
+                    } else {
+                        line.setQuantity(line.getQuantity() - 1);
+                    }
+                    addToTotals(line, -1);
+                    return line.getItem();
+                }
+                remaining -= line.getQuantity();
+            }
+            throw new IndexOutOfBoundsException("Index: " + index);
+        }
+
+        @Override
+        public void clear() {
+            clearLines();
+        }
+    }
+
+    /**
+     * Walks the lines once, handing out each item as many times as its quantity, where the index-based
+     * iterator of {@link AbstractList} would search the lines from the start for every element.
+     */
+    private class ItemIterator implements ListIterator<Item> {
+
+        private int cursor;
+        private int lineIndex;
+        private int offset;
+        private int lastReturned = -1;
+
+        ItemIterator(int index) {
+            seek(index);
+        }
+
+        private void seek(int index) {
+            cursor = index;
+            lineIndex = 0;
+            offset = index;
+            while (lineIndex < lines.size() && offset >= lines.get(lineIndex).getQuantity()) {
+                offset -= lines.get(lineIndex).getQuantity();
+                lineIndex++;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return cursor < itemCount;
+        }
+
+        @Override
+        public Item next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            OrderLine line = lines.get(lineIndex);
+            if (++offset == line.getQuantity()) {
+                lineIndex++;
+                offset = 0;
+            }
+            lastReturned = cursor++;
+            return line.getItem();
+        }
+
+        @Override
+        public boolean hasPrevious() {
+            return cursor > 0;
+        }
+
+        @Override
+        public Item previous() {
+            if (!hasPrevious()) {
+                throw new NoSuchElementException();
+            }
+            if (offset == 0) {
+                offset = lines.get(--lineIndex).getQuantity();
+            }
+            offset--;
+            lastReturned = --cursor;
+            return lines.get(lineIndex).getItem();
+        }
+
+        @Override
+        public int nextIndex() {
+            return cursor;
+        }
+
+        @Override
+        public int previousIndex() {
+            return cursor - 1;
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturned < 0) {
+                throw new IllegalStateException();
+            }
+            getItems().remove(lastReturned);
+            seek(lastReturned);
+            lastReturned = -1;
+        }
+
+        @Override
+        public void set(Item item) {
+            throw new UnsupportedOperationException("Items cannot be replaced");
+        }
+
+        @Override
+        public void add(Item item) {
+            getItems().add(cursor, item);
+            seek(cursor + 1);
+            lastReturned = -1;
+        }
     }
 }
@@ -0,0 +1,64 @@
+package org.inql.onlineshop.domain;
+
+/**
+ * Flat, read-only view of an order for exports: its client, the item and quantity of each line, and the stored
+ * total and item count.
+ */
+public final class OrderExport {
+
+    private final long orderId;
+    private final Long clientId;
+    private final long[] itemIds;
+    private final int[] quantities;
+    private final double total;
+    private final int itemCount;
+
+    public OrderExport(long orderId, Long clientId, long[] itemIds, int[] quantities, double total, int itemCount) {
+        if (itemIds.length != quantities.length) {
+            throw new IllegalArgumentException("Every line needs an item id and a quantity.");
+        }
+        this.orderId = orderId;
+        this.clientId = clientId;
+        this.itemIds = itemIds;
+        this.quantities = quantities;
+        this.total = total;
+        this.itemCount = itemCount;
+    }
+
+    public long getOrderId() {
+        return orderId;
+    }
+
+    /**
+     * The client id, or null for an order without a client.
+     */
+    public Long getClientId() {
+        return clientId;
+    }
+
+    public int getLineCount() {
+        return itemIds.length;
+    }
+
+    public long getItemIdAt(int line) {
+        return itemIds[line];
+    }
+
+    public int getQuantityAt(int line) {
+        return quantities[line];
+    }
+
+    /**
+     * The total stored with the order, rounded to cents.
+     */
+    public double getTotal() {
+        return total;
+    }
+
+    /**
+     * The sum of the line quantities stored with the order, as {@link Order#getItemCount()}.
+     */
+    public int getItemCount() {
+        return itemCount;
+    }
+}
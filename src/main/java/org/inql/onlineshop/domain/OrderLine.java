@@ -0,0 +1,61 @@
+package org.inql.onlineshop.domain;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import javax.persistence.*;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Positive;
+
+/**
+ * One item of an order with its quantity and the item value at the time it was added.
+ */
+@Getter
+@Setter
+@Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@Table(name = "db_order_line",
+        uniqueConstraints = @UniqueConstraint(name = "uk_order_line_order_item", columnNames = {"order_id", "item_id"}),
+        indexes = @Index(name = "idx_order_line_item", columnList = "item_id"))
+public class OrderLine {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_line_seq")
+    @SequenceGenerator(name = "order_line_seq", sequenceName = "order_line_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "order_id")
+    private Order order;
+
+    @ManyToOne(optional = false)
+    @JoinColumn(name = "item_id")
+    private Item item;
+
+    @Positive(message = "Quantity must be higher than zero.")
+    private int quantity;
+
+    @NotNull(message = "Unit price cannot be null.")
+    private Double unitPrice;
+
+    public OrderLine() {
+    }
+
+    public OrderLine(Order order, Item item, int quantity) {
+        this.order = order;
+        this.item = item;
+        this.quantity = quantity;
+        this.unitPrice = item.getValue();
+    }
+
+    public double getLineTotal() {
+        return unitPrice == null ? 0D : quantity * unitPrice;
+    }
+
+    boolean isFor(Item other) {
+        return item == other || (item.getId() != null && item.getId().equals(other.getId()));
+    }
+}
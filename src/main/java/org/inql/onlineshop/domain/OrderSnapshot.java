@@ -0,0 +1,62 @@
+package org.inql.onlineshop.domain;
+
+import java.util.Arrays;
+
+/**
+ * Columnar copy of the client and total of every order that has a client, together with the sorted ids of
+ * all clients, so that revenue can be aggregated in memory without touching the database again.
+ */
+public final class OrderSnapshot {
+
+    private final long[] clientIds;
+    private final long[] orderClientIds;
+    private final double[] orderTotals;
+
+    /**
+     * @param clientIds sorted distinct ids of all clients, including those without orders
+     * @param orderClientIds client id of each order, in no particular order
+     * @param orderTotals total of each order, at the same position as its client id
+     */
+    public OrderSnapshot(long[] clientIds, long[] orderClientIds, double[] orderTotals) {
+        if (orderClientIds.length != orderTotals.length) {
+            throw new IllegalArgumentException("Order client ids and totals must have the same length");
+        }
+        this.clientIds = clientIds;
+        this.orderClientIds = orderClientIds;
+        this.orderTotals = orderTotals;
+    }
+
+    public int clientCount() {
+        return clientIds.length;
+    }
+
+    public int orderCount() {
+        return orderClientIds.length;
+    }
+
+    public long clientIdAt(int position) {
+        return clientIds[position];
+    }
+
+    public long orderClientIdAt(int order) {
+        return orderClientIds[order];
+    }
+
+    public double orderTotalAt(int order) {
+        return orderTotals[order];
+    }
+
+    /**
+     * Position of the client among {@link #clientCount()} clients, negative if the id is unknown.
+     */
+    public int clientPosition(long clientId) {
+        return Arrays.binarySearch(clientIds, clientId);
+    }
+
+    /**
+     * The sorted client ids, shared with this snapshot.
+     */
+    public long[] clientIds() {
+        return clientIds;
+    }
+}
@@ -0,0 +1,56 @@
+package org.inql.onlineshop.domain;
+
+import java.util.Arrays;
+
+/**
+ * Order totals keyed by order id, backed by two parallel primitive arrays sorted by id.
+ * Orders without items, or ids that do not exist, have a total of zero.
+ */
+public final class OrderTotals {
+
+    private static final OrderTotals EMPTY = new OrderTotals(new long[0], new double[0]);
+
+    private final long[] orderIds;
+    private final double[] totals;
+
+    public OrderTotals(long[] orderIds, double[] totals) {
+        if (orderIds.length != totals.length) {
+            throw new IllegalArgumentException("Order ids and totals must have the same length");
+        }
+        this.orderIds = orderIds;
+        this.totals = totals;
+    }
+
+    public static OrderTotals empty() {
+        return EMPTY;
+    }
+
+    public int size() {
+        return orderIds.length;
+    }
+
+    public boolean contains(long orderId) {
+        return Arrays.binarySearch(orderIds, orderId) >= 0;
+    }
+
+    public double get(long orderId) {
+        int position = Arrays.binarySearch(orderIds, orderId);
+        return position < 0 ? 0D : totals[position];
+    }
+
+    public long orderIdAt(int position) {
+        return orderIds[position];
+    }
+
+    public double totalAt(int position) {
+        return totals[position];
+    }
+
+    public double sum() {
+        double sum = 0D;
+        for (double total : totals) {
+            sum += total;
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,64 @@
+package org.inql.onlineshop.domain;
+
+import java.util.Objects;
+
+/**
+ * Read-only projection of an order for listings: its client id and the stored total and item count,
+ * without the client or the lines.
+ */
+public final class OrderView {
+
+    private final long id;
+    private final Long clientId;
+    private final double total;
+    private final int itemCount;
+
+    public OrderView(long id, Long clientId, double total, int itemCount) {
+        this.id = id;
+        this.clientId = clientId;
+        this.total = total;
+        this.itemCount = itemCount;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * The client id, or null for an order without a client.
+     */
+    public Long getClientId() {
+        return clientId;
+    }
+
+    public double getTotal() {
+        return total;
+    }
+
+    public int getItemCount() {
+        return itemCount;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof OrderView)) {
+            return false;
+        }
+        OrderView other = (OrderView) o;
+        return id == other.id && Double.compare(total, other.total) == 0 && itemCount == other.itemCount
+                && Objects.equals(clientId, other.clientId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(id);
+    }
+
+    @Override
+    public String toString() {
+        return "OrderView(id=" + id + ", clientId=" + clientId + ", total=" + total + ", itemCount=" + itemCount + ")";
+    }
+}
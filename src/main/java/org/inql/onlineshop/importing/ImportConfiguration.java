@@ -0,0 +1,20 @@
+package org.inql.onlineshop.importing;
+
+import org.inql.onlineshop.service.ItemService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.validation.Validator;
+
+@Configuration
+public class ImportConfiguration {
+
+    @Bean
+    public ItemImporter itemImporter(ItemService itemService, PlatformTransactionManager transactionManager, Validator validator,
+                                     @Value("${onlineshop.import.chunk-size:1000}") int chunkSize,
+                                     @Value("${onlineshop.import.validation-threads:4}") int validationThreads) {
+        return new ItemImporter(itemService, transactionManager, validator, chunkSize, validationThreads);
+    }
+}
@@ -0,0 +1,24 @@
+package org.inql.onlineshop.importing;
+
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Supported catalog files: CSV with a header row naming the {@code name} and {@code value} columns,
+ * or newline-delimited JSON with one {@code {"name": ..., "value": ...}} object per line.
+ */
+public enum ImportFormat {
+    CSV,
+    NDJSON;
+
+    public static ImportFormat of(Path file) {
+        String fileName = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (fileName.endsWith(".csv")) {
+            return CSV;
+        }
+        if (fileName.endsWith(".ndjson") || fileName.endsWith(".jsonl")) {
+            return NDJSON;
+        }
+        throw new IllegalArgumentException("Unknown catalog format of " + file.getFileName());
+    }
+}
@@ -0,0 +1,53 @@
+package org.inql.onlineshop.importing;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts of an import, final or so far when passed to a progress listener.
+ */
+public final class ImportResult {
+
+    private final long read;
+    private final long imported;
+    private final long rejected;
+    private final int chunks;
+    private final long elapsedNanos;
+
+    public ImportResult(long read, long imported, long rejected, int chunks, long elapsedNanos) {
+        this.read = read;
+        this.imported = imported;
+        this.rejected = rejected;
+        this.chunks = chunks;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public long getRead() {
+        return read;
+    }
+
+    public long getImported() {
+        return imported;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    public int getChunks() {
+        return chunks;
+    }
+
+    public long getElapsed(TimeUnit unit) {
+        return unit.convert(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public double getRowsPerSecond() {
+        return elapsedNanos == 0 ? 0D : read * 1e9 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return read + " rows read, " + imported + " imported, " + rejected + " rejected in " + chunks + " chunks, "
+                + Math.round(getRowsPerSecond()) + " rows/s";
+    }
+}
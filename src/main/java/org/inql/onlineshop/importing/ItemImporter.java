@@ -0,0 +1,167 @@
+package org.inql.onlineshop.importing;
+
+import org.inql.onlineshop.domain.Item;
+import org.inql.onlineshop.service.ItemService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.validation.Validator;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
+
+/**
+ * Bulk catalog import. Rows are read one chunk at a time, validated against the {@link Item} constraints in
+ * parallel while the previous chunk is written, and each chunk is saved through {@link ItemService#saveAllValidated},
+ * which does not validate it again, in its own transaction, so inserts are batched and the persistence context
+ * never outgrows a chunk.
+ * Rejected rows are written to a side file as {@code line<TAB>reason<TAB>row}. A chunk failing on a unique
+ * name is retried row by row to find the duplicates.
+ */
+public class ItemImporter implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ItemImporter.class);
+
+    private final ItemService itemService;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ForkJoinPool validationPool;
+    private final int chunkSize;
+
+    public ItemImporter(ItemService itemService, PlatformTransactionManager transactionManager, Validator validator,
+                        int chunkSize, int validationThreads) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+        this.itemService = itemService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.validator = validator;
+        this.validationPool = new ForkJoinPool(validationThreads);
+        this.chunkSize = chunkSize;
+    }
+
+    public ImportResult importItems(Path source, Path rejects) throws IOException {
+        try (Reader reader = Files.newBufferedReader(source, StandardCharsets.UTF_8);
+             Writer rejectWriter = Files.newBufferedWriter(rejects, StandardCharsets.UTF_8)) {
+            return importItems(reader, ImportFormat.of(source), rejectWriter, progress -> { });
+        }
+    }
+
+    public ImportResult importItems(Reader source, ImportFormat format, Writer rejects) throws IOException {
+        return importItems(source, format, rejects, progress -> { });
+    }
+
+    /**
+     * @param progress called after every chunk with the counts so far
+     */
+    public ImportResult importItems(Reader source, ImportFormat format, Writer rejects, Consumer<ImportResult> progress) throws IOException {
+        long start = System.nanoTime();
+        long read = 0;
+        long imported = 0;
+        long rejected = 0;
+        int chunks = 0;
+        try (ItemRowReader rows = new ItemRowReader(source, format)) {
+            List<ItemRow> chunk = readChunk(rows);
+            ForkJoinTask<?> validation = validate(chunk);
+            while (!chunk.isEmpty()) {
+                validation.join();
+                List<ItemRow> nextChunk = readChunk(rows);
+                ForkJoinTask<?> nextValidation = validate(nextChunk);
+                imported += write(chunk);
+                for (ItemRow row : chunk) {
+                    if (row.isRejected()) {
+                        rejected++;
+                        writeReject(rejects, row);
+                    }
+                }
+                read += chunk.size();
+                chunks++;
+                ImportResult result = new ImportResult(read, imported, rejected, chunks, System.nanoTime() - start);
+                LOGGER.debug("Importing items, {}", result);
+                progress.accept(result);
+                chunk = nextChunk;
+                validation = nextValidation;
+            }
+        }
+        rejects.flush();
+        ImportResult result = new ImportResult(read, imported, rejected, chunks, System.nanoTime() - start);
+        LOGGER.info("Imported items, {}", result);
+        return result;
+    }
+
+    private List<ItemRow> readChunk(ItemRowReader rows) {
+        List<ItemRow> chunk = new ArrayList<>(chunkSize);
+        while (chunk.size() < chunkSize && rows.hasNext()) {
+            chunk.add(rows.next());
+        }
+        return chunk;
+    }
+
+    private ForkJoinTask<?> validate(List<ItemRow> chunk) {
+        return validationPool.submit(() -> chunk.parallelStream().forEach(row -> row.validate(validator)));
+    }
+
+    private long write(List<ItemRow> chunk) {
+        List<ItemRow> accepted = new ArrayList<>(chunk.size());
+        Set<String> names = new HashSet<>();
+        for (ItemRow row : chunk) {
+            if (row.isRejected()) {
+                continue;
+            }
+            if (names.add(row.getName())) {
+                accepted.add(row);
+            } else {
+                row.reject("Duplicate name " + row.getName());
+            }
+        }
+        if (accepted.isEmpty()) {
+            return 0;
+        }
+        try {
+            List<Item> items = new ArrayList<>(accepted.size());
+            for (ItemRow row : accepted) {
+                items.add(row.toItem());
+            }
+            transactionTemplate.execute(status -> itemService.saveAllValidated(items));
+            return accepted.size();
+        } catch (DataIntegrityViolationException e) {
+            return writeOneByOne(accepted);
+        }
+    }
+
+    private long writeOneByOne(List<ItemRow> rows) {
+        long imported = 0;
+        for (ItemRow row : rows) {
+            try {
+                transactionTemplate.execute(status -> itemService.saveAllValidated(Collections.singletonList(row.toItem())));
+                imported++;
+            } catch (DataIntegrityViolationException e) {
+                row.reject("Duplicate name " + row.getName());
+            }
+        }
+        return imported;
+    }
+
+    private void writeReject(Writer rejects, ItemRow row) throws IOException {
+        rejects.write(row.getLine() + "\t" + row.getError() + "\t" + row.getRaw() + "\n");
+    }
+
+    @Override
+    public void close() {
+        validationPool.shutdown();
+    }
+}
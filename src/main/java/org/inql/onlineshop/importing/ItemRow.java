@@ -0,0 +1,81 @@
+package org.inql.onlineshop.importing;
+
+import org.inql.onlineshop.domain.Item;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * One parsed line of a catalog file. A row is rejected once it has an error, either from parsing or validation.
+ */
+final class ItemRow {
+
+    private final long line;
+    private final String raw;
+    private final String name;
+    private final Double value;
+    private volatile String error;
+
+    private ItemRow(long line, String raw, String name, Double value, String error) {
+        this.line = line;
+        this.raw = raw;
+        this.name = name;
+        this.value = value;
+        this.error = error;
+    }
+
+    static ItemRow parsed(long line, String raw, String name, Double value) {
+        return new ItemRow(line, raw, name, value, null);
+    }
+
+    static ItemRow malformed(long line, String raw, String error) {
+        return new ItemRow(line, raw, null, null, error);
+    }
+
+    long getLine() {
+        return line;
+    }
+
+    String getRaw() {
+        return raw;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    String getError() {
+        return error;
+    }
+
+    boolean isRejected() {
+        return error != null;
+    }
+
+    void reject(String error) {
+        this.error = error;
+    }
+
+    /**
+     * A new entity on every call, so a row can be saved again after a failed chunk without a stale id.
+     */
+    Item toItem() {
+        return new Item(name, value);
+    }
+
+    void validate(Validator validator) {
+        if (isRejected()) {
+            return;
+        }
+        Set<ConstraintViolation<Item>> violations = validator.validate(toItem());
+        if (!violations.isEmpty()) {
+            Set<String> messages = new TreeSet<>();
+            for (ConstraintViolation<Item> violation : violations) {
+                messages.add(violation.getPropertyPath() + ": " + violation.getMessage());
+            }
+            error = String.join("; ", messages);
+        }
+    }
+}
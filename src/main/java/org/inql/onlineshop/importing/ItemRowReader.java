@@ -0,0 +1,158 @@
+package org.inql.onlineshop.importing;
+
+import org.apache.commons.io.LineIterator;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads a catalog file line by line, so only the current line is held in memory. Blank lines are skipped,
+ * lines that cannot be parsed become rejected rows instead of failing the import.
+ */
+final class ItemRowReader implements Iterator<ItemRow>, Closeable {
+
+    private final LineIterator lines;
+    private final ImportFormat format;
+    private long line;
+    private int nameColumn;
+    private int valueColumn;
+    private int columns;
+    private ItemRow next;
+
+    ItemRowReader(Reader reader, ImportFormat format) {
+        this.lines = new LineIterator(reader);
+        this.format = format;
+        if (format == ImportFormat.CSV) {
+            readHeader();
+        }
+    }
+
+    private void readHeader() {
+        String header = nextLine();
+        if (header == null) {
+            return;
+        }
+        List<String> names = splitCsv(header);
+        nameColumn = -1;
+        valueColumn = -1;
+        for (int i = 0; i < names.size(); i++) {
+            String column = names.get(i).trim().toLowerCase(Locale.ROOT);
+            if ("name".equals(column)) {
+                nameColumn = i;
+            } else if ("value".equals(column)) {
+                valueColumn = i;
+            }
+        }
+        if (nameColumn < 0 || valueColumn < 0) {
+            throw new IllegalArgumentException("CSV header must contain the name and value columns, was: " + header);
+        }
+        columns = Math.max(nameColumn, valueColumn) + 1;
+    }
+
+    private String nextLine() {
+        while (lines.hasNext()) {
+            String text = lines.next();
+            line++;
+            if (!text.trim().isEmpty()) {
+                return text;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null) {
+            String text = nextLine();
+            if (text != null) {
+                next = format == ImportFormat.CSV ? parseCsv(text) : parseJson(text);
+            }
+        }
+        return next != null;
+    }
+
+    @Override
+    public ItemRow next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        ItemRow row = next;
+        next = null;
+        return row;
+    }
+
+    private ItemRow parseCsv(String text) {
+        List<String> fields = splitCsv(text);
+        if (fields.size() < columns) {
+            return ItemRow.malformed(line, text, "Expected at least " + columns + " columns, found " + fields.size());
+        }
+        String value = fields.get(valueColumn).trim();
+        try {
+            return ItemRow.parsed(line, text, fields.get(nameColumn), value.isEmpty() ? null : Double.valueOf(value));
+        } catch (NumberFormatException e) {
+            return ItemRow.malformed(line, text, "Invalid value " + value);
+        }
+    }
+
+    private ItemRow parseJson(String text) {
+        try {
+            JSONObject json = new JSONObject(text);
+            Object name = json.opt("name");
+            Object value = json.opt("value");
+            if (name != null && !(name instanceof String) && name != JSONObject.NULL) {
+                return ItemRow.malformed(line, text, "Name must be a string");
+            }
+            if (value != null && !(value instanceof Number) && value != JSONObject.NULL) {
+                return ItemRow.malformed(line, text, "Value must be a number");
+            }
+            return ItemRow.parsed(line, text, name instanceof String ? (String) name : null,
+                    value instanceof Number ? ((Number) value).doubleValue() : null);
+        } catch (JSONException e) {
+            return ItemRow.malformed(line, text, "Malformed JSON: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Splits one CSV record, double quotes enclose fields containing commas and are escaped by doubling them.
+     */
+    static List<String> splitCsv(String text) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    @Override
+    public void close() throws IOException {
+        lines.close();
+    }
+}
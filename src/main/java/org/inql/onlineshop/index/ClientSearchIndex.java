@@ -0,0 +1,259 @@
+package org.inql.onlineshop.index;
+
+import org.inql.onlineshop.domain.Client;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory substring index over client name, surname and email. Trigrams are built from folded text
+ * (lower case, Polish diacritics stripped), so one index serves both the case-sensitive per-field lookups,
+ * which verify candidates against the original value, and the folded, ranked search across all fields.
+ * Only ids and field values are kept, lookups return ids and the caller loads the clients, so no entity
+ * instance is shared between callers or outlives the persistence context it was loaded in.
+ */
+public class ClientSearchIndex {
+
+    public enum Field {
+        NAME, SURNAME, EMAIL
+    }
+
+    private static final Field[] FIELDS = Field.values();
+
+    /**
+     * Letters replaced by {@link #fold} before lower-casing, position by position with {@link #PLAIN_LETTERS},
+     * in the form SQL {@code TRANSLATE} takes them.
+     */
+    public static final String POLISH_LETTERS = "ąćęłńóśźżĄĆĘŁŃÓŚŹŻ";
+    public static final String PLAIN_LETTERS = "acelnoszzACELNOSZZ";
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TrigramIndex[] trigramIndexes = new TrigramIndex[FIELDS.length];
+    private final Map<Long, Entry> entryById = new HashMap<>();
+
+    public ClientSearchIndex() {
+        for (int i = 0; i < trigramIndexes.length; i++) {
+            trigramIndexes[i] = new TrigramIndex();
+        }
+    }
+
+    public void put(Client client) {
+        if (client == null || client.getId() == null) return;
+        lock.writeLock().lock();
+        try {
+            putUnlocked(client);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void putAll(Iterable<? extends Client> clients) {
+        lock.writeLock().lock();
+        try {
+            for (Client client : clients) {
+                if (client != null && client.getId() != null) putUnlocked(client);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void rebuild(Iterable<? extends Client> clients) {
+        lock.writeLock().lock();
+        try {
+            for (TrigramIndex trigramIndex : trigramIndexes) {
+                trigramIndex.clear();
+            }
+            entryById.clear();
+            for (Client client : clients) {
+                if (client != null && client.getId() != null) putUnlocked(client);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        if (id == null) return;
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entryById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Case-sensitive substring lookup on one field, equivalent to LIKE '%keyword%'.
+     */
+    public List<Long> findIdsByFieldContaining(Field field, String keyword) {
+        if (keyword == null) return new ArrayList<>();
+        int fieldIndex = field.ordinal();
+        lock.readLock().lock();
+        try {
+            List<Long> result = new ArrayList<>();
+            long[] candidates = trigramIndexes[fieldIndex].candidates(fold(keyword));
+            if (candidates == null) {
+                for (Entry entry : entryById.values()) {
+                    if (entry.matches(fieldIndex, keyword)) result.add(entry.id);
+                }
+            } else {
+                for (long id : candidates) {
+                    if (entryById.get(id).matches(fieldIndex, keyword)) result.add(id);
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Case and diacritic insensitive search over all fields, ids of the best {@code limit} clients. Clients are
+     * ranked by the sum of their per-field scores (exact match 4, prefix 2, substring 1), ties are broken by id.
+     */
+    public List<Long> searchIds(String keyword, int limit) {
+        if (keyword == null || limit <= 0) return new ArrayList<>();
+        String foldedKeyword = fold(keyword);
+        lock.readLock().lock();
+        try {
+            List<Hit> hits = new ArrayList<>();
+            long[][] candidates = new long[FIELDS.length][];
+            for (int i = 0; i < FIELDS.length; i++) {
+                candidates[i] = trigramIndexes[i].candidates(foldedKeyword);
+            }
+            if (candidates[0] == null) {
+                for (Entry entry : entryById.values()) {
+                    addHit(hits, entry, foldedKeyword);
+                }
+            } else {
+                Set<Long> seen = new HashSet<>();
+                for (long[] fieldCandidates : candidates) {
+                    for (long id : fieldCandidates) {
+                        if (seen.add(id)) addHit(hits, entryById.get(id), foldedKeyword);
+                    }
+                }
+            }
+            hits.sort((first, second) -> first.score != second.score
+                    ? Integer.compare(second.score, first.score)
+                    : Long.compare(first.id, second.id));
+            List<Long> result = new ArrayList<>(Math.min(limit, hits.size()));
+            for (int i = 0; i < hits.size() && i < limit; i++) {
+                result.add(hits.get(i).id);
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ranking score of a client for an already folded keyword, 0 when no field contains it.
+     */
+    public static int score(Client client, String foldedKeyword) {
+        return score(folded(client), foldedKeyword);
+    }
+
+    public static String fold(String text) {
+        if (text == null) return null;
+        char[] chars = text.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            int polish = POLISH_LETTERS.indexOf(chars[i]);
+            chars[i] = Character.toLowerCase(polish < 0 ? chars[i] : PLAIN_LETTERS.charAt(polish));
+        }
+        return new String(chars);
+    }
+
+    private static void addHit(List<Hit> hits, Entry entry, String foldedKeyword) {
+        int score = score(entry.folded, foldedKeyword);
+        if (score > 0) hits.add(new Hit(entry.id, score));
+    }
+
+    private static int score(String[] foldedValues, String foldedKeyword) {
+        int score = 0;
+        for (String value : foldedValues) {
+            if (value == null) continue;
+            if (value.equals(foldedKeyword)) {
+                score += 4;
+            } else if (value.startsWith(foldedKeyword)) {
+                score += 2;
+            } else if (value.contains(foldedKeyword)) {
+                score += 1;
+            }
+        }
+        return score;
+    }
+
+    private static String[] values(Client client) {
+        return new String[]{client.getName(), client.getSurname(), client.getEmail()};
+    }
+
+    private static String[] folded(Client client) {
+        String[] values = values(client);
+        for (int i = 0; i < values.length; i++) {
+            values[i] = fold(values[i]);
+        }
+        return values;
+    }
+
+    private void putUnlocked(Client client) {
+        long id = client.getId();
+        removeUnlocked(id);
+        Entry entry = new Entry(id, values(client), folded(client));
+        for (int i = 0; i < FIELDS.length; i++) {
+            if (entry.folded[i] != null) trigramIndexes[i].add(id, entry.folded[i]);
+        }
+        entryById.put(id, entry);
+    }
+
+    private void removeUnlocked(long id) {
+        Entry entry = entryById.remove(id);
+        if (entry == null) return;
+        for (int i = 0; i < FIELDS.length; i++) {
+            if (entry.folded[i] != null) trigramIndexes[i].remove(id, entry.folded[i]);
+        }
+    }
+
+    private static final class Entry {
+
+        private final long id;
+        private final String[] values;
+        private final String[] folded;
+
+        Entry(long id, String[] values, String[] folded) {
+            this.id = id;
+            this.values = values;
+            this.folded = folded;
+        }
+
+        boolean matches(int fieldIndex, String keyword) {
+            return values[fieldIndex] != null && values[fieldIndex].contains(keyword);
+        }
+    }
+
+    private static final class Hit {
+
+        private final long id;
+        private final int score;
+
+        Hit(long id, int score) {
+            this.id = id;
+            this.score = score;
+        }
+    }
+}
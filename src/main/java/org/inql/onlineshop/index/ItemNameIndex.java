@@ -0,0 +1,112 @@
+package org.inql.onlineshop.index;
+
+import org.inql.onlineshop.domain.Item;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory substring index over item names. Trigram posting lists narrow the search down to candidates,
+ * which are then verified with {@link String#contains}, so results match a case-sensitive LIKE '%keyword%'.
+ * Only ids and names are kept, lookups return ids and the caller loads the items, so no entity instance
+ * is shared between callers.
+ */
+public class ItemNameIndex {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TrigramIndex trigramIndex = new TrigramIndex();
+    private final Map<Long, String> nameById = new HashMap<>();
+
+    public void put(Item item) {
+        if (item == null || item.getId() == null) return;
+        lock.writeLock().lock();
+        try {
+            putUnlocked(item);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void putAll(Iterable<? extends Item> items) {
+        lock.writeLock().lock();
+        try {
+            for (Item item : items) {
+                if (item != null && item.getId() != null) putUnlocked(item);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void rebuild(Iterable<? extends Item> items) {
+        lock.writeLock().lock();
+        try {
+            trigramIndex.clear();
+            nameById.clear();
+            for (Item item : items) {
+                if (item != null && item.getId() != null) putUnlocked(item);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        if (id == null) return;
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return nameById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Long> findIdsByNameContaining(String keyword) {
+        if (keyword == null) return new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            List<Long> result = new ArrayList<>();
+            long[] candidates = trigramIndex.candidates(keyword);
+            if (candidates == null) {
+                for (Map.Entry<Long, String> entry : nameById.entrySet()) {
+                    if (entry.getValue().contains(keyword)) result.add(entry.getKey());
+                }
+            } else {
+                for (long id : candidates) {
+                    if (nameById.get(id).contains(keyword)) result.add(id);
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void putUnlocked(Item item) {
+        long id = item.getId();
+        removeUnlocked(id);
+        String name = item.getName();
+        if (name == null) return;
+        trigramIndex.add(id, name);
+        nameById.put(id, name);
+    }
+
+    private void removeUnlocked(long id) {
+        String name = nameById.remove(id);
+        if (name == null) return;
+        trigramIndex.remove(id, name);
+    }
+}
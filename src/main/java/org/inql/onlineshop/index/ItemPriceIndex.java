@@ -0,0 +1,306 @@
+package org.inql.onlineshop.index;
+
+import org.inql.onlineshop.domain.Item;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory index of items sorted by (value, id). Range lookups are answered by binary search
+ * over primitive arrays, so they never scan the item table. Only ids and values are kept, lookups return
+ * ids in (value, id) order and the caller loads the items, so no entity instance is shared between callers.
+ */
+public class ItemPriceIndex {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    // the order of the arrays, with the same comparisons as position(), so binary search finds merged entries
+    private static final Comparator<Entry> ORDER = (first, second) -> first.value < second.value ? -1
+            : first.value > second.value ? 1 : Long.compare(first.id, second.id);
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Double> valueById = new HashMap<>();
+
+    private double[] values = new double[INITIAL_CAPACITY];
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private int size;
+
+    public void put(Item item) {
+        if (item == null || item.getId() == null) return;
+        lock.writeLock().lock();
+        try {
+            putUnlocked(item);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Sorts the batch once and merges it with the indexed entries in a single pass, the last value of an id wins.
+     */
+    public void putAll(Iterable<? extends Item> itemsToPut) {
+        lock.writeLock().lock();
+        try {
+            mergeUnlocked(itemsToPut);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void rebuild(Iterable<? extends Item> itemsToPut) {
+        lock.writeLock().lock();
+        try {
+            clearUnlocked();
+            mergeUnlocked(itemsToPut);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        if (id == null) return;
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            clearUnlocked();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Long> findIdsByValue(double value) {
+        lock.readLock().lock();
+        try {
+            return slice(lowerBound(value), upperBound(value));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Long> findIdsByValueBetween(double lower, double upper) {
+        lock.readLock().lock();
+        try {
+            return slice(lowerBound(lower), upperBound(upper));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Long> findIdsByValueLessThan(double value, boolean inclusive) {
+        lock.readLock().lock();
+        try {
+            return slice(0, inclusive ? upperBound(value) : lowerBound(value));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Long> findIdsByValueGreaterThan(double value, boolean inclusive) {
+        lock.readLock().lock();
+        try {
+            return slice(inclusive ? lowerBound(value) : upperBound(value), size);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of the {@code limit} items with the highest value, highest first, ties by descending id.
+     */
+    public List<Long> findMostExpensiveIds(int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+        lock.readLock().lock();
+        try {
+            List<Long> result = new ArrayList<>(Math.min(limit, size));
+            for (int i = size - 1; i >= 0 && result.size() < limit; i--) {
+                result.add(ids[i]);
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void putUnlocked(Item item) {
+        long id = item.getId();
+        removeUnlocked(id);
+        Double value = item.getValue();
+        if (value == null || value.isNaN()) return;
+
+        ensureCapacity(size + 1);
+        int position = position(value, id);
+        int tail = size - position;
+        System.arraycopy(values, position, values, position + 1, tail);
+        System.arraycopy(ids, position, ids, position + 1, tail);
+        values[position] = value;
+        ids[position] = id;
+        size++;
+        valueById.put(id, value);
+    }
+
+    private void mergeUnlocked(Iterable<? extends Item> itemsToPut) {
+        Map<Long, Double> batch = new HashMap<>();
+        for (Item item : itemsToPut) {
+            if (item != null && item.getId() != null) batch.put(item.getId(), item.getValue());
+        }
+        if (batch.isEmpty()) return;
+
+        // positions of the indexed entries the batch replaces, found by binary search rather than a pass over the index
+        int[] replaced = new int[batch.size()];
+        int replacedSize = 0;
+        Entry[] added = new Entry[batch.size()];
+        int addedSize = 0;
+        for (Map.Entry<Long, Double> entry : batch.entrySet()) {
+            long id = entry.getKey();
+            Double indexedValue = valueById.remove(id);
+            if (indexedValue != null) replaced[replacedSize++] = position(indexedValue, id);
+            Double value = entry.getValue();
+            if (value != null && !value.isNaN()) {
+                added[addedSize++] = new Entry(value, id);
+                valueById.put(id, value);
+            }
+        }
+        Arrays.sort(replaced, 0, replacedSize);
+        Arrays.sort(added, 0, addedSize, ORDER);
+
+        // close the gaps of the replaced entries, then merge the batch in from the back, each array moves once
+        if (replacedSize > 0) {
+            int kept = replaced[0];
+            for (int i = replaced[0], next = 0; i < size; i++) {
+                if (next < replacedSize && replaced[next] == i) {
+                    next++;
+                } else {
+                    values[kept] = values[i];
+                    ids[kept++] = ids[i];
+                }
+            }
+            size = kept;
+        }
+        ensureCapacity(size + addedSize);
+        int indexed = size - 1;
+        for (int target = size + addedSize - 1, next = addedSize - 1; next >= 0; target--) {
+            if (indexed >= 0 && (values[indexed] > added[next].value
+                    || (values[indexed] == added[next].value && ids[indexed] > added[next].id))) {
+                values[target] = values[indexed];
+                ids[target] = ids[indexed--];
+            } else {
+                values[target] = added[next].value;
+                ids[target] = added[next--].id;
+            }
+        }
+        size += addedSize;
+    }
+
+    private void removeUnlocked(long id) {
+        Double value = valueById.remove(id);
+        if (value == null) return;
+
+        int position = position(value, id);
+        int tail = size - position - 1;
+        System.arraycopy(values, position + 1, values, position, tail);
+        System.arraycopy(ids, position + 1, ids, position, tail);
+        size--;
+    }
+
+    private void clearUnlocked() {
+        valueById.clear();
+        size = 0;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= values.length) return;
+        int newCapacity = Math.max(capacity, values.length + (values.length >> 1));
+        values = Arrays.copyOf(values, newCapacity);
+        ids = Arrays.copyOf(ids, newCapacity);
+    }
+
+    // first position whose (value, id) pair is not lower than the given one
+    private int position(double value, long id) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (values[middle] < value || (values[middle] == value && ids[middle] < id)) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    // first position with values[i] >= value
+    private int lowerBound(double value) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (values[middle] < value) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    // first position with values[i] > value
+    private int upperBound(double value) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (values[middle] <= value) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private List<Long> slice(int from, int to) {
+        if (from >= to) return new ArrayList<>();
+        List<Long> result = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            result.add(ids[i]);
+        }
+        return result;
+    }
+
+    private static final class Entry {
+
+        private final double value;
+        private final long id;
+
+        Entry(double value, long id) {
+            this.value = value;
+            this.id = id;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package org.inql.onlineshop.index;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Maps every three-character substring of a text to the sorted list of ids whose text contains it.
+ * Not thread-safe, callers guard it with their own lock.
+ */
+public class TrigramIndex {
+
+    static final int GRAM_LENGTH = 3;
+
+    private static final long[] NO_IDS = new long[0];
+
+    private final Map<Long, PostingList> postings = new HashMap<>();
+
+    public void add(long id, String text) {
+        for (long gram : grams(text)) {
+            postings.computeIfAbsent(gram, key -> new PostingList()).add(id);
+        }
+    }
+
+    public void remove(long id, String text) {
+        for (long gram : grams(text)) {
+            PostingList postingList = postings.get(gram);
+            if (postingList != null && postingList.remove(id) && postingList.size == 0) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    public void clear() {
+        postings.clear();
+    }
+
+    public int gramCount() {
+        return postings.size();
+    }
+
+    /**
+     * Ids of all texts that contain every trigram of the keyword, sorted ascending. Candidates still have to
+     * be verified against the keyword. Returns {@code null} when the keyword is too short to be filtered.
+     */
+    public long[] candidates(String keyword) {
+        long[] grams = grams(keyword);
+        if (grams.length == 0) return null;
+
+        PostingList[] lists = new PostingList[grams.length];
+        for (int i = 0; i < grams.length; i++) {
+            lists[i] = postings.get(grams[i]);
+            if (lists[i] == null) return NO_IDS;
+        }
+        Arrays.sort(lists, (first, second) -> Integer.compare(first.size, second.size));
+
+        long[] result = Arrays.copyOf(lists[0].ids, lists[0].size);
+        int resultSize = result.length;
+        for (int i = 1; i < lists.length && resultSize > 0; i++) {
+            resultSize = intersect(result, resultSize, lists[i]);
+        }
+        return resultSize == result.length ? result : Arrays.copyOf(result, resultSize);
+    }
+
+    // keeps in result only ids present in the posting list, returns the new result size
+    private static int intersect(long[] result, int resultSize, PostingList postingList) {
+        int kept = 0;
+        int j = 0;
+        for (int i = 0; i < resultSize && j < postingList.size; i++) {
+            long id = result[i];
+            while (j < postingList.size && postingList.ids[j] < id) j++;
+            if (j < postingList.size && postingList.ids[j] == id) result[kept++] = id;
+        }
+        return kept;
+    }
+
+    // distinct trigrams of the text, each packed into a long as three 16-bit chars
+    static long[] grams(String text) {
+        if (text == null || text.length() < GRAM_LENGTH) return NO_IDS;
+        long[] grams = new long[text.length() - GRAM_LENGTH + 1];
+        for (int i = 0; i < grams.length; i++) {
+            grams[i] = ((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2);
+        }
+        Arrays.sort(grams);
+        int distinct = 1;
+        for (int i = 1; i < grams.length; i++) {
+            if (grams[i] != grams[distinct - 1]) grams[distinct++] = grams[i];
+        }
+        return distinct == grams.length ? grams : Arrays.copyOf(grams, distinct);
+    }
+
+    private static final class PostingList {
+
+        private long[] ids = new long[4];
+        private int size;
+
+        void add(long id) {
+            int position = size > 0 && ids[size - 1] < id ? size : Arrays.binarySearch(ids, 0, size, id);
+            if (position < 0) {
+                position = -position - 1;
+            } else if (position < size) {
+                return;
+            }
+            if (size == ids.length) ids = Arrays.copyOf(ids, size + (size >> 1) + 1);
+            System.arraycopy(ids, position, ids, position + 1, size - position);
+            ids[position] = id;
+            size++;
+        }
+
+        boolean remove(long id) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position < 0) return false;
+            System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+            size--;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package org.inql.onlineshop.metrics;
+
+import io.micrometer.core.instrument.Clock;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import javassist.NotFoundException;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Per method meters of one component: a timer named {@code name}, a summary of returned collection sizes named
+ * {@code name.results} and a counter of misses named {@code name.not.found}, a thrown {@link NotFoundException} or
+ * a returned empty {@link Optional}, all tagged with the component class and the method. Meters are registered on
+ * the first call and then only looked up, so a call costs two clock reads and a map read on top of the method itself.
+ */
+public final class MethodMetrics {
+
+    public static final String CLASS_TAG = "class";
+    public static final String METHOD_TAG = "method";
+
+    private final MeterRegistry registry;
+    private final Clock clock;
+    private final String name;
+    private final Class<?> type;
+    private final ConcurrentMap<Method, Meters> meters = new ConcurrentHashMap<>();
+
+    public MethodMetrics(MeterRegistry registry, String name, Class<?> type) {
+        this.registry = registry;
+        this.clock = registry.config().clock();
+        this.name = name;
+        this.type = type;
+    }
+
+    public Object record(Method method, Invocation invocation) throws Throwable {
+        Meters methodMeters = meters.get(method);
+        if (methodMeters == null) {
+            methodMeters = meters.computeIfAbsent(method, this::register);
+        }
+        long start = clock.monotonicTime();
+        try {
+            Object result = invocation.proceed();
+            if (result instanceof Collection) {
+                methodMeters.results.record(((Collection<?>) result).size());
+            } else if (result instanceof Optional && !((Optional<?>) result).isPresent()) {
+                methodMeters.notFound.increment();
+            }
+            return result;
+        } catch (NotFoundException e) {
+            methodMeters.notFound.increment();
+            throw e;
+        } finally {
+            methodMeters.timer.record(clock.monotonicTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Meters register(Method method) {
+        Tags tags = Tags.of(CLASS_TAG, type.getSimpleName(), METHOD_TAG, methodTag(method));
+        return new Meters(
+                Timer.builder(name).tags(tags).register(registry),
+                DistributionSummary.builder(name + ".results").baseUnit("rows").tags(tags).register(registry),
+                Counter.builder(name + ".not.found").tags(tags).register(registry));
+    }
+
+    /**
+     * The method name, with the parameter types appended when {@code type} declares or inherits overloads of it.
+     */
+    String methodTag(Method method) {
+        long overloads = Arrays.stream(type.getMethods()).filter(other -> other.getName().equals(method.getName())).count();
+        if (overloads <= 1) {
+            return method.getName();
+        }
+        return Arrays.stream(method.getParameterTypes()).map(Class::getSimpleName)
+                .collect(Collectors.joining(",", method.getName() + "(", ")"));
+    }
+
+    @FunctionalInterface
+    public interface Invocation {
+        Object proceed() throws Throwable;
+    }
+
+    private static final class Meters {
+
+        private final Timer timer;
+        private final DistributionSummary results;
+        private final Counter notFound;
+
+        Meters(Timer timer, DistributionSummary results, Counter notFound) {
+            this.timer = timer;
+            this.results = results;
+            this.notFound = notFound;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package org.inql.onlineshop.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.Advised;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+
+/**
+ * Adds an interceptor recording {@link MethodMetrics} named {@value #REPOSITORY_METRIC} in front of every
+ * Spring Data repository proxy, so the time includes the transaction and exception translation advice.
+ */
+@Component
+public class RepositoryMetrics implements BeanPostProcessor {
+
+    public static final String REPOSITORY_METRIC = "onlineshop.repository";
+
+    private final ObjectProvider<MeterRegistry> registry;
+
+    public RepositoryMetrics(ObjectProvider<MeterRegistry> registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof Repository && bean instanceof Advised) {
+            Advised repository = (Advised) bean;
+            MethodMetrics metrics = new MethodMetrics(registry.getObject(), REPOSITORY_METRIC, repositoryInterface(repository));
+            repository.addAdvice(0, (MethodInterceptor) invocation -> metrics.record(invocation.getMethod(), invocation::proceed));
+        }
+        return bean;
+    }
+
+    private static Class<?> repositoryInterface(Advised repository) {
+        return Arrays.stream(repository.getProxiedInterfaces())
+                .filter(Repository.class::isAssignableFrom)
+                .filter(type -> !type.getName().startsWith("org.springframework."))
+                .findFirst()
+                .orElse(Repository.class);
+    }
+}
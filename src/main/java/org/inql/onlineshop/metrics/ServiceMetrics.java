@@ -0,0 +1,36 @@
+package org.inql.onlineshop.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+/**
+ * Wraps a service in a proxy that records {@link MethodMetrics} named {@value #SERVICE_METRIC} for every
+ * method of its interface.
+ */
+public final class ServiceMetrics {
+
+    public static final String SERVICE_METRIC = "onlineshop.service";
+
+    private ServiceMetrics() {
+    }
+
+    public static <S> S instrument(Class<S> serviceType, S service, MeterRegistry registry) {
+        MethodMetrics metrics = new MethodMetrics(registry, SERVICE_METRIC, serviceType);
+        Object proxy = Proxy.newProxyInstance(serviceType.getClassLoader(), new Class<?>[]{serviceType},
+                (instance, method, args) -> method.getDeclaringClass() == Object.class
+                        ? invoke(service, method, args)
+                        : metrics.record(method, () -> invoke(service, method, args)));
+        return serviceType.cast(proxy);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
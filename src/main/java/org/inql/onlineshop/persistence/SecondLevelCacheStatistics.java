@@ -0,0 +1,71 @@
+package org.inql.onlineshop.persistence;
+
+import lombok.Getter;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Per-region hit/miss counters of the Hibernate second-level cache.
+ */
+@Component
+public class SecondLevelCacheStatistics {
+
+    private final Statistics statistics;
+
+    public SecondLevelCacheStatistics(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    public Map<String, RegionStatistics> regions() {
+        Map<String, RegionStatistics> regions = new TreeMap<>();
+        for (String regionName : statistics.getSecondLevelCacheRegionNames()) {
+            regions.put(regionName, region(regionName));
+        }
+        return regions;
+    }
+
+    public RegionStatistics region(String regionName) {
+        CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(regionName);
+        if (regionStatistics == null) {
+            return new RegionStatistics(0, 0, 0, 0);
+        }
+        return new RegionStatistics(regionStatistics.getHitCount(), regionStatistics.getMissCount(),
+                regionStatistics.getPutCount(), regionStatistics.getElementCountInMemory());
+    }
+
+    public void clear() {
+        statistics.clear();
+    }
+
+    @Getter
+    public static final class RegionStatistics {
+
+        private final long hitCount;
+        private final long missCount;
+        private final long putCount;
+        private final long elementCount;
+
+        RegionStatistics(long hitCount, long missCount, long putCount, long elementCount) {
+            this.hitCount = hitCount;
+            this.missCount = missCount;
+            this.putCount = putCount;
+            this.elementCount = elementCount;
+        }
+
+        public double getHitRatio() {
+            long requests = hitCount + missCount;
+            return requests == 0 ? 0D : (double) hitCount / requests;
+        }
+
+        @Override
+        public String toString() {
+            return "hits=" + hitCount + ", misses=" + missCount + ", puts=" + putCount + ", elements=" + elementCount;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package org.inql.onlineshop.persistence;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Upper bound of SQL statements a service method may issue, checked by {@link StatementBudgets}.
+ * Statements served from the second-level cache are not issued, so the budget is the cold cache worst case.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface StatementBudget {
+
+    /**
+     * Elements per batch, the JDBC batch size and the allocation size of the entity sequences.
+     */
+    int BATCH = 50;
+
+    /**
+     * Statements allowed for any call.
+     */
+    int value();
+
+    /**
+     * Statements allowed on top of {@link #value()} for every started {@link #BATCH} of elements of the first
+     * collection argument, for methods that write or look up their arguments in batches.
+     */
+    int perBatch() default 0;
+}
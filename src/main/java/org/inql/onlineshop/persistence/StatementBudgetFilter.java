@@ -0,0 +1,36 @@
+package org.inql.onlineshop.persistence;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Applies {@code onlineshop.sql.request-budget} to the statements issued while handling one HTTP request.
+ */
+@Component
+public class StatementBudgetFilter extends OncePerRequestFilter {
+
+    private final long requestBudget;
+    private final boolean failOnViolation;
+
+    public StatementBudgetFilter(@Value("${onlineshop.sql.request-budget:50}") long requestBudget,
+                                 @Value("${onlineshop.sql.fail-on-budget-violation:false}") boolean failOnViolation) {
+        this.requestBudget = requestBudget;
+        this.failOnViolation = failOnViolation;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long start = StatementCounter.count();
+        filterChain.doFilter(request, response);
+        StatementBudgets.check(request.getMethod() + " " + request.getRequestURI(), StatementCounter.count() - start,
+                requestBudget, failOnViolation);
+    }
+}
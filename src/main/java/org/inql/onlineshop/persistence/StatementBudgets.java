@@ -0,0 +1,87 @@
+package org.inql.onlineshop.persistence;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Wraps a service in a proxy that compares the statements counted by {@link StatementCounter} during each call
+ * of a method annotated with {@link StatementBudget} against its budget. A call over budget, typically an N+1
+ * select, is logged as a warning, or fails with an {@link IllegalStateException} when {@code failOnViolation} is set.
+ */
+public final class StatementBudgets {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StatementBudgets.class);
+
+    private StatementBudgets() {
+    }
+
+    public static <S> S enforce(Class<S> serviceType, S service, boolean failOnViolation) {
+        Map<Method, StatementBudget> budgets = new HashMap<>();
+        for (Method method : serviceType.getMethods()) {
+            StatementBudget budget = budgetOf(service.getClass(), method);
+            if (budget != null) {
+                budgets.put(method, budget);
+            }
+        }
+        Object proxy = Proxy.newProxyInstance(serviceType.getClassLoader(), new Class<?>[]{serviceType},
+                (instance, method, args) -> {
+                    StatementBudget budget = budgets.get(method);
+                    if (budget == null) {
+                        return invoke(service, method, args);
+                    }
+                    long start = StatementCounter.count();
+                    Object result = invoke(service, method, args);
+                    check(serviceType.getSimpleName() + "." + method.getName(), StatementCounter.count() - start,
+                            allowed(budget, args), failOnViolation);
+                    return result;
+                });
+        return serviceType.cast(proxy);
+    }
+
+    static void check(String operation, long statements, long allowed, boolean failOnViolation) {
+        if (statements <= allowed) {
+            return;
+        }
+        String message = operation + " issued " + statements + " SQL statements, its budget is " + allowed;
+        if (failOnViolation) {
+            throw new IllegalStateException(message);
+        }
+        LOGGER.warn(message);
+    }
+
+    static long allowed(StatementBudget budget, Object[] args) {
+        if (budget.perBatch() == 0 || args == null) {
+            return budget.value();
+        }
+        for (Object arg : args) {
+            if (arg instanceof Collection) {
+                long batches = (((Collection<?>) arg).size() + StatementBudget.BATCH - 1) / StatementBudget.BATCH;
+                return budget.value() + batches * budget.perBatch();
+            }
+        }
+        return budget.value() + budget.perBatch();
+    }
+
+    private static StatementBudget budgetOf(Class<?> implementation, Method method) {
+        try {
+            return implementation.getMethod(method.getName(), method.getParameterTypes()).getAnnotation(StatementBudget.class);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package org.inql.onlineshop.persistence;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on each thread. A JDBC batch is prepared once, however many rows
+ * it carries. Registered through {@code hibernate.session_factory.statement_inspector}.
+ */
+public class StatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<long[]> STATEMENTS = ThreadLocal.withInitial(() -> new long[1]);
+
+    /**
+     * Statements prepared by the current thread so far, only differences between two reads are meaningful.
+     */
+    public static long count() {
+        return STATEMENTS.get()[0];
+    }
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.get()[0]++;
+        return sql;
+    }
+}
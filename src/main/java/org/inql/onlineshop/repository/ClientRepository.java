@@ -1,16 +1,48 @@
 package org.inql.onlineshop.repository;
 
 import org.inql.onlineshop.domain.Client;
+import org.inql.onlineshop.domain.ClientView;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.QueryHint;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
-public interface ClientRepository extends CrudRepository<Client, Long> {
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
+
+public interface ClientRepository extends CrudRepository<Client, Long>, ClientRepositoryCustom {
     Optional<Client> findClientByEmail(String email);
     Set<Client> findClientsByName(String name);
     Set<Client> findClientsBySurname(String surname);
     Set<Client> findClientsByNameContaining(String keyword);
     Set<Client> findClientsBySurnameContaining(String keyword);
     Set<Client> findClientsByEmailContaining(String keyword);
+    List<Client> findClientsByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+    /**
+     * Name, surname and email folded the way {@code ClientSearchIndex.fold} folds them, {@code letters} translated
+     * to {@code plainLetters} and lower-cased, then matched against an already folded, backslash-escaped pattern.
+     */
+    @Query("select c from Client c where lower(function('TRANSLATE', c.name, :letters, :plainLetters)) like :pattern escape '\\'"
+            + " or lower(function('TRANSLATE', c.surname, :letters, :plainLetters)) like :pattern escape '\\'"
+            + " or lower(function('TRANSLATE', c.email, :letters, :plainLetters)) like :pattern escape '\\'")
+    Set<Client> findClientsByFoldedPattern(@Param("pattern") String pattern, @Param("letters") String letters,
+                                           @Param("plainLetters") String plainLetters);
+    @Transactional(readOnly = true)
+    @QueryHints(@QueryHint(name = HINT_READONLY, value = "true"))
+    List<ClientView> findClientViewsBy();
+    @Transactional(readOnly = true)
+    @QueryHints(@QueryHint(name = HINT_READONLY, value = "true"))
+    List<ClientView> findClientViewsByName(String name);
+    @Transactional(readOnly = true)
+    @QueryHints(@QueryHint(name = HINT_READONLY, value = "true"))
+    List<ClientView> findClientViewsBySurname(String surname);
+    @Transactional(readOnly = true)
+    @QueryHints(@QueryHint(name = HINT_READONLY, value = "true"))
+    List<ClientView> findClientViewsByNameContaining(String keyword);
 }
@@ -0,0 +1,9 @@
+package org.inql.onlineshop.repository;
+
+import org.inql.onlineshop.domain.Client;
+
+import java.util.stream.Stream;
+
+public interface ClientRepositoryCustom {
+    Stream<Client> streamAll(int fetchSize);
+}
@@ -0,0 +1,18 @@
+package org.inql.onlineshop.repository;
+
+import org.inql.onlineshop.domain.Client;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.stream.Stream;
+
+public class ClientRepositoryCustomImpl implements ClientRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Stream<Client> streamAll(int fetchSize) {
+        return CursorStreams.stream(entityManager, "select c from Client c order by c.id", Client.class, fetchSize);
+    }
+}
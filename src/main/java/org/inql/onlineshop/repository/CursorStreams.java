@@ -0,0 +1,74 @@
+package org.inql.onlineshop.repository;
+
+import org.hibernate.CacheMode;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.EntityManager;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Streams query results from a forward-only server-side cursor. The persistence context is flushed and
+ * cleared after every {@code fetchSize} rows, so heap usage does not grow with the size of the table.
+ * Queries selecting several values are streamed as {@code Object[]} rows.
+ */
+final class CursorStreams {
+
+    private CursorStreams() {
+    }
+
+    static <T> Stream<T> stream(EntityManager entityManager, String query, Class<T> type, int fetchSize) {
+        if (fetchSize <= 0) {
+            throw new IllegalArgumentException("Fetch size must be positive");
+        }
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new InvalidDataAccessApiUsageException("Streaming " + type.getSimpleName()
+                    + " requires a surrounding transaction, the stream is backed by an open cursor");
+        }
+        Session session = entityManager.unwrap(Session.class);
+        ScrollableResults results = session.createQuery(query, type)
+                .setFetchSize(fetchSize)
+                .setCacheMode(CacheMode.IGNORE)
+                .scroll(ScrollMode.FORWARD_ONLY);
+        return StreamSupport.stream(new CursorSpliterator<>(session, results, type, fetchSize), false)
+                .onClose(results::close);
+    }
+
+    private static final class CursorSpliterator<T> extends Spliterators.AbstractSpliterator<T> {
+
+        private final Session session;
+        private final ScrollableResults results;
+        private final Class<T> type;
+        private final int clearEvery;
+        private long rows;
+
+        CursorSpliterator(Session session, ScrollableResults results, Class<T> type, int clearEvery) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.session = session;
+            this.results = results;
+            this.type = type;
+            this.clearEvery = clearEvery;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (rows > 0 && rows % clearEvery == 0) {
+                session.flush();
+                session.clear();
+            }
+            if (!results.next()) {
+                return false;
+            }
+            rows++;
+            action.accept(type.cast(type == Object[].class ? results.get() : results.get(0)));
+            return true;
+        }
+    }
+}
@@ -1,13 +1,25 @@
 package org.inql.onlineshop.repository;
 
 import org.inql.onlineshop.domain.Item;
+import org.inql.onlineshop.domain.ItemView;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.QueryHint;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
-public interface ItemRepository extends CrudRepository<Item, Long> {
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
+public interface ItemRepository extends CrudRepository<Item, Long>, ItemRepositoryCustom {
+
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     Optional<Item> findItemByName(String name);
     Set<Item> findItemsByNameContaining(String keyword);
     Set<Item> findItemsByValue(Double value);
@@ -16,6 +28,18 @@ public interface ItemRepository extends CrudRepository<Item, Long> {
     Set<Item> findItemsByValueLessThan(Double value);
     Set<Item> findItemsByValueGreaterThanEqual(Double value);
     Set<Item> findItemsByValueGreaterThan(Double value);
-
-
+    List<Item> findItemsByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+    List<Item> findItemsByOrderByValueAscIdAsc(Pageable pageable);
+    List<Item> findItemsByOrderByValueDescIdDesc(Pageable pageable);
+    @Query("select i from Item i where i.value >= :value and (i.value > :value or i.id > :id) order by i.value asc, i.id asc")
+    List<Item> findItemsAfterValue(@Param("value") Double value, @Param("id") Long id, Pageable pageable);
+    @Transactional(readOnly = true)
+    @QueryHints(@QueryHint(name = HINT_READONLY, value = "true"))
+    List<ItemView> findItemViewsBy();
+    @Transactional(readOnly = true)
+    @QueryHints(@QueryHint(name = HINT_READONLY, value = "true"))
+    List<ItemView> findItemViewsByNameContaining(String keyword);
+    @Transactional(readOnly = true)
+    @QueryHints(@QueryHint(name = HINT_READONLY, value = "true"))
+    List<ItemView> findItemViewsByValueBetween(Double lower, Double upper);
 }
@@ -0,0 +1,12 @@
+package org.inql.onlineshop.repository;
+
+import org.inql.onlineshop.domain.Item;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface ItemRepositoryCustom {
+    Stream<Item> streamAll(int fetchSize);
+    List<Item> findTop(Comparator<? super Item> comparator, int limit);
+}
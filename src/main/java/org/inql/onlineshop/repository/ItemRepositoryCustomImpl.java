@@ -0,0 +1,33 @@
+package org.inql.onlineshop.repository;
+
+import org.inql.onlineshop.domain.Item;
+
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+public class ItemRepositoryCustomImpl implements ItemRepositoryCustom {
+
+    private static final int TOP_FETCH_SIZE = 1000;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Stream<Item> streamAll(int fetchSize) {
+        return CursorStreams.stream(entityManager, "select i from Item i order by i.id", Item.class, fetchSize);
+    }
+
+    /**
+     * Top items by an order the database cannot sort by, from a single pass over a cursor.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<Item> findTop(Comparator<? super Item> comparator, int limit) {
+        return TopN.of(streamAll(TOP_FETCH_SIZE), comparator, limit);
+    }
+}
@@ -2,14 +2,74 @@ package org.inql.onlineshop.repository;
 
 import org.inql.onlineshop.domain.Item;
 import org.inql.onlineshop.domain.Order;
+import org.inql.onlineshop.domain.OrderView;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.QueryHint;
+import java.util.List;
 import java.util.Set;
 
-public interface OrderRepository extends CrudRepository<Order,Long> {
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
-    Set<Order> findOrdersByClient_Id(Long id);
-    Set<Order> findOrdersByClient_Email(String email);
-    Set<Order> findOrdersByItemsContains(Item item);
+public interface OrderRepository extends CrudRepository<Order,Long>, OrderRepositoryCustom {
 
+    String BY_CLIENT_ID = "select o from Order o where o.client.id = :id";
+    String BY_CLIENT_EMAIL = "select o from Order o where o.client.id = (select c.id from Client c where c.email = :email)";
+    // o.client.id reads the client_id column, it does not join the client
+    String VIEWS = "select new org.inql.onlineshop.domain.OrderView(o.id, o.client.id, o.total, o.itemCount) from Order o";
+
+    // explicit queries: the derived ones outer join the client and filter on its columns, which keeps
+    // the database from starting at the client_id index of db_order
+    @Query(BY_CLIENT_ID)
+    Set<Order> findOrdersByClient_Id(@Param("id") Long id);
+    @Query(BY_CLIENT_EMAIL)
+    Set<Order> findOrdersByClient_Email(@Param("email") String email);
+    @EntityGraph(Order.SUMMARY_GRAPH)
+    @Query(BY_CLIENT_ID)
+    Set<Order> findOrderSummariesByClient_Id(@Param("id") Long id);
+    @EntityGraph(Order.SUMMARY_GRAPH)
+    @Query(BY_CLIENT_EMAIL)
+    Set<Order> findOrderSummariesByClient_Email(@Param("email") String email);
+    @EntityGraph(Order.WITH_ITEMS_GRAPH)
+    @Query(BY_CLIENT_ID)
+    Set<Order> findOrdersWithItemsByClient_Id(@Param("id") Long id);
+    @EntityGraph(Order.WITH_ITEMS_GRAPH)
+    @Query(BY_CLIENT_EMAIL)
+    Set<Order> findOrdersWithItemsByClient_Email(@Param("email") String email);
+    @Query("select distinct o from Order o join o.lines l where l.item = :item")
+    Set<Order> findOrdersByItemsContains(@Param("item") Item item);
+    List<Order> findOrdersByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+    @Query("select coalesce(sum(l.quantity * l.unitPrice), 0) from OrderLine l where l.order.id = :id")
+    Double sumItemValuesByOrderId(@Param("id") Long id);
+    @Query("select o.total from Order o where o.id = :id")
+    Double findTotalById(@Param("id") Long id);
+    // largest first, ordered like idx_order_total, so a page is read straight off the index
+    @Query("select o from Order o where o.total > :total order by o.total desc, o.id desc")
+    List<Order> findOrdersByTotalGreaterThan(@Param("total") Double total, Pageable pageable);
+    @Query("select o from Order o where o.total between :min and :max order by o.total desc, o.id desc")
+    List<Order> findOrdersByTotalBetween(@Param("min") Double min, @Param("max") Double max, Pageable pageable);
+    List<Order> findOrdersByOrderByTotalDescIdDesc(Pageable pageable);
+    // id, stored total, stored item count, total and item count computed from the lines
+    @Query("select o.id, o.total, o.itemCount, coalesce(sum(l.quantity * l.unitPrice), 0), coalesce(sum(l.quantity), 0) "
+            + "from Order o left join o.lines l where o.id > :id group by o.id, o.total, o.itemCount order by o.id")
+    List<Object[]> findOrderTotalsByIdGreaterThan(@Param("id") Long id, Pageable pageable);
+    // the client id is read off the foreign key and the stored total and item count stand in for the lines, so no join
+    @Transactional(readOnly = true)
+    @QueryHints(@QueryHint(name = HINT_READONLY, value = "true"))
+    @Query(VIEWS)
+    List<OrderView> findOrderViews();
+    @Transactional(readOnly = true)
+    @QueryHints(@QueryHint(name = HINT_READONLY, value = "true"))
+    @Query(VIEWS + " where o.client.id = :id")
+    List<OrderView> findOrderViewsByClient_Id(@Param("id") Long id);
+    @Transactional(readOnly = true)
+    @QueryHints(@QueryHint(name = HINT_READONLY, value = "true"))
+    @Query(VIEWS + " where o.client.id = (select c.id from Client c where c.email = :email)")
+    List<OrderView> findOrderViewsByClient_Email(@Param("email") String email);
 }
@@ -0,0 +1,23 @@
+package org.inql.onlineshop.repository;
+
+import org.inql.onlineshop.domain.ClientRevenues;
+import org.inql.onlineshop.domain.Order;
+import org.inql.onlineshop.domain.OrderExport;
+import org.inql.onlineshop.domain.OrderSnapshot;
+import org.inql.onlineshop.domain.OrderTotals;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface OrderRepositoryCustom {
+    Stream<Order> streamAll(int fetchSize);
+    OrderTotals sumItemValuesByOrderIds(Collection<Long> orderIds);
+    Stream<OrderExport> streamOrderExports(int fetchSize);
+    OrderTotals findTotalsByOrderIds(Collection<Long> orderIds);
+    int recomputeTotals(Collection<Long> orderIds);
+    List<Order> findTop(Comparator<? super Order> comparator, int limit);
+    ClientRevenues sumTotalsByClient();
+    OrderSnapshot loadSnapshot(int fetchSize);
+}
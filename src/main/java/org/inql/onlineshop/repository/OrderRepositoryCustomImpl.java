@@ -0,0 +1,231 @@
+package org.inql.onlineshop.repository;
+
+import org.hibernate.query.NativeQuery;
+import org.inql.onlineshop.domain.ClientRevenues;
+import org.inql.onlineshop.domain.Order;
+import org.inql.onlineshop.domain.OrderExport;
+import org.inql.onlineshop.domain.OrderSnapshot;
+import org.inql.onlineshop.domain.OrderTotals;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+public class OrderRepositoryCustomImpl implements OrderRepositoryCustom {
+
+    // keeps IN lists below the limits of databases such as Oracle
+    private static final int IN_CLAUSE_CHUNK = 1000;
+    private static final int TOP_FETCH_SIZE = 1000;
+    private static final int INITIAL_ROWS = 1024;
+    private static final int REVENUE_FETCH_SIZE = 1000;
+    // one row per client, orders joined through idx_order_client and summed from their stored totals
+    private static final String CLIENT_REVENUE_ROWS = "select c.id, coalesce(sum(o.total), 0), count(o.id) "
+            + "from Client c left join Order o on o.client = c group by c.id order by c.id";
+    // scalar rows, one per line or one with null line columns for an order without lines, grouped by order
+    private static final String ORDER_EXPORT_ROWS = "select o.id, o.client.id, o.total, o.itemCount, l.item.id, l.quantity "
+            + "from Order o left join o.lines l order by o.id, l.id";
+    private static final String RECOMPUTE_TOTALS = "update db_order set "
+            + "total = coalesce((select round(sum(l.quantity * l.unit_price), 2) from db_order_line l where l.order_id = db_order.id), 0), "
+            + "item_count = coalesce((select sum(l.quantity) from db_order_line l where l.order_id = db_order.id), 0) "
+            + "where id in (:ids)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Stream<Order> streamAll(int fetchSize) {
+        return CursorStreams.stream(entityManager, "select o from Order o order by o.id", Order.class, fetchSize);
+    }
+
+    /**
+     * Top orders by an order the database cannot sort by, from a single pass over a cursor.
+     * The persistence context is cleared while streaming, so the lines of an order can only be read if the
+     * comparator loaded them.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<Order> findTop(Comparator<? super Order> comparator, int limit) {
+        return TopN.of(streamAll(TOP_FETCH_SIZE), comparator, limit);
+    }
+
+    /**
+     * Lifetime value and order count of every client in a single grouped query, read from a cursor.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public ClientRevenues sumTotalsByClient() {
+        long[] clientIds = new long[INITIAL_ROWS];
+        double[] lifetimeValues = new double[INITIAL_ROWS];
+        int[] orderCounts = new int[INITIAL_ROWS];
+        int size = 0;
+        try (Stream<Object[]> rows = CursorStreams.stream(entityManager, CLIENT_REVENUE_ROWS, Object[].class, REVENUE_FETCH_SIZE)) {
+            for (Iterator<Object[]> iterator = rows.iterator(); iterator.hasNext(); size++) {
+                Object[] row = iterator.next();
+                if (size == clientIds.length) {
+                    clientIds = Arrays.copyOf(clientIds, size * 2);
+                    lifetimeValues = Arrays.copyOf(lifetimeValues, size * 2);
+                    orderCounts = Arrays.copyOf(orderCounts, size * 2);
+                }
+                clientIds[size] = (Long) row[0];
+                lifetimeValues[size] = ((Number) row[1]).doubleValue();
+                orderCounts[size] = ((Number) row[2]).intValue();
+            }
+        }
+        return new ClientRevenues(Arrays.copyOf(clientIds, size), Arrays.copyOf(lifetimeValues, size), Arrays.copyOf(orderCounts, size));
+    }
+
+    /**
+     * Copies the client and total of every order into primitive arrays, 16 bytes per order, from two cursors.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public OrderSnapshot loadSnapshot(int fetchSize) {
+        long[] clientIds = new long[INITIAL_ROWS];
+        int clients = 0;
+        try (Stream<Long> rows = CursorStreams.stream(entityManager, "select c.id from Client c order by c.id", Long.class, fetchSize)) {
+            for (Iterator<Long> iterator = rows.iterator(); iterator.hasNext(); clients++) {
+                if (clients == clientIds.length) {
+                    clientIds = Arrays.copyOf(clientIds, clients * 2);
+                }
+                clientIds[clients] = iterator.next();
+            }
+        }
+        long[] orderClientIds = new long[INITIAL_ROWS];
+        double[] orderTotals = new double[INITIAL_ROWS];
+        int orders = 0;
+        try (Stream<Object[]> rows = CursorStreams.stream(entityManager,
+                "select o.client.id, o.total from Order o where o.client is not null", Object[].class, fetchSize)) {
+            for (Iterator<Object[]> iterator = rows.iterator(); iterator.hasNext(); orders++) {
+                Object[] row = iterator.next();
+                if (orders == orderClientIds.length) {
+                    orderClientIds = Arrays.copyOf(orderClientIds, orders * 2);
+                    orderTotals = Arrays.copyOf(orderTotals, orders * 2);
+                }
+                orderClientIds[orders] = (Long) row[0];
+                orderTotals[orders] = ((Number) row[1]).doubleValue();
+            }
+        }
+        return new OrderSnapshot(Arrays.copyOf(clientIds, clients), Arrays.copyOf(orderClientIds, orders), Arrays.copyOf(orderTotals, orders));
+    }
+
+    @Override
+    public OrderTotals sumItemValuesByOrderIds(Collection<Long> orderIds) {
+        return totalsByOrderIds(orderIds, "select l.order.id, sum(l.quantity * l.unitPrice) from OrderLine l "
+                + "where l.order.id in :ids group by l.order.id");
+    }
+
+    @Override
+    public OrderTotals findTotalsByOrderIds(Collection<Long> orderIds) {
+        return totalsByOrderIds(orderIds, "select o.id, o.total from Order o where o.id in :ids");
+    }
+
+    private OrderTotals totalsByOrderIds(Collection<Long> orderIds, String query) {
+        long[] ids = sortedDistinct(orderIds);
+        if (ids.length == 0) {
+            return OrderTotals.empty();
+        }
+        double[] totals = new double[ids.length];
+        for (int from = 0; from < ids.length; from += IN_CLAUSE_CHUNK) {
+            int to = Math.min(ids.length, from + IN_CLAUSE_CHUNK);
+            List<Object[]> rows = entityManager.createQuery(query, Object[].class)
+                    .setParameter("ids", chunk(ids, from, to))
+                    .getResultList();
+            for (Object[] row : rows) {
+                totals[Arrays.binarySearch(ids, from, to, (Long) row[0])] = ((Number) row[1]).doubleValue();
+            }
+        }
+        return new OrderTotals(ids, totals);
+    }
+
+    /**
+     * Sets the total and item count of the orders to the values computed from their lines, in a single
+     * statement per chunk of ids. Orders of the persistence context are flushed first, as for any native query.
+     */
+    @Override
+    @Transactional
+    public int recomputeTotals(Collection<Long> orderIds) {
+        long[] ids = sortedDistinct(orderIds);
+        int updated = 0;
+        for (int from = 0; from < ids.length; from += IN_CLAUSE_CHUNK) {
+            updated += entityManager.createNativeQuery(RECOMPUTE_TOTALS)
+                    .setParameter("ids", chunk(ids, from, Math.min(ids.length, from + IN_CLAUSE_CHUNK)))
+                    .unwrap(NativeQuery.class)
+                    .addSynchronizedEntityClass(Order.class)
+                    .executeUpdate();
+        }
+        return updated;
+    }
+
+    private static long[] sortedDistinct(Collection<Long> orderIds) {
+        return orderIds.stream().filter(Objects::nonNull).mapToLong(Long::longValue).sorted().distinct().toArray();
+    }
+
+    private static List<Long> chunk(long[] ids, int from, int to) {
+        List<Long> chunk = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            chunk.add(ids[i]);
+        }
+        return chunk;
+    }
+
+    @Override
+    public Stream<OrderExport> streamOrderExports(int fetchSize) {
+        Stream<Object[]> rows = CursorStreams.stream(entityManager, ORDER_EXPORT_ROWS, Object[].class, fetchSize);
+        return StreamSupport.stream(new OrderExportSpliterator(rows.iterator()), false).onClose(rows::close);
+    }
+
+    /**
+     * Folds the consecutive rows of one order into an {@link OrderExport}, holding a single order at a time.
+     */
+    private static final class OrderExportSpliterator extends Spliterators.AbstractSpliterator<OrderExport> {
+
+        private final Iterator<Object[]> rows;
+        private Object[] next;
+
+        OrderExportSpliterator(Iterator<Object[]> rows) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.rows = rows;
+            this.next = rows.hasNext() ? rows.next() : null;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super OrderExport> action) {
+            if (next == null) {
+                return false;
+            }
+            Object[] first = next;
+            long orderId = (Long) first[0];
+            long[] itemIds = new long[4];
+            int[] quantities = new int[4];
+            int lines = 0;
+            Object[] row = first;
+            while (row != null && (Long) row[0] == orderId) {
+                if (row[4] != null) {
+                    if (lines == itemIds.length) {
+                        itemIds = Arrays.copyOf(itemIds, lines * 2);
+                        quantities = Arrays.copyOf(quantities, lines * 2);
+                    }
+                    itemIds[lines] = (Long) row[4];
+                    quantities[lines++] = ((Number) row[5]).intValue();
+                }
+                row = rows.hasNext() ? rows.next() : null;
+            }
+            next = row;
+            action.accept(new OrderExport(orderId, (Long) first[1], Arrays.copyOf(itemIds, lines), Arrays.copyOf(quantities, lines),
+                    ((Number) first[2]).doubleValue(), ((Number) first[3]).intValue()));
+            return true;
+        }
+    }
+}
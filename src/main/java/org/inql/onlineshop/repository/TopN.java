@@ -0,0 +1,44 @@
+package org.inql.onlineshop.repository;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.stream.Stream;
+
+/**
+ * Keeps the first {@code limit} rows of a stream in a bounded heap whose root is the worst row kept so far,
+ * so finding the top N of a table streamed from a cursor holds N rows rather than the whole table.
+ */
+final class TopN {
+
+    // a huge limit is not preallocated, the heap grows with the rows actually kept
+    private static final int MAX_INITIAL_CAPACITY = 1024;
+
+    private TopN() {
+    }
+
+    /**
+     * Consumes and closes the stream, returning its first {@code limit} rows in the order of the comparator.
+     */
+    static <T> List<T> of(Stream<T> stream, Comparator<? super T> comparator, int limit) {
+        if (limit <= 0) {
+            stream.close();
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+        PriorityQueue<T> heap = new PriorityQueue<>(Math.min(limit, MAX_INITIAL_CAPACITY), comparator.reversed());
+        try (Stream<T> rows = stream) {
+            rows.forEach(row -> {
+                if (heap.size() < limit) {
+                    heap.add(row);
+                } else if (comparator.compare(row, heap.peek()) < 0) {
+                    heap.poll();
+                    heap.add(row);
+                }
+            });
+        }
+        List<T> top = new ArrayList<>(heap);
+        top.sort(comparator);
+        return top;
+    }
+}
@@ -0,0 +1,40 @@
+package org.inql.onlineshop.service;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Runs a blocking service call on an executor, completing the future with its result or with the exception
+ * it threw, checked ones like {@code NotFoundException} included. Errors complete the future as well, so a
+ * caller joining on it never waits for a result that will not come.
+ */
+final class AsyncCalls {
+
+    private AsyncCalls() {
+    }
+
+    static <T> CompletableFuture<T> supply(Executor executor, Callable<T> call) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                try {
+                    future.complete(call.call());
+                } catch (Throwable t) {
+                    future.completeExceptionally(t);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    static CompletableFuture<Void> run(Executor executor, Runnable call) {
+        return supply(executor, () -> {
+            call.run();
+            return null;
+        });
+    }
+}
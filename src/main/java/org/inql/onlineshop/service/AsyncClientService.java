@@ -0,0 +1,41 @@
+package org.inql.onlineshop.service;
+
+import org.inql.onlineshop.domain.Client;
+import org.inql.onlineshop.domain.ClientView;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking counterpart of {@link ClientService}, failures complete the returned future exceptionally.
+ * Streaming stays synchronous, the cursor needs the transaction of the calling thread.
+ * <p>
+ * Calls run in the transaction of a worker thread, which has ended by the time the future completes, so the
+ * entities it returns are detached: lazy associations not loaded by the call throw
+ * {@code LazyInitializationException}. Use the {@link ClientView} methods, or read the orders of a client
+ * through {@link AsyncOrderService}, rather than the lazy {@code orders} of a returned client.
+ */
+public interface AsyncClientService {
+    CompletableFuture<Set<Client>> getClients();
+    CompletableFuture<List<ClientView>> getClientViews();
+    CompletableFuture<List<Client>> getClients(Long afterId, int limit);
+    CompletableFuture<Client> findById(Long l);
+    CompletableFuture<Optional<Client>> lookupById(Long l);
+    CompletableFuture<Iterable<Client>> findAll(Iterable<Long> clients_id);
+    CompletableFuture<Client> findByEmail(String email);
+    CompletableFuture<Optional<Client>> lookupByEmail(String email);
+    CompletableFuture<Set<Client>> findClientsByName(String name);
+    CompletableFuture<List<ClientView>> findClientViewsByName(String name);
+    CompletableFuture<Set<Client>> findClientsBySurname(String surname);
+    CompletableFuture<List<ClientView>> findClientViewsBySurname(String surname);
+    CompletableFuture<Set<Client>> findByNameContaining(String keyword);
+    CompletableFuture<List<ClientView>> findViewsByNameContaining(String keyword);
+    CompletableFuture<Set<Client>> findBySurnameContaining(String keyword);
+    CompletableFuture<Set<Client>> findByEmailContaining(String keyword);
+    CompletableFuture<List<Client>> search(String keyword, int limit);
+    CompletableFuture<Client> save(Client client);
+    CompletableFuture<Iterable<Client>> saveAll(Iterable<Client> clients);
+    CompletableFuture<Void> deleteById(Long idToDelete);
+}
@@ -0,0 +1,121 @@
+package org.inql.onlineshop.service;
+
+import org.inql.onlineshop.domain.Client;
+import org.inql.onlineshop.domain.ClientView;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+public class AsyncClientServiceImpl implements AsyncClientService {
+
+    private final ClientService clientService;
+    private final Executor executor;
+
+    public AsyncClientServiceImpl(ClientService clientService, Executor executor) {
+        this.clientService = clientService;
+        this.executor = executor;
+    }
+
+    @Override
+    public CompletableFuture<Set<Client>> getClients() {
+        return AsyncCalls.supply(executor, clientService::getClients);
+    }
+
+    @Override
+    public CompletableFuture<List<ClientView>> getClientViews() {
+        return AsyncCalls.supply(executor, clientService::getClientViews);
+    }
+
+    @Override
+    public CompletableFuture<List<Client>> getClients(Long afterId, int limit) {
+        return AsyncCalls.supply(executor, () -> clientService.getClients(afterId, limit));
+    }
+
+    @Override
+    public CompletableFuture<Client> findById(Long l) {
+        return AsyncCalls.supply(executor, () -> clientService.findById(l));
+    }
+
+    @Override
+    public CompletableFuture<Optional<Client>> lookupById(Long l) {
+        return AsyncCalls.supply(executor, () -> clientService.lookupById(l));
+    }
+
+    @Override
+    public CompletableFuture<Iterable<Client>> findAll(Iterable<Long> clients_id) {
+        return AsyncCalls.supply(executor, () -> clientService.findAll(clients_id));
+    }
+
+    @Override
+    public CompletableFuture<Client> findByEmail(String email) {
+        return AsyncCalls.supply(executor, () -> clientService.findByEmail(email));
+    }
+
+    @Override
+    public CompletableFuture<Optional<Client>> lookupByEmail(String email) {
+        return AsyncCalls.supply(executor, () -> clientService.lookupByEmail(email));
+    }
+
+    @Override
+    public CompletableFuture<Set<Client>> findClientsByName(String name) {
+        return AsyncCalls.supply(executor, () -> clientService.findClientsByName(name));
+    }
+
+    @Override
+    public CompletableFuture<List<ClientView>> findClientViewsByName(String name) {
+        return AsyncCalls.supply(executor, () -> clientService.findClientViewsByName(name));
+    }
+
+    @Override
+    public CompletableFuture<Set<Client>> findClientsBySurname(String surname) {
+        return AsyncCalls.supply(executor, () -> clientService.findClientsBySurname(surname));
+    }
+
+    @Override
+    public CompletableFuture<List<ClientView>> findClientViewsBySurname(String surname) {
+        return AsyncCalls.supply(executor, () -> clientService.findClientViewsBySurname(surname));
+    }
+
+    @Override
+    public CompletableFuture<Set<Client>> findByNameContaining(String keyword) {
+        return AsyncCalls.supply(executor, () -> clientService.findByNameContaining(keyword));
+    }
+
+    @Override
+    public CompletableFuture<List<ClientView>> findViewsByNameContaining(String keyword) {
+        return AsyncCalls.supply(executor, () -> clientService.findViewsByNameContaining(keyword));
+    }
+
+    @Override
+    public CompletableFuture<Set<Client>> findBySurnameContaining(String keyword) {
+        return AsyncCalls.supply(executor, () -> clientService.findBySurnameContaining(keyword));
+    }
+
+    @Override
+    public CompletableFuture<Set<Client>> findByEmailContaining(String keyword) {
+        return AsyncCalls.supply(executor, () -> clientService.findByEmailContaining(keyword));
+    }
+
+    @Override
+    public CompletableFuture<List<Client>> search(String keyword, int limit) {
+        return AsyncCalls.supply(executor, () -> clientService.search(keyword, limit));
+    }
+
+    @Override
+    public CompletableFuture<Client> save(Client client) {
+        return AsyncCalls.supply(executor, () -> clientService.save(client));
+    }
+
+    @Override
+    public CompletableFuture<Iterable<Client>> saveAll(Iterable<Client> clients) {
+        return AsyncCalls.supply(executor, () -> clientService.saveAll(clients));
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteById(Long idToDelete) {
+        return AsyncCalls.run(executor, () -> clientService.deleteById(idToDelete));
+    }
+}
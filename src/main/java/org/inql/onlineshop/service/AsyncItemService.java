@@ -0,0 +1,43 @@
+package org.inql.onlineshop.service;
+
+import org.inql.onlineshop.domain.Item;
+import org.inql.onlineshop.domain.ItemView;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking counterpart of {@link ItemService}, failures complete the returned future exceptionally.
+ * <p>
+ * Calls run in the transaction of a worker thread, which has ended by the time the future completes, so the
+ * entities it returns are detached: lazy associations not loaded by the call throw
+ * {@code LazyInitializationException}. Items have no associations, so this only means that changes to
+ * a returned item are kept by {@link #save} and not by a flush.
+ */
+public interface AsyncItemService {
+    CompletableFuture<Set<Item>> getItems();
+    CompletableFuture<List<ItemView>> getItemViews();
+    CompletableFuture<List<Item>> getItems(Long afterId, int limit);
+    CompletableFuture<List<Item>> getItemsByValue(Double afterValue, Long afterId, int limit);
+    CompletableFuture<List<Item>> getMostExpensiveItems(int limit);
+    CompletableFuture<List<Item>> getTopItems(Comparator<? super Item> comparator, int limit);
+    CompletableFuture<Item> findById(Long l);
+    CompletableFuture<Optional<Item>> lookupById(Long l);
+    CompletableFuture<Item> findByName(String name);
+    CompletableFuture<Optional<Item>> lookupByName(String name);
+    CompletableFuture<Set<Item>> findByNameContaining(String keyword);
+    CompletableFuture<List<ItemView>> findViewsByNameContaining(String keyword);
+    CompletableFuture<Set<Item>> findByValue(Double value);
+    CompletableFuture<Set<Item>> findByValueBetween(Double lower, Double upper);
+    CompletableFuture<List<ItemView>> findViewsByValueBetween(Double lower, Double upper);
+    CompletableFuture<Set<Item>> findByValueLessThanEqual(Double value);
+    CompletableFuture<Set<Item>> findByValueLessThan(Double value);
+    CompletableFuture<Set<Item>> findByValueGreaterThanEqual(Double value);
+    CompletableFuture<Set<Item>> findByValueGreaterThan(Double value);
+    CompletableFuture<Item> save(Item item);
+    CompletableFuture<Iterable<Item>> saveAll(Iterable<Item> items);
+    CompletableFuture<Void> deleteById(Long l);
+}
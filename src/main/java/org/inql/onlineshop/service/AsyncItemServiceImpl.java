@@ -0,0 +1,132 @@
+package org.inql.onlineshop.service;
+
+import org.inql.onlineshop.domain.Item;
+import org.inql.onlineshop.domain.ItemView;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+public class AsyncItemServiceImpl implements AsyncItemService {
+
+    private final ItemService itemService;
+    private final Executor executor;
+
+    public AsyncItemServiceImpl(ItemService itemService, Executor executor) {
+        this.itemService = itemService;
+        this.executor = executor;
+    }
+
+    @Override
+    public CompletableFuture<Set<Item>> getItems() {
+        return AsyncCalls.supply(executor, itemService::getItems);
+    }
+
+    @Override
+    public CompletableFuture<List<ItemView>> getItemViews() {
+        return AsyncCalls.supply(executor, itemService::getItemViews);
+    }
+
+    @Override
+    public CompletableFuture<List<Item>> getItems(Long afterId, int limit) {
+        return AsyncCalls.supply(executor, () -> itemService.getItems(afterId, limit));
+    }
+
+    @Override
+    public CompletableFuture<List<Item>> getItemsByValue(Double afterValue, Long afterId, int limit) {
+        return AsyncCalls.supply(executor, () -> itemService.getItemsByValue(afterValue, afterId, limit));
+    }
+
+    @Override
+    public CompletableFuture<List<Item>> getMostExpensiveItems(int limit) {
+        return AsyncCalls.supply(executor, () -> itemService.getMostExpensiveItems(limit));
+    }
+
+    @Override
+    public CompletableFuture<List<Item>> getTopItems(Comparator<? super Item> comparator, int limit) {
+        return AsyncCalls.supply(executor, () -> itemService.getTopItems(comparator, limit));
+    }
+
+    @Override
+    public CompletableFuture<Item> findById(Long l) {
+        return AsyncCalls.supply(executor, () -> itemService.findById(l));
+    }
+
+    @Override
+    public CompletableFuture<Optional<Item>> lookupById(Long l) {
+        return AsyncCalls.supply(executor, () -> itemService.lookupById(l));
+    }
+
+    @Override
+    public CompletableFuture<Item> findByName(String name) {
+        return AsyncCalls.supply(executor, () -> itemService.findByName(name));
+    }
+
+    @Override
+    public CompletableFuture<Optional<Item>> lookupByName(String name) {
+        return AsyncCalls.supply(executor, () -> itemService.lookupByName(name));
+    }
+
+    @Override
+    public CompletableFuture<Set<Item>> findByNameContaining(String keyword) {
+        return AsyncCalls.supply(executor, () -> itemService.findByNameContaining(keyword));
+    }
+
+    @Override
+    public CompletableFuture<List<ItemView>> findViewsByNameContaining(String keyword) {
+        return AsyncCalls.supply(executor, () -> itemService.findViewsByNameContaining(keyword));
+    }
+
+    @Override
+    public CompletableFuture<Set<Item>> findByValue(Double value) {
+        return AsyncCalls.supply(executor, () -> itemService.findByValue(value));
+    }
+
+    @Override
+    public CompletableFuture<Set<Item>> findByValueBetween(Double lower, Double upper) {
+        return AsyncCalls.supply(executor, () -> itemService.findByValueBetween(lower, upper));
+    }
+
+    @Override
+    public CompletableFuture<List<ItemView>> findViewsByValueBetween(Double lower, Double upper) {
+        return AsyncCalls.supply(executor, () -> itemService.findViewsByValueBetween(lower, upper));
+    }
+
+    @Override
+    public CompletableFuture<Set<Item>> findByValueLessThanEqual(Double value) {
+        return AsyncCalls.supply(executor, () -> itemService.findByValueLessThanEqual(value));
+    }
+
+    @Override
+    public CompletableFuture<Set<Item>> findByValueLessThan(Double value) {
+        return AsyncCalls.supply(executor, () -> itemService.findByValueLessThan(value));
+    }
+
+    @Override
+    public CompletableFuture<Set<Item>> findByValueGreaterThanEqual(Double value) {
+        return AsyncCalls.supply(executor, () -> itemService.findByValueGreaterThanEqual(value));
+    }
+
+    @Override
+    public CompletableFuture<Set<Item>> findByValueGreaterThan(Double value) {
+        return AsyncCalls.supply(executor, () -> itemService.findByValueGreaterThan(value));
+    }
+
+    @Override
+    public CompletableFuture<Item> save(Item item) {
+        return AsyncCalls.supply(executor, () -> itemService.save(item));
+    }
+
+    @Override
+    public CompletableFuture<Iterable<Item>> saveAll(Iterable<Item> items) {
+        return AsyncCalls.supply(executor, () -> itemService.saveAll(items));
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteById(Long l) {
+        return AsyncCalls.run(executor, () -> itemService.deleteById(l));
+    }
+}
@@ -0,0 +1,39 @@
+package org.inql.onlineshop.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Combines independent async lookups that are already running in parallel.
+ */
+public final class AsyncLookups {
+
+    private AsyncLookups() {
+    }
+
+    /**
+     * The results in the order of the lookups. Fails as soon as any lookup fails, without waiting for the rest.
+     */
+    public static <T> CompletableFuture<List<T>> all(Collection<? extends CompletableFuture<? extends T>> lookups) {
+        CompletableFuture<List<T>> result = CompletableFuture.allOf(lookups.toArray(new CompletableFuture<?>[0]))
+                .thenApply(done -> {
+                    List<T> values = new ArrayList<>(lookups.size());
+                    lookups.forEach(lookup -> values.add(lookup.join()));
+                    return values;
+                });
+        lookups.forEach(lookup -> lookup.whenComplete((value, failure) -> {
+            if (failure != null) {
+                result.completeExceptionally(failure);
+            }
+        }));
+        return result;
+    }
+
+    @SafeVarargs
+    public static <T> CompletableFuture<List<T>> all(CompletableFuture<? extends T>... lookups) {
+        return all(Arrays.asList(lookups));
+    }
+}
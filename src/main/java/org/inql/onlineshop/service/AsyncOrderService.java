@@ -0,0 +1,49 @@
+package org.inql.onlineshop.service;
+
+import org.inql.onlineshop.domain.Item;
+import org.inql.onlineshop.domain.Order;
+import org.inql.onlineshop.domain.OrderTotals;
+import org.inql.onlineshop.domain.OrderView;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking counterpart of {@link OrderService}, failures complete the returned future exceptionally.
+ * Streaming stays synchronous, the cursor needs the transaction of the calling thread.
+ * <p>
+ * Calls run in the transaction of a worker thread, which has ended by the time the future completes, so the
+ * entities it returns are detached: lazy associations not loaded by the call throw
+ * {@code LazyInitializationException}. Use the {@link OrderView} methods, or the
+ * {@link OrderFetchPlan} variants to load the client and lines with the orders.
+ */
+public interface AsyncOrderService {
+    CompletableFuture<Set<Order>> getOrders();
+    CompletableFuture<List<OrderView>> getOrderViews();
+    CompletableFuture<List<Order>> getOrders(Long afterId, int limit);
+    CompletableFuture<List<Order>> getLargestOrders(int limit);
+    CompletableFuture<List<Order>> getTopOrders(Comparator<? super Order> comparator, int limit);
+    CompletableFuture<Order> findById(Long l);
+    CompletableFuture<Optional<Order>> lookupById(Long l);
+    CompletableFuture<Iterable<Order>> findAll(Iterable<Long> orders_id);
+    CompletableFuture<Set<Order>> findOrdersByClientId(Long id);
+    CompletableFuture<Set<Order>> findOrdersByClientEmail(String email);
+    CompletableFuture<List<OrderView>> findOrderViewsByClientId(Long id);
+    CompletableFuture<List<OrderView>> findOrderViewsByClientEmail(String email);
+    CompletableFuture<Set<Order>> findOrdersByClientId(Long id, OrderFetchPlan fetchPlan);
+    CompletableFuture<Set<Order>> findOrdersByClientEmail(String email, OrderFetchPlan fetchPlan);
+    CompletableFuture<Set<Order>> findOrderByItem(Item item);
+    CompletableFuture<Order> save(Order order);
+    CompletableFuture<Iterable<Order>> saveAll(Iterable<Order> orders);
+    CompletableFuture<Void> deleteById(Long idToDelete);
+    CompletableFuture<Boolean> addItemToOrder(Item item, Order order);
+    CompletableFuture<Boolean> addItemToOrder(Item item, int quantity, Order order);
+    CompletableFuture<Boolean> addItemsToOrder(Collection<Item> items, Order order);
+    CompletableFuture<Double> getOrderTotalValue(Order order);
+    CompletableFuture<Double> getOrderTotalValueById(Long orderId);
+    CompletableFuture<OrderTotals> getOrderTotalValues(Collection<Long> orderIds);
+}
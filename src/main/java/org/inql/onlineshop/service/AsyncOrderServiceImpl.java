@@ -0,0 +1,145 @@
+package org.inql.onlineshop.service;
+
+import org.inql.onlineshop.domain.Item;
+import org.inql.onlineshop.domain.Order;
+import org.inql.onlineshop.domain.OrderTotals;
+import org.inql.onlineshop.domain.OrderView;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+public class AsyncOrderServiceImpl implements AsyncOrderService {
+
+    private final OrderService orderService;
+    private final Executor executor;
+
+    public AsyncOrderServiceImpl(OrderService orderService, Executor executor) {
+        this.orderService = orderService;
+        this.executor = executor;
+    }
+
+    @Override
+    public CompletableFuture<Set<Order>> getOrders() {
+        return AsyncCalls.supply(executor, orderService::getOrders);
+    }
+
+    @Override
+    public CompletableFuture<List<OrderView>> getOrderViews() {
+        return AsyncCalls.supply(executor, orderService::getOrderViews);
+    }
+
+    @Override
+    public CompletableFuture<List<Order>> getOrders(Long afterId, int limit) {
+        return AsyncCalls.supply(executor, () -> orderService.getOrders(afterId, limit));
+    }
+
+    @Override
+    public CompletableFuture<List<Order>> getLargestOrders(int limit) {
+        return AsyncCalls.supply(executor, () -> orderService.getLargestOrders(limit));
+    }
+
+    @Override
+    public CompletableFuture<List<Order>> getTopOrders(Comparator<? super Order> comparator, int limit) {
+        return AsyncCalls.supply(executor, () -> orderService.getTopOrders(comparator, limit));
+    }
+
+    @Override
+    public CompletableFuture<Order> findById(Long l) {
+        return AsyncCalls.supply(executor, () -> orderService.findById(l));
+    }
+
+    @Override
+    public CompletableFuture<Optional<Order>> lookupById(Long l) {
+        return AsyncCalls.supply(executor, () -> orderService.lookupById(l));
+    }
+
+    @Override
+    public CompletableFuture<Iterable<Order>> findAll(Iterable<Long> orders_id) {
+        return AsyncCalls.supply(executor, () -> orderService.findAll(orders_id));
+    }
+
+    @Override
+    public CompletableFuture<Set<Order>> findOrdersByClientId(Long id) {
+        return AsyncCalls.supply(executor, () -> orderService.findOrdersByClientId(id));
+    }
+
+    @Override
+    public CompletableFuture<Set<Order>> findOrdersByClientEmail(String email) {
+        return AsyncCalls.supply(executor, () -> orderService.findOrdersByClientEmail(email));
+    }
+
+    @Override
+    public CompletableFuture<List<OrderView>> findOrderViewsByClientId(Long id) {
+        return AsyncCalls.supply(executor, () -> orderService.findOrderViewsByClientId(id));
+    }
+
+    @Override
+    public CompletableFuture<List<OrderView>> findOrderViewsByClientEmail(String email) {
+        return AsyncCalls.supply(executor, () -> orderService.findOrderViewsByClientEmail(email));
+    }
+
+    @Override
+    public CompletableFuture<Set<Order>> findOrdersByClientId(Long id, OrderFetchPlan fetchPlan) {
+        return AsyncCalls.supply(executor, () -> orderService.findOrdersByClientId(id, fetchPlan));
+    }
+
+    @Override
+    public CompletableFuture<Set<Order>> findOrdersByClientEmail(String email, OrderFetchPlan fetchPlan) {
+        return AsyncCalls.supply(executor, () -> orderService.findOrdersByClientEmail(email, fetchPlan));
+    }
+
+    @Override
+    public CompletableFuture<Set<Order>> findOrderByItem(Item item) {
+        return AsyncCalls.supply(executor, () -> orderService.findOrderByItem(item));
+    }
+
+    @Override
+    public CompletableFuture<Order> save(Order order) {
+        return AsyncCalls.supply(executor, () -> orderService.save(order));
+    }
+
+    @Override
+    public CompletableFuture<Iterable<Order>> saveAll(Iterable<Order> orders) {
+        return AsyncCalls.supply(executor, () -> orderService.saveAll(orders));
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteById(Long idToDelete) {
+        return AsyncCalls.run(executor, () -> orderService.deleteById(idToDelete));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> addItemToOrder(Item item, Order order) {
+        return AsyncCalls.supply(executor, () -> orderService.addItemToOrder(item, order));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> addItemToOrder(Item item, int quantity, Order order) {
+        return AsyncCalls.supply(executor, () -> orderService.addItemToOrder(item, quantity, order));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> addItemsToOrder(Collection<Item> items, Order order) {
+        return AsyncCalls.supply(executor, () -> orderService.addItemsToOrder(items, order));
+    }
+
+    @Override
+    public CompletableFuture<Double> getOrderTotalValue(Order order) {
+        return AsyncCalls.supply(executor, () -> orderService.getOrderTotalValue(order));
+    }
+
+    @Override
+    public CompletableFuture<Double> getOrderTotalValueById(Long orderId) {
+        return AsyncCalls.supply(executor, () -> orderService.getOrderTotalValueById(orderId));
+    }
+
+    @Override
+    public CompletableFuture<OrderTotals> getOrderTotalValues(Collection<Long> orderIds) {
+        return AsyncCalls.supply(executor, () -> orderService.getOrderTotalValues(orderIds));
+    }
+}
@@ -0,0 +1,43 @@
+package org.inql.onlineshop.service;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.ConstraintViolationException;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+
+/**
+ * All constraint violations of a batch, keyed by the position of the invalid entity in the batch.
+ */
+public class BatchValidationException extends ConstraintViolationException {
+
+    private final transient SortedMap<Integer, Set<ConstraintViolation<?>>> violationsByPosition;
+
+    public BatchValidationException(int batchSize, SortedMap<Integer, Set<ConstraintViolation<?>>> violationsByPosition) {
+        super(message(batchSize, violationsByPosition), all(violationsByPosition));
+        this.violationsByPosition = violationsByPosition;
+    }
+
+    private static String message(int batchSize, SortedMap<Integer, Set<ConstraintViolation<?>>> violationsByPosition) {
+        int first = violationsByPosition.firstKey();
+        ConstraintViolation<?> violation = violationsByPosition.get(first).iterator().next();
+        return violationsByPosition.size() + " of " + batchSize + " entities are invalid, the first at position " + first
+                + ": " + violation.getPropertyPath() + ": " + violation.getMessage();
+    }
+
+    private static Set<ConstraintViolation<?>> all(Map<Integer, Set<ConstraintViolation<?>>> violationsByPosition) {
+        Set<ConstraintViolation<?>> violations = new HashSet<>();
+        violationsByPosition.values().forEach(violations::addAll);
+        return violations;
+    }
+
+    public Set<Integer> getInvalidPositions() {
+        return Collections.unmodifiableSet(violationsByPosition.keySet());
+    }
+
+    public Set<ConstraintViolation<?>> getViolations(int position) {
+        return violationsByPosition.getOrDefault(position, Collections.emptySet());
+    }
+}
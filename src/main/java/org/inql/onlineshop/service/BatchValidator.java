@@ -0,0 +1,133 @@
+package org.inql.onlineshop.service;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.ConstraintViolationException;
+import javax.validation.Validator;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.stream.Collectors;
+
+/**
+ * Validates a whole batch of entities before {@code saveAll} issues any SQL, splitting large batches across a
+ * {@link ForkJoinPool}. One {@link Validator} is shared by all calls, so the bean metadata and the initialized
+ * constraint validators, compiled {@code @Pattern} regexes included, are built once and reused. Hibernate does
+ * not validate again at flush, {@code javax.persistence.validation.mode} is {@code none}, so single entities are
+ * validated here too, through {@link #validateOne}.
+ */
+public class BatchValidator implements AutoCloseable {
+
+    // below this many entities a batch is validated on the calling thread
+    static final int SEQUENTIAL_THRESHOLD = 256;
+
+    private final Validator validator;
+    private final ForkJoinPool pool;
+
+    public BatchValidator(Validator validator, int parallelism, Class<?>... entityTypes) {
+        this.validator = validator;
+        this.pool = new ForkJoinPool(parallelism);
+        for (Class<?> entityType : entityTypes) {
+            validator.getConstraintsForClass(entityType);
+        }
+    }
+
+    /**
+     * Violations by position, an empty set for a valid entity. Null entities are skipped, as the repository rejects them.
+     */
+    public <T> List<Set<ConstraintViolation<T>>> validate(List<T> entities) {
+        List<Set<ConstraintViolation<T>>> violations = new ArrayList<>(Collections.nCopies(entities.size(), null));
+        ValidateRange<T> task = new ValidateRange<>(entities, violations, 0, entities.size());
+        if (entities.size() <= SEQUENTIAL_THRESHOLD) {
+            task.compute();
+        } else {
+            pool.invoke(task);
+        }
+        return violations;
+    }
+
+    /**
+     * @return the batch copied into a list, to be saved in place of {@code entities}, which may be a one-shot iterable
+     * @throws BatchValidationException with the violations of every invalid entity
+     */
+    public <T> List<T> validateAll(Iterable<T> entities) {
+        List<T> batch = new ArrayList<>();
+        if (entities instanceof Collection) {
+            batch.addAll((Collection<T>) entities);
+        } else {
+            entities.forEach(batch::add);
+        }
+        List<Set<ConstraintViolation<T>>> violations = validate(batch);
+        SortedMap<Integer, Set<ConstraintViolation<?>>> invalid = new TreeMap<>();
+        for (int i = 0; i < violations.size(); i++) {
+            if (!violations.get(i).isEmpty()) {
+                invalid.put(i, new HashSet<>(violations.get(i)));
+            }
+        }
+        if (!invalid.isEmpty()) {
+            throw new BatchValidationException(batch.size(), invalid);
+        }
+        return batch;
+    }
+
+    /**
+     * Validates one entity on the calling thread, a null entity is skipped, as the repository rejects it.
+     *
+     * @return the entity
+     * @throws ConstraintViolationException with the violations of the entity, sorted by property in the message
+     */
+    public <T> T validateOne(T entity) {
+        if (entity == null) {
+            return null;
+        }
+        Set<ConstraintViolation<T>> violations = validator.validate(entity);
+        if (!violations.isEmpty()) {
+            String message = violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+            throw new ConstraintViolationException(message, violations);
+        }
+        return entity;
+    }
+
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    private final class ValidateRange<T> extends RecursiveAction {
+
+        private final List<T> entities;
+        private final List<Set<ConstraintViolation<T>>> violations;
+        private final int from;
+        private final int to;
+
+        ValidateRange(List<T> entities, List<Set<ConstraintViolation<T>>> violations, int from, int to) {
+            this.entities = entities;
+            this.violations = violations;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > SEQUENTIAL_THRESHOLD) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new ValidateRange<>(entities, violations, from, middle),
+                        new ValidateRange<>(entities, violations, middle, to));
+                return;
+            }
+            for (int i = from; i < to; i++) {
+                T entity = entities.get(i);
+                violations.set(i, entity == null ? Collections.emptySet() : validator.validate(entity));
+            }
+        }
+    }
+}
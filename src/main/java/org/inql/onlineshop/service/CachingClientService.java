@@ -0,0 +1,198 @@
+package org.inql.onlineshop.service;
+
+import javassist.NotFoundException;
+import org.inql.onlineshop.cache.ClientCache;
+import org.inql.onlineshop.domain.Client;
+import org.inql.onlineshop.domain.ClientView;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Reads clients by id and by email through a {@link ClientCache}, misses included, and invalidates it on every
+ * save and delete. All other calls go straight to the delegate. The cache resolves an email to an id and found
+ * clients are then loaded by id, from the second-level cache without SQL, so every caller gets its own instance,
+ * attached to its persistence context, with lazy {@code orders} loadable as before. A cached id saves nothing
+ * over that load, so it is neither counted as a hit nor put again.
+ */
+public class CachingClientService implements ClientService {
+
+    private final ClientService clientService;
+    private final ClientCache clientCache;
+
+    public CachingClientService(ClientService clientService, ClientCache clientCache) {
+        this.clientService = clientService;
+        this.clientCache = clientCache;
+    }
+
+    @Override
+    public Set<Client> getClients() {
+        return clientService.getClients();
+    }
+
+    @Override
+    public List<ClientView> getClientViews() {
+        return clientService.getClientViews();
+    }
+
+    @Override
+    public Stream<Client> streamClients() {
+        return clientService.streamClients();
+    }
+
+    @Override
+    public Stream<Client> streamClients(int fetchSize) {
+        return clientService.streamClients(fetchSize);
+    }
+
+    @Override
+    public List<Client> getClients(Long afterId, int limit) {
+        return clientService.getClients(afterId, limit);
+    }
+
+    @Override
+    public Client findById(Long l) throws NotFoundException {
+        return lookupById(l).orElseThrow(() -> new StacklessNotFoundException("Client not found"));
+    }
+
+    @Override
+    public Optional<Client> lookupById(Long l) {
+        if (l == null) {
+            return clientService.lookupById(null);
+        }
+        Optional<Long> cached = clientCache.getById(l);
+        if (cached != null) {
+            if (!cached.isPresent()) {
+                return Optional.empty();
+            }
+            Optional<Client> client = clientService.lookupById(l);
+            if (!client.isPresent()) {
+                clientCache.invalidate(l, null);
+            }
+            return client;
+        }
+        long loadedAt = clientCache.generation();
+        Optional<Client> client = clientService.lookupById(l);
+        clientCache.putById(l, client, loadedAt);
+        return client;
+    }
+
+    @Override
+    public Iterable<Client> findAll(Iterable<Long> clients_id) {
+        return clientService.findAll(clients_id);
+    }
+
+    @Override
+    public Client findByEmail(String email) throws NotFoundException {
+        return lookupByEmail(email).orElseThrow(() -> new StacklessNotFoundException("Client not found"));
+    }
+
+    @Override
+    public Optional<Client> lookupByEmail(String email) {
+        if (email == null) {
+            return clientService.lookupByEmail(null);
+        }
+        Optional<Long> cached = clientCache.getByEmail(email);
+        if (cached != null) {
+            if (!cached.isPresent()) {
+                return Optional.empty();
+            }
+            Optional<Client> client = clientService.lookupById(cached.get());
+            if (client.isPresent() && email.equals(client.get().getEmail())) {
+                return client;
+            }
+            clientCache.invalidate(cached.get(), email);
+        }
+        long loadedAt = clientCache.generation();
+        Optional<Client> client = clientService.lookupByEmail(email);
+        clientCache.putByEmail(email, client, loadedAt);
+        return client;
+    }
+
+    @Override
+    public Set<Client> findClientsByName(String name) {
+        return clientService.findClientsByName(name);
+    }
+
+    @Override
+    public List<ClientView> findClientViewsByName(String name) {
+        return clientService.findClientViewsByName(name);
+    }
+
+    @Override
+    public Set<Client> findClientsBySurname(String surname) {
+        return clientService.findClientsBySurname(surname);
+    }
+
+    @Override
+    public List<ClientView> findClientViewsBySurname(String surname) {
+        return clientService.findClientViewsBySurname(surname);
+    }
+
+    @Override
+    public Set<Client> findByNameContaining(String keyword) {
+        return clientService.findByNameContaining(keyword);
+    }
+
+    @Override
+    public List<ClientView> findViewsByNameContaining(String keyword) {
+        return clientService.findViewsByNameContaining(keyword);
+    }
+
+    @Override
+    public Set<Client> findBySurnameContaining(String keyword) {
+        return clientService.findBySurnameContaining(keyword);
+    }
+
+    @Override
+    public Set<Client> findByEmailContaining(String keyword) {
+        return clientService.findByEmailContaining(keyword);
+    }
+
+    @Override
+    public List<Client> search(String keyword, int limit) {
+        return clientService.search(keyword, limit);
+    }
+
+    @Override
+    public Client save(Client client) {
+        try {
+            return clientService.save(client);
+        } finally {
+            invalidate(client);
+        }
+    }
+
+    @Override
+    public Iterable<Client> saveAll(Iterable<Client> clients) {
+        if (clients == null) {
+            return clientService.saveAll(null);
+        }
+        List<Client> batch = new ArrayList<>();
+        clients.forEach(batch::add);
+        try {
+            return clientService.saveAll(batch);
+        } finally {
+            batch.forEach(this::invalidate);
+        }
+    }
+
+    private void invalidate(Client client) {
+        if (client != null) {
+            clientCache.invalidate(client.getId(), client.getEmail());
+        }
+    }
+
+    @Override
+    public void deleteById(Long idToDelete) {
+        try {
+            clientService.deleteById(idToDelete);
+        } finally {
+            clientCache.invalidate(idToDelete, null);
+        }
+    }
+
+}
@@ -0,0 +1,99 @@
+package org.inql.onlineshop.service;
+
+import org.inql.onlineshop.domain.ClientRevenues;
+import org.inql.onlineshop.domain.OrderSnapshot;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Sums an {@link OrderSnapshot} by client on a {@link ForkJoinPool}. Each task sums a range of orders into arrays
+ * indexed by client position and the partial arrays are added up while joining, so no task ever waits on a
+ * shared counter.
+ */
+public class ClientRevenueAggregator implements AutoCloseable {
+
+    // below this many orders a range is summed on the calling thread
+    static final int SEQUENTIAL_THRESHOLD = 1 << 14;
+    // ranges per thread, enough to balance the load without allocating many partial arrays
+    private static final int RANGES_PER_THREAD = 4;
+
+    private final ForkJoinPool pool;
+
+    public ClientRevenueAggregator(int parallelism) {
+        this.pool = new ForkJoinPool(parallelism);
+    }
+
+    /**
+     * Orders of clients missing from the snapshot's client ids, e.g. created between its two reads, are left out.
+     */
+    public ClientRevenues aggregate(OrderSnapshot snapshot) {
+        if (snapshot.clientCount() == 0) {
+            return ClientRevenues.empty();
+        }
+        int orders = snapshot.orderCount();
+        int threshold = Math.max(SEQUENTIAL_THRESHOLD, orders / (pool.getParallelism() * RANGES_PER_THREAD) + 1);
+        SumRange task = new SumRange(snapshot, 0, orders, threshold);
+        Partial sums = orders <= threshold ? task.compute() : pool.invoke(task);
+        return new ClientRevenues(snapshot.clientIds().clone(), sums.lifetimeValues, sums.orderCounts);
+    }
+
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    private static final class Partial {
+
+        private final double[] lifetimeValues;
+        private final int[] orderCounts;
+
+        Partial(int clients) {
+            lifetimeValues = new double[clients];
+            orderCounts = new int[clients];
+        }
+
+        Partial add(Partial other) {
+            for (int i = 0; i < lifetimeValues.length; i++) {
+                lifetimeValues[i] += other.lifetimeValues[i];
+                orderCounts[i] += other.orderCounts[i];
+            }
+            return this;
+        }
+    }
+
+    private static final class SumRange extends RecursiveTask<Partial> {
+
+        private final OrderSnapshot snapshot;
+        private final int from;
+        private final int to;
+        private final int threshold;
+
+        SumRange(OrderSnapshot snapshot, int from, int to, int threshold) {
+            this.snapshot = snapshot;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected Partial compute() {
+            if (to - from > threshold) {
+                int middle = (from + to) >>> 1;
+                SumRange right = new SumRange(snapshot, middle, to, threshold);
+                right.fork();
+                Partial left = new SumRange(snapshot, from, middle, threshold).compute();
+                return left.add(right.join());
+            }
+            Partial partial = new Partial(snapshot.clientCount());
+            for (int order = from; order < to; order++) {
+                int client = snapshot.clientPosition(snapshot.orderClientIdAt(order));
+                if (client >= 0) {
+                    partial.lifetimeValues[client] += snapshot.orderTotalAt(order);
+                    partial.orderCounts[client]++;
+                }
+            }
+            return partial;
+        }
+    }
+}
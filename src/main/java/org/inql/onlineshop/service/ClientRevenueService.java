@@ -0,0 +1,10 @@
+package org.inql.onlineshop.service;
+
+import org.inql.onlineshop.domain.ClientRevenues;
+import org.inql.onlineshop.domain.OrderSnapshot;
+
+public interface ClientRevenueService {
+    ClientRevenues getClientRevenues(RevenueMode mode);
+    OrderSnapshot loadSnapshot();
+    ClientRevenues aggregate(OrderSnapshot snapshot);
+}
@@ -0,0 +1,44 @@
+package org.inql.onlineshop.service;
+
+import org.inql.onlineshop.domain.ClientRevenues;
+import org.inql.onlineshop.domain.OrderSnapshot;
+import org.inql.onlineshop.persistence.StatementBudget;
+import org.inql.onlineshop.repository.OrderRepository;
+
+/**
+ * Lifetime value, order count and average basket of every client, aggregated either by the database or
+ * in memory by the {@link ClientRevenueAggregator}.
+ */
+public class ClientRevenueServiceImpl implements ClientRevenueService {
+
+    private static final int SNAPSHOT_FETCH_SIZE = 1000;
+
+    private final OrderRepository orderRepository;
+    private final ClientRevenueAggregator aggregator;
+
+    public ClientRevenueServiceImpl(OrderRepository orderRepository, ClientRevenueAggregator aggregator) {
+        this.orderRepository = orderRepository;
+        this.aggregator = aggregator;
+    }
+
+    @Override
+    @StatementBudget(2)
+    public ClientRevenues getClientRevenues(RevenueMode mode) {
+        if (mode == RevenueMode.PARALLEL) {
+            return aggregate(loadSnapshot());
+        }
+        return orderRepository.sumTotalsByClient();
+    }
+
+    @Override
+    @StatementBudget(2)
+    public OrderSnapshot loadSnapshot() {
+        return orderRepository.loadSnapshot(SNAPSHOT_FETCH_SIZE);
+    }
+
+    @Override
+    @StatementBudget(0)
+    public ClientRevenues aggregate(OrderSnapshot snapshot) {
+        return aggregator.aggregate(snapshot);
+    }
+}
@@ -2,19 +2,33 @@ package org.inql.onlineshop.service;
 
 import javassist.NotFoundException;
 import org.inql.onlineshop.domain.Client;
+import org.inql.onlineshop.domain.ClientView;
 
+import java.util.List;
+import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Stream;
 
 public interface ClientService {
     Set<Client> getClients();
+    List<ClientView> getClientViews();
+    Stream<Client> streamClients();
+    Stream<Client> streamClients(int fetchSize);
+    List<Client> getClients(Long afterId, int limit);
     Client findById(Long l) throws NotFoundException;
+    Optional<Client> lookupById(Long l);
     Iterable<Client> findAll(Iterable<Long> clients_id);
     Client findByEmail(String email) throws NotFoundException;
+    Optional<Client> lookupByEmail(String email);
     Set<Client> findClientsByName(String name);
+    List<ClientView> findClientViewsByName(String name);
     Set<Client> findClientsBySurname(String surname);
+    List<ClientView> findClientViewsBySurname(String surname);
     Set<Client> findByNameContaining(String keyword);
+    List<ClientView> findViewsByNameContaining(String keyword);
     Set<Client> findBySurnameContaining(String keyword);
     Set<Client> findByEmailContaining(String keyword);
+    List<Client> search(String keyword, int limit);
     Client save(Client client);
     Iterable<Client> saveAll(Iterable<Client> clients);
     void deleteById(Long idToDelete);
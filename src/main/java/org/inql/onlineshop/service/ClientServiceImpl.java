@@ -2,46 +2,116 @@ package org.inql.onlineshop.service;
 
 import javassist.NotFoundException;
 import org.inql.onlineshop.domain.Client;
+import org.inql.onlineshop.domain.ClientView;
+import org.inql.onlineshop.index.ClientSearchIndex;
+import org.inql.onlineshop.persistence.StatementBudget;
 import org.inql.onlineshop.repository.ClientRepository;
+import org.springframework.data.domain.PageRequest;
 
-import java.util.HashSet;
-import java.util.Optional;
-import java.util.Set;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class ClientServiceImpl implements ClientService{
 
+    private static final int DEFAULT_FETCH_SIZE = 500;
+
     private final ClientRepository clientRepository;
+    private final ClientSearchIndex searchIndex;
+    private final BatchValidator batchValidator;
 
     public ClientServiceImpl(ClientRepository clientRepository) {
+        this(clientRepository, null, null);
+    }
+
+    public ClientServiceImpl(ClientRepository clientRepository, ClientSearchIndex searchIndex) {
+        this(clientRepository, searchIndex, null);
+    }
+
+    public ClientServiceImpl(ClientRepository clientRepository, BatchValidator batchValidator) {
+        this(clientRepository, null, batchValidator);
+    }
+
+    /**
+     * @param batchValidator validates the clients passed to {@link #save} and the whole batch passed to {@link #saveAll}
+     *                       before anything is saved, optional
+     */
+    public ClientServiceImpl(ClientRepository clientRepository, ClientSearchIndex searchIndex, BatchValidator batchValidator) {
         this.clientRepository = clientRepository;
+        this.searchIndex = searchIndex;
+        this.batchValidator = batchValidator;
+        if (searchIndex != null) {
+            searchIndex.rebuild(clientRepository.findAll());
+        }
     }
 
     @Override
+    @StatementBudget(1)
     public Set<Client> getClients() {
         Set<Client> clientSet = new HashSet<>();
         clientRepository.findAll().iterator().forEachRemaining(clientSet::add);
         return clientSet;
     }
 
+    /**
+     * Every client as a read-only view, without hydrating entities into the persistence context.
+     */
+    @Override
+    @StatementBudget(1)
+    public List<ClientView> getClientViews() {
+        return clientRepository.findClientViewsBy();
+    }
+
     @Override
+    @StatementBudget(1)
+    public Stream<Client> streamClients() {
+        return streamClients(DEFAULT_FETCH_SIZE);
+    }
+
+    @Override
+    @StatementBudget(1)
+    public Stream<Client> streamClients(int fetchSize) {
+        return clientRepository.streamAll(fetchSize);
+    }
+
+    @Override
+    @StatementBudget(1)
+    public List<Client> getClients(Long afterId, int limit) {
+        return clientRepository.findClientsByIdGreaterThanOrderByIdAsc(afterId == null ? Long.MIN_VALUE : afterId, PageRequest.of(0, limit));
+    }
+
+    @Override
+    @StatementBudget(1)
     public Client findById(Long l) throws NotFoundException {
-        Optional<Client> clientOptional = clientRepository.findById(l);
-        return clientOptional.orElseThrow(() -> new NotFoundException("Client not found"));
+        return lookupById(l).orElseThrow(() -> new StacklessNotFoundException("Client not found"));
+    }
+
+    @Override
+    @StatementBudget(1)
+    public Optional<Client> lookupById(Long l) {
+        return clientRepository.findById(l);
     }
 
     @Override
+    @StatementBudget(1)
     public Iterable<Client> findAll(Iterable<Long> clients_id) {
         return clientRepository.findAllById(clients_id);
     }
 
     @Override
+    @StatementBudget(1)
     public Client findByEmail(String email) throws NotFoundException {
-        Optional<Client> clientOptional = clientRepository.findClientByEmail(email);
-        return clientOptional.orElseThrow(() -> new NotFoundException("Client not found"));
+        return lookupByEmail(email).orElseThrow(() -> new StacklessNotFoundException("Client not found"));
+    }
 
+    @Override
+    @StatementBudget(1)
+    public Optional<Client> lookupByEmail(String email) {
+        return clientRepository.findClientByEmail(email);
     }
 
     @Override
+    @StatementBudget(1)
     public Set<Client> findClientsByName(String name) {
         Set<Client> clientSet = new HashSet<>();
         clientRepository.findClientsByName(name).iterator().forEachRemaining(clientSet::add);
@@ -49,44 +119,129 @@ public class ClientServiceImpl implements ClientService{
     }
 
     @Override
+    @StatementBudget(1)
+    public List<ClientView> findClientViewsByName(String name) {
+        return clientRepository.findClientViewsByName(name);
+    }
+
+    @Override
+    @StatementBudget(1)
     public Set<Client> findClientsBySurname(String surname) {
         Set<Client> clientSet = new HashSet<>();
         clientRepository.findClientsBySurname(surname).iterator().forEachRemaining(clientSet::add);
         return clientSet;    }
 
     @Override
+    @StatementBudget(1)
+    public List<ClientView> findClientViewsBySurname(String surname) {
+        return clientRepository.findClientViewsBySurname(surname);
+    }
+
+    @Override
+    @StatementBudget(1)
     public Set<Client> findByNameContaining(String keyword) {
+        if (searchIndex != null) {
+            return loadAll(searchIndex.findIdsByFieldContaining(ClientSearchIndex.Field.NAME, keyword));
+        }
         Set<Client> clientSet = new HashSet<>();
         clientRepository.findClientsByNameContaining(keyword).iterator().forEachRemaining(clientSet::add);
         return clientSet;
     }
 
     @Override
+    @StatementBudget(1)
+    public List<ClientView> findViewsByNameContaining(String keyword) {
+        return clientRepository.findClientViewsByNameContaining(keyword);
+    }
+
+    @Override
+    @StatementBudget(1)
     public Set<Client> findBySurnameContaining(String keyword) {
+        if (searchIndex != null) {
+            return loadAll(searchIndex.findIdsByFieldContaining(ClientSearchIndex.Field.SURNAME, keyword));
+        }
         Set<Client> clientSet = new HashSet<>();
         clientRepository.findClientsBySurnameContaining(keyword).iterator().forEachRemaining(clientSet::add);
         return clientSet;
     }
 
     @Override
+    @StatementBudget(1)
     public Set<Client> findByEmailContaining(String keyword) {
+        if (searchIndex != null) {
+            return loadAll(searchIndex.findIdsByFieldContaining(ClientSearchIndex.Field.EMAIL, keyword));
+        }
         Set<Client> clientSet = new HashSet<>();
         clientRepository.findClientsByEmailContaining(keyword).iterator().forEachRemaining(clientSet::add);
         return clientSet;
     }
 
+    /**
+     * Without the index the clients are matched in the database on the same folded text the index matches on,
+     * so both paths find and rank the same clients.
+     */
+    @Override
+    @StatementBudget(1)
+    public List<Client> search(String keyword, int limit) {
+        if (searchIndex != null) {
+            List<Long> ids = searchIndex.searchIds(keyword, limit);
+            Map<Long, Client> clientById = new HashMap<>();
+            clientRepository.findAllById(ids).forEach(client -> clientById.put(client.getId(), client));
+            return ids.stream().map(clientById::get).filter(Objects::nonNull).collect(Collectors.toList());
+        }
+        if (keyword == null || limit <= 0) {
+            return new ArrayList<>();
+        }
+        String foldedKeyword = ClientSearchIndex.fold(keyword);
+        String pattern = "%" + foldedKeyword.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+        Set<Client> clientSet = clientRepository.findClientsByFoldedPattern(pattern, ClientSearchIndex.POLISH_LETTERS, ClientSearchIndex.PLAIN_LETTERS);
+        return clientSet.stream()
+                .sorted(Comparator.comparingInt((Client client) -> ClientSearchIndex.score(client, foldedKeyword)).reversed()
+                        .thenComparing(Client::getId, Comparator.nullsLast(Comparator.naturalOrder())))
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * The clients the index answered with, loaded by primary key in the caller's transaction, so lazy
+     * {@code orders} can be read and no two callers share an instance.
+     */
+    private Set<Client> loadAll(List<Long> ids) {
+        Set<Client> clientSet = new HashSet<>();
+        clientRepository.findAllById(ids).iterator().forEachRemaining(clientSet::add);
+        return clientSet;
+    }
+
     @Override
+    @StatementBudget(2)
     public Client save(Client client) {
-        return clientRepository.save(client);
+        if (batchValidator != null) {
+            batchValidator.validateOne(client);
+        }
+        Client savedClient = clientRepository.save(client);
+        if (searchIndex != null) {
+            searchIndex.put(savedClient);
+        }
+        return savedClient;
     }
 
     @Override
+    @StatementBudget(value = 0, perBatch = 2)
     public Iterable<Client> saveAll(Iterable<Client> clients) {
-        return clientRepository.saveAll(clients);
+        Iterable<Client> batch = batchValidator != null ? batchValidator.validateAll(clients) : clients;
+        Iterable<Client> savedClients = clientRepository.saveAll(batch);
+        if (searchIndex != null) {
+            searchIndex.putAll(savedClients);
+        }
+        return savedClients;
     }
 
     @Override
+    @StatementBudget(2)
     public void deleteById(Long idToDelete) {
         clientRepository.deleteById(idToDelete);
+        if (searchIndex != null) {
+            searchIndex.remove(idToDelete);
+        }
     }
 }
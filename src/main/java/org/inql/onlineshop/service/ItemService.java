@@ -2,21 +2,43 @@ package org.inql.onlineshop.service;
 
 import javassist.NotFoundException;
 import org.inql.onlineshop.domain.Item;
+import org.inql.onlineshop.domain.ItemView;
 
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Stream;
 
 public interface ItemService {
     Set<Item> getItems();
+    List<ItemView> getItemViews();
+    Stream<Item> streamItems();
+    Stream<Item> streamItems(int fetchSize);
+    List<Item> getItems(Long afterId, int limit);
+    List<Item> getItemsByValue(Double afterValue, Long afterId, int limit);
+    List<Item> getMostExpensiveItems(int limit);
+    List<Item> getTopItems(Comparator<? super Item> comparator, int limit);
     Item findById(Long l) throws NotFoundException;
+    Optional<Item> lookupById(Long l);
     Item findByName(String name) throws NotFoundException;
+    Optional<Item> lookupByName(String name);
     Set<Item> findByNameContaining(String keyword);
+    List<ItemView> findViewsByNameContaining(String keyword);
     Set<Item> findByValue(Double value);
     Set<Item> findByValueBetween(Double lower, Double upper);
+    List<ItemView> findViewsByValueBetween(Double lower, Double upper);
     Set<Item> findByValueLessThanEqual(Double value);
     Set<Item> findByValueLessThan(Double value);
     Set<Item> findByValueGreaterThanEqual(Double value);
     Set<Item> findByValueGreaterThan(Double value);
     Item save(Item item);
     Iterable<Item> saveAll(Iterable<Item> items);
+
+    /**
+     * {@link #saveAll} without validating the batch, for callers that already checked every item against
+     * the {@link Item} constraints themselves.
+     */
+    Iterable<Item> saveAllValidated(Iterable<Item> items);
     void deleteById(Long l);
 }
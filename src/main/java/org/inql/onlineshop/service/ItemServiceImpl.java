@@ -2,18 +2,66 @@ package org.inql.onlineshop.service;
 
 import javassist.NotFoundException;
 import org.inql.onlineshop.domain.Item;
+import org.inql.onlineshop.domain.ItemView;
+import org.inql.onlineshop.index.ItemNameIndex;
+import org.inql.onlineshop.index.ItemPriceIndex;
 import org.inql.onlineshop.repository.ItemRepository;
+import org.springframework.data.domain.PageRequest;
 
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class ItemServiceImpl implements ItemService {
 
+    private static final int DEFAULT_FETCH_SIZE = 500;
+
     ItemRepository itemRepository;
+    ItemPriceIndex priceIndex;
+    ItemNameIndex nameIndex;
+    BatchValidator batchValidator;
 
     public ItemServiceImpl(ItemRepository itemRepository) {
+        this(itemRepository, null, null);
+    }
+
+    public ItemServiceImpl(ItemRepository itemRepository, BatchValidator batchValidator) {
+        this(itemRepository, null, null, batchValidator);
+    }
+
+    public ItemServiceImpl(ItemRepository itemRepository, ItemPriceIndex priceIndex) {
+        this(itemRepository, priceIndex, null);
+    }
+
+    public ItemServiceImpl(ItemRepository itemRepository, ItemPriceIndex priceIndex, ItemNameIndex nameIndex) {
+        this(itemRepository, priceIndex, nameIndex, null);
+    }
+
+    /**
+     * @param batchValidator validates the items passed to {@link #save} and the whole batch passed to {@link #saveAll}
+     *                       before anything is saved, optional
+     */
+    public ItemServiceImpl(ItemRepository itemRepository, ItemPriceIndex priceIndex, ItemNameIndex nameIndex, BatchValidator batchValidator) {
         this.itemRepository = itemRepository;
+        this.priceIndex = priceIndex;
+        this.nameIndex = nameIndex;
+        this.batchValidator = batchValidator;
+        if (priceIndex != null || nameIndex != null) {
+            Iterable<Item> items = itemRepository.findAll();
+            if (priceIndex != null) {
+                priceIndex.rebuild(items);
+            }
+            if (nameIndex != null) {
+                nameIndex.rebuild(items);
+            }
+        }
     }
 
     @Override
@@ -23,26 +71,105 @@ public class ItemServiceImpl implements ItemService {
         return itemSet;
     }
 
+    /**
+     * Every item as a read-only view, without hydrating entities into the persistence context.
+     */
+    @Override
+    public List<ItemView> getItemViews() {
+        return itemRepository.findItemViewsBy();
+    }
+
+    @Override
+    public Stream<Item> streamItems() {
+        return streamItems(DEFAULT_FETCH_SIZE);
+    }
+
+    @Override
+    public Stream<Item> streamItems(int fetchSize) {
+        return itemRepository.streamAll(fetchSize);
+    }
+
+    @Override
+    public List<Item> getItems(Long afterId, int limit) {
+        return itemRepository.findItemsByIdGreaterThanOrderByIdAsc(afterId == null ? Long.MIN_VALUE : afterId, PageRequest.of(0, limit));
+    }
+
+    /**
+     * The page after the item with {@code afterValue} and {@code afterId}, the first page when both are null.
+     * Without {@code afterId} the page starts at {@code afterValue} itself, an {@code afterId} without a value
+     * is rejected, as it cannot be placed in the value order.
+     */
+    @Override
+    public List<Item> getItemsByValue(Double afterValue, Long afterId, int limit) {
+        if (afterValue == null && afterId != null) {
+            throw new IllegalArgumentException("Id without value not allowed");
+        }
+        if (afterValue == null) {
+            return itemRepository.findItemsByOrderByValueAscIdAsc(PageRequest.of(0, limit));
+        }
+        return itemRepository.findItemsAfterValue(afterValue, afterId == null ? Long.MIN_VALUE : afterId, PageRequest.of(0, limit));
+    }
+
+    @Override
+    public List<Item> getMostExpensiveItems(int limit) {
+        if (priceIndex != null) {
+            List<Long> ids = priceIndex.findMostExpensiveIds(limit);
+            Map<Long, Item> itemById = new HashMap<>();
+            itemRepository.findAllById(ids).forEach(item -> itemById.put(item.getId(), item));
+            return ids.stream().map(itemById::get).filter(Objects::nonNull).collect(Collectors.toList());
+        }
+        return itemRepository.findItemsByOrderByValueDescIdDesc(PageRequest.of(0, limit));
+    }
+
+    /**
+     * The first {@code limit} items in the order of the comparator, kept in a bounded heap while all items
+     * are streamed, use {@link #getMostExpensiveItems(int)} for the order the database can sort by.
+     */
+    @Override
+    public List<Item> getTopItems(Comparator<? super Item> comparator, int limit) {
+        return itemRepository.findTop(comparator, limit);
+    }
+
     @Override
     public Item findById(Long l) throws NotFoundException {
-        Optional<Item> itemOptional = itemRepository.findById(l);
-        return itemOptional.orElseThrow(() -> new NotFoundException("Item not found"));
+        return lookupById(l).orElseThrow(() -> new StacklessNotFoundException("Item not found"));
+    }
+
+    @Override
+    public Optional<Item> lookupById(Long l) {
+        return itemRepository.findById(l);
     }
 
     @Override
     public Item findByName(String name) throws NotFoundException {
-        Optional<Item> itemOptional = itemRepository.findItemByName(name);
-        return itemOptional.orElseThrow(() -> new NotFoundException("Item not found"));    }
+        return lookupByName(name).orElseThrow(() -> new StacklessNotFoundException("Item not found"));
+    }
+
+    @Override
+    public Optional<Item> lookupByName(String name) {
+        return itemRepository.findItemByName(name);
+    }
 
     @Override
     public Set<Item> findByNameContaining(String keyword) {
+        if (nameIndex != null) {
+            return loadAll(nameIndex.findIdsByNameContaining(keyword));
+        }
         Set<Item> itemSet = new HashSet<>();
         itemRepository.findItemsByNameContaining(keyword).iterator().forEachRemaining(itemSet::add);
         return itemSet;
     }
 
+    @Override
+    public List<ItemView> findViewsByNameContaining(String keyword) {
+        return itemRepository.findItemViewsByNameContaining(keyword);
+    }
+
     @Override
     public Set<Item> findByValue(Double value) {
+        if (priceIndex != null) {
+            return value == null ? new HashSet<>() : loadAll(priceIndex.findIdsByValue(value));
+        }
         Set<Item> itemSet = new HashSet<>();
         itemRepository.findItemsByValue(value).iterator().forEachRemaining(itemSet::add);
         return itemSet;
@@ -50,13 +177,24 @@ public class ItemServiceImpl implements ItemService {
 
     @Override
     public Set<Item> findByValueBetween(Double lower, Double upper) {
+        if (priceIndex != null) {
+            return lower == null || upper == null ? new HashSet<>() : loadAll(priceIndex.findIdsByValueBetween(lower, upper));
+        }
         Set<Item> itemSet = new HashSet<>();
         itemRepository.findItemsByValueBetween(lower,upper).iterator().forEachRemaining(itemSet::add);
         return itemSet;
     }
 
+    @Override
+    public List<ItemView> findViewsByValueBetween(Double lower, Double upper) {
+        return itemRepository.findItemViewsByValueBetween(lower, upper);
+    }
+
     @Override
     public Set<Item> findByValueLessThanEqual(Double value) {
+        if (priceIndex != null) {
+            return value == null ? new HashSet<>() : loadAll(priceIndex.findIdsByValueLessThan(value, true));
+        }
         Set<Item> itemSet = new HashSet<>();
         itemRepository.findItemsByValueLessThanEqual(value).iterator().forEachRemaining(itemSet::add);
         return itemSet;
@@ -64,6 +202,9 @@ public class ItemServiceImpl implements ItemService {
 
     @Override
     public Set<Item> findByValueLessThan(Double value) {
+        if (priceIndex != null) {
+            return value == null ? new HashSet<>() : loadAll(priceIndex.findIdsByValueLessThan(value, false));
+        }
         Set<Item> itemSet = new HashSet<>();
         itemRepository.findItemsByValueLessThan(value).iterator().forEachRemaining(itemSet::add);
         return itemSet;
@@ -71,6 +212,9 @@ public class ItemServiceImpl implements ItemService {
 
     @Override
     public Set<Item> findByValueGreaterThanEqual(Double value) {
+        if (priceIndex != null) {
+            return value == null ? new HashSet<>() : loadAll(priceIndex.findIdsByValueGreaterThan(value, true));
+        }
         Set<Item> itemSet = new HashSet<>();
         itemRepository.findItemsByValueGreaterThanEqual(value).iterator().forEachRemaining(itemSet::add);
         return itemSet;
@@ -78,6 +222,9 @@ public class ItemServiceImpl implements ItemService {
 
     @Override
     public Set<Item> findByValueGreaterThan(Double value) {
+        if (priceIndex != null) {
+            return value == null ? new HashSet<>() : loadAll(priceIndex.findIdsByValueGreaterThan(value, false));
+        }
         Set<Item> itemSet = new HashSet<>();
         itemRepository.findItemsByValueGreaterThan(value).iterator().forEachRemaining(itemSet::add);
         return itemSet;
@@ -85,18 +232,53 @@ public class ItemServiceImpl implements ItemService {
 
     @Override
     public Item save(Item item) {
+        if (batchValidator != null) {
+            batchValidator.validateOne(item);
+        }
         itemRepository.save(item);
+        if (priceIndex != null) {
+            priceIndex.put(item);
+        }
+        if (nameIndex != null) {
+            nameIndex.put(item);
+        }
         return item;
     }
 
     @Override
     public Iterable<Item> saveAll(Iterable<Item> items) {
-        itemRepository.saveAll(items);
-        return items;
+        return saveAllValidated(batchValidator != null ? batchValidator.validateAll(items) : items);
+    }
+
+    @Override
+    public Iterable<Item> saveAllValidated(Iterable<Item> items) {
+        Iterable<Item> savedItems = itemRepository.saveAll(items);
+        if (priceIndex != null) {
+            priceIndex.putAll(savedItems);
+        }
+        if (nameIndex != null) {
+            nameIndex.putAll(savedItems);
+        }
+        return savedItems;
+    }
+
+    /**
+     * The items an index answered with, loaded for this call, by primary key, so every caller gets its own instances.
+     */
+    private Set<Item> loadAll(List<Long> ids) {
+        Set<Item> itemSet = new HashSet<>();
+        itemRepository.findAllById(ids).iterator().forEachRemaining(itemSet::add);
+        return itemSet;
     }
 
     @Override
     public void deleteById(Long l) {
         itemRepository.deleteById(l);
+        if (priceIndex != null) {
+            priceIndex.remove(l);
+        }
+        if (nameIndex != null) {
+            nameIndex.remove(l);
+        }
     }
 }
@@ -0,0 +1,15 @@
+package org.inql.onlineshop.service;
+
+/**
+ * How much of an order is loaded together with it.
+ */
+public enum OrderFetchPlan {
+    /**
+     * The order and its client.
+     */
+    SUMMARY,
+    /**
+     * The order, its client and its lines with their items.
+     */
+    WITH_ITEMS
+}
@@ -2,22 +2,46 @@ package org.inql.onlineshop.service;
 
 import org.inql.onlineshop.domain.Item;
 import org.inql.onlineshop.domain.Order;
+import org.inql.onlineshop.domain.OrderExport;
+import org.inql.onlineshop.domain.OrderTotals;
+import org.inql.onlineshop.domain.OrderView;
 import javassist.NotFoundException;
 
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Stream;
 
 public interface OrderService {
     Set<Order> getOrders();
+    List<OrderView> getOrderViews();
+    Stream<Order> streamOrders();
+    Stream<Order> streamOrders(int fetchSize);
+    Stream<OrderExport> streamOrderExports();
+    Stream<OrderExport> streamOrderExports(int fetchSize);
+    List<Order> getOrders(Long afterId, int limit);
+    List<Order> getLargestOrders(int limit);
+    List<Order> getTopOrders(Comparator<? super Order> comparator, int limit);
     Order findById(Long l) throws NotFoundException;
+    Optional<Order> lookupById(Long l);
     Iterable<Order> findAll(Iterable<Long> orders_id);
     Set<Order> findOrdersByClientId(Long id);
     Set<Order> findOrdersByClientEmail(String email);
+    List<OrderView> findOrderViewsByClientId(Long id);
+    List<OrderView> findOrderViewsByClientEmail(String email);
+    Set<Order> findOrdersByClientId(Long id, OrderFetchPlan fetchPlan);
+    Set<Order> findOrdersByClientEmail(String email, OrderFetchPlan fetchPlan);
     Set<Order> findOrderByItem(Item item);
     Order save(Order order);
     Iterable<Order> saveAll(Iterable<Order> orders);
     void deleteById(Long idToDelete);
     boolean addItemToOrder(Item item, Order order);
+    boolean addItemToOrder(Item item, int quantity, Order order);
+    boolean addItemsToOrder(Collection<Item> items, Order order);
     double getOrderTotalValue(Order order);
+    double getOrderTotalValueById(Long orderId);
+    OrderTotals getOrderTotalValues(Collection<Long> orderIds);
 
 }
@@ -3,40 +3,127 @@ package org.inql.onlineshop.service;
 import javassist.NotFoundException;
 import org.inql.onlineshop.domain.Item;
 import org.inql.onlineshop.domain.Order;
+import org.inql.onlineshop.domain.OrderExport;
+import org.inql.onlineshop.domain.OrderLine;
+import org.inql.onlineshop.domain.OrderTotals;
+import org.inql.onlineshop.domain.OrderView;
+import org.inql.onlineshop.persistence.StatementBudget;
 import org.inql.onlineshop.repository.OrderRepository;
+import org.springframework.data.domain.PageRequest;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Stream;
 
 public class OrderServiceImpl implements OrderService {
 
+    private static final int DEFAULT_FETCH_SIZE = 500;
+
     OrderRepository orderRepository;
+    BatchValidator batchValidator;
 
     public OrderServiceImpl(OrderRepository orderRepository) {
+        this(orderRepository, null);
+    }
+
+    /**
+     * @param batchValidator validates the lines of every order before it is saved, optional
+     */
+    public OrderServiceImpl(OrderRepository orderRepository, BatchValidator batchValidator) {
         this.orderRepository = orderRepository;
+        this.batchValidator = batchValidator;
     }
 
     @Override
+    @StatementBudget(1)
     public Set<Order> getOrders() {
         Set<Order> orderSet = new HashSet<>();
         orderRepository.findAll().iterator().forEachRemaining(orderSet::add);
         return orderSet;
     }
 
+    /**
+     * Every order as a read-only view of its stored total, without hydrating entities into the persistence context.
+     */
+    @Override
+    @StatementBudget(1)
+    public List<OrderView> getOrderViews() {
+        return orderRepository.findOrderViews();
+    }
+
+    @Override
+    @StatementBudget(1)
+    public Stream<Order> streamOrders() {
+        return streamOrders(DEFAULT_FETCH_SIZE);
+    }
+
+    @Override
+    @StatementBudget(1)
+    public Stream<Order> streamOrders(int fetchSize) {
+        return orderRepository.streamAll(fetchSize);
+    }
+
+    @Override
+    @StatementBudget(1)
+    public Stream<OrderExport> streamOrderExports() {
+        return streamOrderExports(DEFAULT_FETCH_SIZE);
+    }
+
+    @Override
+    @StatementBudget(1)
+    public Stream<OrderExport> streamOrderExports(int fetchSize) {
+        return orderRepository.streamOrderExports(fetchSize);
+    }
+
     @Override
+    @StatementBudget(1)
+    public List<Order> getOrders(Long afterId, int limit) {
+        return orderRepository.findOrdersByIdGreaterThanOrderByIdAsc(afterId == null ? Long.MIN_VALUE : afterId, PageRequest.of(0, limit));
+    }
+
+    @Override
+    @StatementBudget(1)
+    public List<Order> getLargestOrders(int limit) {
+        return orderRepository.findOrdersByOrderByTotalDescIdDesc(PageRequest.of(0, limit));
+    }
+
+    /**
+     * The first {@code limit} orders in the order of the comparator, kept in a bounded heap while all orders
+     * are streamed, use {@link #getLargestOrders(int)} for the order the database can sort by.
+     */
+    @Override
+    @StatementBudget(1)
+    public List<Order> getTopOrders(Comparator<? super Order> comparator, int limit) {
+        return orderRepository.findTop(comparator, limit);
+    }
+
+    @Override
+    @StatementBudget(1)
     public Order findById(Long l) throws NotFoundException {
-        Optional<Order> orderOptional = orderRepository.findById(l);
-        return orderOptional.orElseThrow(() -> new NotFoundException("Order not found"));
+        return lookupById(l).orElseThrow(() -> new StacklessNotFoundException("Order not found"));
     }
 
     @Override
+    @StatementBudget(1)
+    public Optional<Order> lookupById(Long l) {
+        return orderRepository.findById(l);
+    }
+
+    @Override
+    @StatementBudget(1)
     public Iterable<Order> findAll(Iterable<Long> orders_id) {
         return orderRepository.findAllById(orders_id);
     }
 
     @Override
+    @StatementBudget(1)
     public Set<Order> findOrdersByClientId(Long id) {
         Set<Order> orderSet = new HashSet<>();
         orderRepository.findOrdersByClient_Id(id).iterator().forEachRemaining(orderSet::add);
@@ -45,6 +132,7 @@ public class OrderServiceImpl implements OrderService {
     }
 
     @Override
+    @StatementBudget(1)
     public Set<Order> findOrdersByClientEmail(String email) {
         Set<Order> orderSet = new HashSet<>();
         orderRepository.findOrdersByClient_Email(email).iterator().forEachRemaining(orderSet::add);
@@ -52,6 +140,37 @@ public class OrderServiceImpl implements OrderService {
     }
 
     @Override
+    @StatementBudget(1)
+    public List<OrderView> findOrderViewsByClientId(Long id) {
+        return orderRepository.findOrderViewsByClient_Id(id);
+    }
+
+    @Override
+    @StatementBudget(1)
+    public List<OrderView> findOrderViewsByClientEmail(String email) {
+        return orderRepository.findOrderViewsByClient_Email(email);
+    }
+
+    @Override
+    @StatementBudget(1)
+    public Set<Order> findOrdersByClientId(Long id, OrderFetchPlan fetchPlan) {
+        if (fetchPlan == OrderFetchPlan.WITH_ITEMS) {
+            return orderRepository.findOrdersWithItemsByClient_Id(id);
+        }
+        return orderRepository.findOrderSummariesByClient_Id(id);
+    }
+
+    @Override
+    @StatementBudget(1)
+    public Set<Order> findOrdersByClientEmail(String email, OrderFetchPlan fetchPlan) {
+        if (fetchPlan == OrderFetchPlan.WITH_ITEMS) {
+            return orderRepository.findOrdersWithItemsByClient_Email(email);
+        }
+        return orderRepository.findOrderSummariesByClient_Email(email);
+    }
+
+    @Override
+    @StatementBudget(1)
     public Set<Order> findOrderByItem(Item item) {
         Set<Order> orderSet = new HashSet<>();
         orderRepository.findOrdersByItemsContains(item).iterator().forEachRemaining(orderSet::add);
@@ -59,41 +178,105 @@ public class OrderServiceImpl implements OrderService {
     }
 
     @Override
+    @StatementBudget(5)
     public Order save(Order order) {
+        validateLines(order);
         return orderRepository.save(order);
     }
 
     @Override
+    @StatementBudget(value = 2, perBatch = 4)
     public Iterable<Order> saveAll(Iterable<Order> orders) {
+        if (batchValidator == null || orders == null) {
+            return orderRepository.saveAll(orders);
+        }
+        List<Order> batch = new ArrayList<>();
+        List<OrderLine> lines = new ArrayList<>();
+        for (Order order : orders) {
+            batch.add(order);
+            if (order != null) {
+                lines.addAll(order.getLines());
+            }
+        }
+        batchValidator.validateAll(lines);
+        return orderRepository.saveAll(batch);
+    }
 
-        return orderRepository.saveAll(orders);
+    private void validateLines(Order order) {
+        if (batchValidator != null && order != null) {
+            batchValidator.validateAll(order.getLines());
+        }
     }
 
     @Override
+    @StatementBudget(5)
     public void deleteById(Long idToDelete) {
         orderRepository.deleteById(idToDelete);
     }
 
     @Override
+    @StatementBudget(6)
     public boolean addItemToOrder(Item item, Order order) {
         if(item == null || order == null){
             return false;
         }
-        order.getItems().add(item);
-        orderRepository.save(order);
+        return addItemsToOrder(Collections.singletonList(item), order);
+    }
+
+    @Override
+    @StatementBudget(6)
+    public boolean addItemToOrder(Item item, int quantity, Order order) {
+        if (item == null || order == null || quantity <= 0) {
+            return false;
+        }
+        order.addItem(item, quantity);
+        saveLines(order);
         return true;
     }
 
     @Override
+    @StatementBudget(6)
+    public boolean addItemsToOrder(Collection<Item> items, Order order) {
+        if (items == null || order == null || items.isEmpty() || items.stream().anyMatch(Objects::isNull)) {
+            return false;
+        }
+        items.forEach(item -> order.addItem(item, 1));
+        saveLines(order);
+        return true;
+    }
+
+    private void saveLines(Order order) {
+        validateLines(order);
+        Order saved = orderRepository.save(order);
+        if (saved != null && saved != order) {
+            // a detached order still holds the new lines without ids, take over the merged ones so that
+            // the next increment updates the stored row instead of inserting a duplicate line
+            order.setLines(saved.getLines());
+        }
+    }
+
+    @Override
+    @StatementBudget(0)
     public double getOrderTotalValue(Order order) {
-        double result = 0D;
-        if (order != null){
-            for (Item item :
-                    order.getItems()) {
-                result+=item.getValue();
-            }
+        return order == null ? 0D : order.getTotal();
+    }
+
+    @Override
+    @StatementBudget(1)
+    public double getOrderTotalValueById(Long orderId) {
+        if (orderId == null) {
+            return 0D;
         }
+        Double total = orderRepository.findTotalById(orderId);
+        return total == null ? 0D : total;
+    }
 
-        return result;
+    @Override
+    @StatementBudget(value = 0, perBatch = 1)
+    public OrderTotals getOrderTotalValues(Collection<Long> orderIds) {
+        if (orderIds == null || orderIds.isEmpty()) {
+            return OrderTotals.empty();
+        }
+        return orderRepository.findTotalsByOrderIds(orderIds);
     }
 }
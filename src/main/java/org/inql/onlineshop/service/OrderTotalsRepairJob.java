@@ -0,0 +1,79 @@
+package org.inql.onlineshop.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.inql.onlineshop.repository.OrderRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Verifies the denormalized total and item count of every order against its lines, a page of orders at a time,
+ * and recomputes the ones that drifted, e.g. after lines were written with plain SQL or a concurrent update of
+ * a detached order overwrote a newer total.
+ */
+public class OrderTotalsRepairJob {
+
+    public static final String REPAIRED_METRIC = "order.totals.repaired";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(OrderTotalsRepairJob.class);
+    // stored totals are rounded to cents, anything closer is rounding noise of the computed sum
+    private static final double TOLERANCE = 0.005D;
+
+    private final OrderRepository orderRepository;
+    private final int pageSize;
+    private final Counter repaired;
+
+    public OrderTotalsRepairJob(OrderRepository orderRepository, int pageSize, MeterRegistry meterRegistry) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        this.orderRepository = orderRepository;
+        this.pageSize = pageSize;
+        this.repaired = Counter.builder(REPAIRED_METRIC)
+                .description("Orders whose stored total or item count did not match their lines")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the number of orders that were repaired.
+     */
+    @Scheduled(initialDelayString = "${onlineshop.order-totals.repair-interval-ms:3600000}",
+            fixedDelayString = "${onlineshop.order-totals.repair-interval-ms:3600000}")
+    public int repair() {
+        int repairedOrders = 0;
+        long afterId = Long.MIN_VALUE;
+        List<Object[]> page;
+        do {
+            page = orderRepository.findOrderTotalsByIdGreaterThan(afterId, PageRequest.of(0, pageSize));
+            List<Long> drifted = new ArrayList<>();
+            for (Object[] row : page) {
+                afterId = (Long) row[0];
+                if (isDrifted(row)) {
+                    drifted.add(afterId);
+                }
+            }
+            if (!drifted.isEmpty()) {
+                orderRepository.recomputeTotals(drifted);
+                repaired.increment(drifted.size());
+                repairedOrders += drifted.size();
+            }
+        } while (page.size() == pageSize);
+        if (repairedOrders > 0) {
+            LOGGER.warn("Repaired the total and item count of {} orders", repairedOrders);
+        }
+        return repairedOrders;
+    }
+
+    private static boolean isDrifted(Object[] row) {
+        double storedTotal = ((Number) row[1]).doubleValue();
+        int storedCount = ((Number) row[2]).intValue();
+        double total = ((Number) row[3]).doubleValue();
+        long count = ((Number) row[4]).longValue();
+        return Math.abs(storedTotal - total) > TOLERANCE || storedCount != count;
+    }
+}
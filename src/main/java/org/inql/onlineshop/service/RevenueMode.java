@@ -0,0 +1,15 @@
+package org.inql.onlineshop.service;
+
+/**
+ * Where the revenue of every client is aggregated.
+ */
+public enum RevenueMode {
+    /**
+     * In the database, a single grouped query over the stored order totals.
+     */
+    SQL,
+    /**
+     * In memory, a snapshot of the order totals split across a fork/join pool.
+     */
+    PARALLEL
+}
@@ -0,0 +1,149 @@
+package org.inql.onlineshop.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.inql.onlineshop.cache.ClientCache;
+import org.inql.onlineshop.domain.Client;
+import org.inql.onlineshop.domain.Item;
+import org.inql.onlineshop.domain.OrderLine;
+import org.inql.onlineshop.index.ClientSearchIndex;
+import org.inql.onlineshop.index.ItemNameIndex;
+import org.inql.onlineshop.index.ItemPriceIndex;
+import org.inql.onlineshop.metrics.ServiceMetrics;
+import org.inql.onlineshop.persistence.StatementBudgets;
+import org.inql.onlineshop.repository.ClientRepository;
+import org.inql.onlineshop.repository.ItemRepository;
+import org.inql.onlineshop.repository.OrderRepository;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import javax.validation.Validator;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * The services as beans, each instrumented with {@link ServiceMetrics} and held to its {@link StatementBudgets},
+ * and their async counterparts running on {@code serviceExecutor}. Batches saved through {@code saveAll} are
+ * validated up front by the {@link BatchValidator}, clients are read by id and email through the {@link ClientCache}.
+ * The stored order totals are checked against the order lines by the scheduled {@link OrderTotalsRepairJob}
+ * and summed by client by the {@link ClientRevenueService}, in memory on the {@link ClientRevenueAggregator}.
+ * The in-memory indexes are off unless switched on one by one with {@code onlineshop.index.*.enabled}, each is
+ * loaded from the whole table when its service is created and the service uses the repository queries without it.
+ */
+@Configuration
+@EnableScheduling
+public class ServiceConfiguration {
+
+    private final boolean failOnBudgetViolation;
+
+    public ServiceConfiguration(@Value("${onlineshop.sql.fail-on-budget-violation:false}") boolean failOnBudgetViolation) {
+        this.failOnBudgetViolation = failOnBudgetViolation;
+    }
+
+    @Bean
+    public BatchValidator batchValidator(Validator validator, @Value("${onlineshop.validation.parallelism:4}") int parallelism) {
+        return new BatchValidator(validator, parallelism, Item.class, Client.class, OrderLine.class);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "onlineshop.index.item-price.enabled", havingValue = "true")
+    public ItemPriceIndex itemPriceIndex() {
+        return new ItemPriceIndex();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "onlineshop.index.item-name.enabled", havingValue = "true")
+    public ItemNameIndex itemNameIndex() {
+        return new ItemNameIndex();
+    }
+
+    @Bean
+    public ItemService itemService(ItemRepository itemRepository, ObjectProvider<ItemPriceIndex> itemPriceIndex,
+                                   ObjectProvider<ItemNameIndex> itemNameIndex, BatchValidator batchValidator,
+                                   MeterRegistry meterRegistry) {
+        ItemService itemService = new ItemServiceImpl(itemRepository, itemPriceIndex.getIfAvailable(), itemNameIndex.getIfAvailable(),
+                batchValidator);
+        return ServiceMetrics.instrument(ItemService.class, itemService, meterRegistry);
+    }
+
+    @Bean
+    public ClientCache clientCache(@Value("${onlineshop.client-cache.ttl-seconds:300}") long ttlSeconds,
+                                   @Value("${onlineshop.client-cache.negative-ttl-seconds:10}") long negativeTtlSeconds,
+                                   @Value("${onlineshop.client-cache.maximum-size:10000}") long maximumSize,
+                                   MeterRegistry meterRegistry) {
+        return new ClientCache(Duration.ofSeconds(ttlSeconds), Duration.ofSeconds(negativeTtlSeconds), maximumSize, meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "onlineshop.index.client-search.enabled", havingValue = "true")
+    public ClientSearchIndex clientSearchIndex() {
+        return new ClientSearchIndex();
+    }
+
+    /**
+     * The cache sits outside the statement budgets, a cached lookup issues no statements anyway.
+     */
+    @Bean
+    public ClientService clientService(ClientRepository clientRepository, ObjectProvider<ClientSearchIndex> clientSearchIndex,
+                                       BatchValidator batchValidator, ClientCache clientCache, MeterRegistry meterRegistry) {
+        ClientService clientService = StatementBudgets.enforce(ClientService.class,
+                new ClientServiceImpl(clientRepository, clientSearchIndex.getIfAvailable(), batchValidator), failOnBudgetViolation);
+        return ServiceMetrics.instrument(ClientService.class, new CachingClientService(clientService, clientCache), meterRegistry);
+    }
+
+    @Bean
+    public OrderService orderService(OrderRepository orderRepository, BatchValidator batchValidator, MeterRegistry meterRegistry) {
+        OrderService orderService = StatementBudgets.enforce(OrderService.class, new OrderServiceImpl(orderRepository, batchValidator),
+                failOnBudgetViolation);
+        return ServiceMetrics.instrument(OrderService.class, orderService, meterRegistry);
+    }
+
+    @Bean
+    public ClientRevenueAggregator clientRevenueAggregator(@Value("${onlineshop.revenue.parallelism:4}") int parallelism) {
+        return new ClientRevenueAggregator(parallelism);
+    }
+
+    @Bean
+    public ClientRevenueService clientRevenueService(OrderRepository orderRepository, ClientRevenueAggregator clientRevenueAggregator,
+                                                     MeterRegistry meterRegistry) {
+        ClientRevenueService clientRevenueService = StatementBudgets.enforce(ClientRevenueService.class,
+                new ClientRevenueServiceImpl(orderRepository, clientRevenueAggregator), failOnBudgetViolation);
+        return ServiceMetrics.instrument(ClientRevenueService.class, clientRevenueService, meterRegistry);
+    }
+
+    @Bean
+    public OrderTotalsRepairJob orderTotalsRepairJob(OrderRepository orderRepository,
+                                                     @Value("${onlineshop.order-totals.repair-page-size:1000}") int pageSize,
+                                                     MeterRegistry meterRegistry) {
+        return new OrderTotalsRepairJob(orderRepository, pageSize, meterRegistry);
+    }
+
+    /**
+     * Platform threads by default, virtual threads with {@code onlineshop.async.virtual-threads=true} on Java 21+.
+     * Either way no more calls run at a time than the default size of the connection pool.
+     */
+    @Bean
+    public ExecutorService serviceExecutor(@Value("${onlineshop.async.threads:10}") int threads,
+                                           @Value("${onlineshop.async.queue-capacity:100}") int queueCapacity,
+                                           @Value("${onlineshop.async.virtual-threads:false}") boolean virtualThreads) {
+        return virtualThreads ? ServiceExecutors.virtualThreads(threads) : ServiceExecutors.bounded("service", threads, queueCapacity);
+    }
+
+    @Bean
+    public AsyncItemService asyncItemService(ItemService itemService, ExecutorService serviceExecutor) {
+        return new AsyncItemServiceImpl(itemService, serviceExecutor);
+    }
+
+    @Bean
+    public AsyncClientService asyncClientService(ClientService clientService, ExecutorService serviceExecutor) {
+        return new AsyncClientServiceImpl(clientService, serviceExecutor);
+    }
+
+    @Bean
+    public AsyncOrderService asyncOrderService(OrderService orderService, ExecutorService serviceExecutor) {
+        return new AsyncOrderServiceImpl(orderService, serviceExecutor);
+    }
+}
@@ -0,0 +1,140 @@
+package org.inql.onlineshop.service;
+
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executors for the async services. Both apply back-pressure: once they are saturated, submitting blocks the
+ * caller instead of queueing without limit, so a burst of lookups cannot pile up more work than the connection
+ * pool can serve.
+ */
+public final class ServiceExecutors {
+
+    private ServiceExecutors() {
+    }
+
+    /**
+     * A fixed pool of platform threads with a bounded queue. When the queue is full the submitting thread waits
+     * for room, the call always runs on a pool thread.
+     */
+    public static ExecutorService bounded(String name, int threads, int queueCapacity) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory(name), (call, pool) -> {
+            // never drop a call silently, its future would not complete
+            if (pool.isShutdown()) {
+                throw new RejectedExecutionException(name + " executor is shut down");
+            }
+            try {
+                pool.getQueue().put(call);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RejectedExecutionException("Interrupted while waiting for room in the " + name + " executor", e);
+            }
+            // a shutdown racing the put would leave the call queued, possibly after the workers have exited
+            if (pool.isShutdown() && pool.remove(call)) {
+                throw new RejectedExecutionException(name + " executor is shut down");
+            }
+        });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * A virtual thread per call, at most {@code maxConcurrent} at a time. Needs Java 21 or newer at runtime.
+     */
+    public static ExecutorService virtualThreads(int maxConcurrent) {
+        ExecutorService executor;
+        try {
+            executor = (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (NoSuchMethodException e) {
+            throw new UnsupportedOperationException("Virtual threads need Java 21 or newer, running on "
+                    + System.getProperty("java.version"));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot create a virtual thread executor", e);
+        }
+        return limited(executor, maxConcurrent);
+    }
+
+    /**
+     * Lets at most {@code maxConcurrent} calls run on the executor at a time, further submitters wait for a slot.
+     */
+    public static ExecutorService limited(ExecutorService executor, int maxConcurrent) {
+        return new LimitedExecutor(executor, maxConcurrent);
+    }
+
+    private static ThreadFactory threadFactory(String name) {
+        AtomicInteger threads = new AtomicInteger();
+        return call -> {
+            Thread thread = new Thread(call, name + "-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static final class LimitedExecutor extends AbstractExecutorService {
+
+        private final ExecutorService executor;
+        private final Semaphore slots;
+
+        LimitedExecutor(ExecutorService executor, int maxConcurrent) {
+            this.executor = executor;
+            this.slots = new Semaphore(maxConcurrent);
+        }
+
+        @Override
+        public void execute(Runnable call) {
+            try {
+                slots.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RejectedExecutionException("Interrupted while waiting for an executor slot", e);
+            }
+            try {
+                executor.execute(() -> {
+                    try {
+                        call.run();
+                    } finally {
+                        slots.release();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                slots.release();
+                throw e;
+            }
+        }
+
+        @Override
+        public void shutdown() {
+            executor.shutdown();
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return executor.shutdownNow();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return executor.isShutdown();
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return executor.isTerminated();
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+            return executor.awaitTermination(timeout, unit);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package org.inql.onlineshop.service;
+
+import javassist.NotFoundException;
+
+/**
+ * A {@link NotFoundException} that skips filling in the stack trace, the costly part of throwing. A miss is an
+ * expected outcome and the message says what was not found, so the trace carries nothing worth the cost.
+ * Having no trace, an instance can also be allocated once up front.
+ */
+public class StacklessNotFoundException extends NotFoundException {
+
+    public StacklessNotFoundException(String message) {
+        super(message);
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
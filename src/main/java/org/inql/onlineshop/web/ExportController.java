@@ -0,0 +1,160 @@
+package org.inql.onlineshop.web;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Clock;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.inql.onlineshop.domain.Client;
+import org.inql.onlineshop.domain.Item;
+import org.inql.onlineshop.domain.OrderExport;
+import org.inql.onlineshop.service.ClientService;
+import org.inql.onlineshop.service.ItemService;
+import org.inql.onlineshop.service.OrderService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Full dumps as newline-delimited JSON, streamed from a database cursor straight into the response. One row
+ * is held at a time, so memory does not grow with the size of the export. The time until the first row is
+ * flushed and the time of the whole export are recorded as {@value #FIRST_BYTE_METRIC} and {@value #EXPORT_METRIC}
+ * timers tagged with the type.
+ */
+@RestController
+@RequestMapping("/export")
+public class ExportController {
+
+    public static final String NDJSON = "application/x-ndjson";
+    public static final String EXPORT_METRIC = "onlineshop.export";
+    public static final String FIRST_BYTE_METRIC = "onlineshop.export.first.byte";
+
+    private static final MediaType NDJSON_TYPE = MediaType.parseMediaType(NDJSON);
+
+    private final ItemService itemService;
+    private final ClientService clientService;
+    private final OrderService orderService;
+    private final TransactionTemplate transactionTemplate;
+    private final JsonFactory jsonFactory;
+    private final MeterRegistry meterRegistry;
+    private final Clock clock;
+
+    public ExportController(ItemService itemService, ClientService clientService, OrderService orderService,
+                            PlatformTransactionManager transactionManager, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.itemService = itemService;
+        this.clientService = clientService;
+        this.orderService = orderService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.jsonFactory = objectMapper.getFactory();
+        this.meterRegistry = meterRegistry;
+        this.clock = meterRegistry.config().clock();
+    }
+
+    @GetMapping(value = "/items", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> exportItems() {
+        return export("items", itemService::streamItems, (Item item, JsonGenerator json) -> {
+            json.writeNumberField("id", item.getId());
+            json.writeStringField("name", item.getName());
+            json.writeNumberField("value", item.getValue());
+        });
+    }
+
+    @GetMapping(value = "/clients", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> exportClients() {
+        return export("clients", clientService::streamClients, (Client client, JsonGenerator json) -> {
+            json.writeNumberField("id", client.getId());
+            json.writeStringField("name", client.getName());
+            json.writeStringField("surname", client.getSurname());
+            json.writeStringField("email", client.getEmail());
+        });
+    }
+
+    @GetMapping(value = "/orders", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> exportOrders() {
+        return export("orders", orderService::streamOrderExports, (OrderExport order, JsonGenerator json) -> {
+            json.writeNumberField("id", order.getOrderId());
+            if (order.getClientId() == null) {
+                json.writeNullField("clientId");
+            } else {
+                json.writeNumberField("clientId", order.getClientId());
+            }
+            json.writeArrayFieldStart("lines");
+            for (int i = 0; i < order.getLineCount(); i++) {
+                json.writeStartObject();
+                json.writeNumberField("itemId", order.getItemIdAt(i));
+                json.writeNumberField("quantity", order.getQuantityAt(i));
+                json.writeEndObject();
+            }
+            json.writeEndArray();
+            json.writeNumberField("itemCount", order.getItemCount());
+            json.writeNumberField("total", order.getTotal());
+        });
+    }
+
+    private <T> ResponseEntity<StreamingResponseBody> export(String type, Supplier<Stream<T>> rows, RowWriter<T> writer) {
+        long requested = clock.monotonicTime();
+        StreamingResponseBody body = out -> transactionTemplate.execute(status -> {
+            try (Stream<T> stream = rows.get()) {
+                write(type, requested, stream, writer, out);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return null;
+        });
+        return ResponseEntity.ok()
+                .contentType(NDJSON_TYPE)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + type + ".ndjson\"")
+                .body(body);
+    }
+
+    private <T> void write(String type, long requested, Stream<T> rows, RowWriter<T> writer, OutputStream out) throws IOException {
+        JsonGenerator json = jsonFactory.createGenerator(out);
+        json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        json.setRootValueSeparator(null);
+        boolean first = true;
+        Iterator<T> iterator = rows.iterator();
+        while (iterator.hasNext()) {
+            json.writeStartObject();
+            writer.write(iterator.next(), json);
+            json.writeEndObject();
+            json.writeRaw('\n');
+            if (first) {
+                json.flush();
+                out.flush();
+                record(FIRST_BYTE_METRIC, type, requested);
+                first = false;
+            }
+        }
+        json.close();
+        if (first) {
+            record(FIRST_BYTE_METRIC, type, requested);
+        }
+        record(EXPORT_METRIC, type, requested);
+    }
+
+    private void record(String metric, String type, long since) {
+        Timer.builder(metric).tag("type", type).register(meterRegistry)
+                .record(clock.monotonicTime() - since, TimeUnit.NANOSECONDS);
+    }
+
+    @FunctionalInterface
+    private interface RowWriter<T> {
+        void write(T row, JsonGenerator json) throws IOException;
+    }
+}
@@ -0,0 +1,40 @@
+package org.inql.onlineshop.web;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Streaming response bodies such as the exports are written on {@code exportExecutor}, which bounds how many
+ * run at the same time, each holding a connection for its whole duration.
+ */
+@Configuration
+public class WebConfiguration implements WebMvcConfigurer {
+
+    private final int exportThreads;
+    private final int exportQueueCapacity;
+
+    public WebConfiguration(@Value("${onlineshop.export.threads:4}") int exportThreads,
+                            @Value("${onlineshop.export.queue-capacity:16}") int exportQueueCapacity) {
+        this.exportThreads = exportThreads;
+        this.exportQueueCapacity = exportQueueCapacity;
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor exportExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(exportThreads);
+        executor.setMaxPoolSize(exportThreads);
+        executor.setQueueCapacity(exportQueueCapacity);
+        executor.setThreadNamePrefix("export-");
+        return executor;
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(exportExecutor());
+    }
+}
@@ -0,0 +1,172 @@
+package org.inql.onlineshop.cache;
+
+import com.google.common.base.Ticker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.inql.onlineshop.domain.Client;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+public class ClientCacheTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final Ticker ticker = new Ticker() {
+        @Override
+        public long read() {
+            return nanos.get();
+        }
+    };
+
+    private MeterRegistry registry;
+    private ClientCache clientCache;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        clientCache = new ClientCache(Duration.ofMinutes(5), Duration.ofSeconds(10), 3, registry, ticker);
+    }
+
+    private Client client(long id, String email) {
+        Client client = new Client("Adam", "Abacki", email);
+        client.setId(id);
+        return client;
+    }
+
+    private void advance(Duration duration) {
+        nanos.addAndGet(duration.toNanos());
+    }
+
+    private double gets(String key, String result) {
+        return registry.get(ClientCache.GETS_METRIC).tag("key", key).tag("result", result).counter().count();
+    }
+
+    @Test
+    void cachedUnderIdAndEmailTest() {
+        Client client = client(1L, "adam@abacki.pl");
+
+        assertThat(clientCache.getById(1L)).isNull();
+        clientCache.putById(1L, Optional.of(client), clientCache.generation());
+
+        assertAll(
+                () -> assertThat(clientCache.getById(1L)).contains(1L),
+                () -> assertThat(clientCache.getByEmail("adam@abacki.pl")).contains(1L),
+                () -> assertThat(clientCache.getByEmail("other@abacki.pl")).isNull(),
+                () -> assertThat(gets("id", "hit")).isZero(),
+                () -> assertThat(gets("id", "miss")).isEqualTo(2),
+                () -> assertThat(gets("email", "hit")).isEqualTo(1),
+                () -> assertThat(gets("email", "miss")).isEqualTo(1),
+                () -> assertThat(registry.get(ClientCache.HIT_RATIO_METRIC).gauge().value()).isEqualTo(0.25)
+        );
+    }
+
+    @Test
+    void entriesExpireAfterTtlTest() {
+        clientCache.putByEmail("adam@abacki.pl", Optional.of(client(1L, "adam@abacki.pl")), clientCache.generation());
+
+        advance(Duration.ofMinutes(4));
+        assertThat(clientCache.getByEmail("adam@abacki.pl")).isPresent();
+        advance(Duration.ofMinutes(1));
+
+        assertThat(clientCache.getByEmail("adam@abacki.pl")).isNull();
+        assertThat(clientCache.getById(1L)).isNull();
+        clientCache.cleanUp();
+        assertThat(clientCache.size()).isZero();
+        assertThat(registry.get(ClientCache.EVICTIONS_METRIC).tag(ClientCache.CACHE_TAG, "clients").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void putAgainKeepsTtlTest() {
+        clientCache.putById(1L, Optional.of(client(1L, "adam@abacki.pl")), clientCache.generation());
+
+        advance(Duration.ofMinutes(4));
+        clientCache.putById(1L, Optional.of(client(1L, "adam@abacki.pl")), clientCache.generation());
+        clientCache.putByEmail("adam@abacki.pl", Optional.of(client(1L, "adam@abacki.pl")), clientCache.generation());
+        advance(Duration.ofMinutes(1));
+
+        assertThat(clientCache.getById(1L)).isNull();
+        assertThat(clientCache.getByEmail("adam@abacki.pl")).isNull();
+    }
+
+    @Test
+    void missesCachedBrieflyTest() {
+        clientCache.putByEmail("missing@abacki.pl", Optional.empty(), clientCache.generation());
+        clientCache.putById(7L, Optional.empty(), clientCache.generation());
+
+        assertThat(clientCache.getByEmail("missing@abacki.pl")).isEmpty();
+        assertThat(clientCache.getById(7L)).isEmpty();
+        assertThat(gets("email", "hit")).isEqualTo(1);
+        assertThat(gets("id", "hit")).isEqualTo(1);
+
+        advance(Duration.ofSeconds(10));
+
+        assertThat(clientCache.getByEmail("missing@abacki.pl")).isNull();
+        assertThat(clientCache.getById(7L)).isNull();
+    }
+
+    @Test
+    void invalidateDropsOldEmailTest() {
+        Client client = client(1L, "adam@abacki.pl");
+        clientCache.putById(1L, Optional.of(client), clientCache.generation());
+        clientCache.putByEmail("new@abacki.pl", Optional.empty(), clientCache.generation());
+
+        client.setEmail("new@abacki.pl");
+        clientCache.invalidate(1L, "new@abacki.pl");
+
+        assertThat(clientCache.getByEmail("adam@abacki.pl")).isNull();
+        assertThat(clientCache.getByEmail("new@abacki.pl")).isNull();
+        assertThat(clientCache.getById(1L)).isNull();
+    }
+
+    @Test
+    void invalidateByEmailDropsClientTest() {
+        clientCache.putById(1L, Optional.of(client(1L, "adam@abacki.pl")), clientCache.generation());
+
+        clientCache.invalidate(null, "adam@abacki.pl");
+
+        assertThat(clientCache.getById(1L)).isNull();
+    }
+
+    @Test
+    void loadRacingInvalidationNotCachedTest() {
+        long loadedAt = clientCache.generation();
+        clientCache.invalidate(1L, "adam@abacki.pl");
+
+        clientCache.putById(1L, Optional.of(client(1L, "adam@abacki.pl")), loadedAt);
+        clientCache.putByEmail("adam@abacki.pl", Optional.empty(), loadedAt);
+
+        assertThat(clientCache.getById(1L)).isNull();
+        assertThat(clientCache.getByEmail("adam@abacki.pl")).isNull();
+    }
+
+    @Test
+    void boundedSizeTest() {
+        for (long id = 1; id <= 5; id++) {
+            clientCache.putById(id, Optional.of(client(id, "client" + id + "@abacki.pl")), clientCache.generation());
+        }
+
+        assertThat(clientCache.size()).isEqualTo(3);
+        assertThat(registry.get(ClientCache.SIZE_METRIC).tag(ClientCache.CACHE_TAG, "clients").gauge().value()).isEqualTo(3);
+        assertThat(registry.get(ClientCache.EVICTIONS_METRIC).tag(ClientCache.CACHE_TAG, "clients").counter().count()).isEqualTo(2);
+        assertThat(clientCache.getByEmail("client1@abacki.pl")).isNull();
+        assertThat(clientCache.getByEmail("client5@abacki.pl")).isPresent();
+    }
+
+    @Test
+    void invalidateAllTest() {
+        clientCache.putById(1L, Optional.of(client(1L, "adam@abacki.pl")), clientCache.generation());
+        clientCache.putById(2L, Optional.empty(), clientCache.generation());
+
+        clientCache.invalidateAll();
+
+        assertThat(clientCache.getByEmail("adam@abacki.pl")).isNull();
+        assertThat(clientCache.getById(2L)).isNull();
+        assertThat(registry.get(ClientCache.EVICTIONS_METRIC).tag(ClientCache.CACHE_TAG, "clients").counter().count()).isZero();
+    }
+}
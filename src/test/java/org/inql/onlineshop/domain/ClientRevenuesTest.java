@@ -0,0 +1,57 @@
+package org.inql.onlineshop.domain;
+
+import org.assertj.core.data.Offset;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class ClientRevenuesTest {
+
+    private ClientRevenues clientRevenues;
+
+    @BeforeEach
+    public void setUp() {
+        clientRevenues = new ClientRevenues(new long[]{2L, 5L, 9L}, new double[]{10.5D, 0D, 30D}, new int[]{3, 0, 4});
+    }
+
+    @Test
+    void getTest() {
+        assertThat(clientRevenues.getLifetimeValue(2L)).isEqualTo(10.5D, Offset.offset(0D));
+        assertThat(clientRevenues.getOrderCount(9L)).isEqualTo(4);
+        assertThat(clientRevenues.getAverageBasket(2L)).isEqualTo(3.5D, Offset.offset(0D));
+        assertThat(clientRevenues.getAverageBasket(5L)).isEqualTo(0D, Offset.offset(0D));
+    }
+
+    @Test
+    void getMissingClientTest() {
+        assertThat(clientRevenues.getLifetimeValue(4L)).isEqualTo(0D, Offset.offset(0D));
+        assertThat(clientRevenues.getOrderCount(4L)).isZero();
+        assertThat(clientRevenues.getAverageBasket(4L)).isEqualTo(0D, Offset.offset(0D));
+        assertThat(clientRevenues.contains(4L)).isFalse();
+        assertThat(clientRevenues.contains(5L)).isTrue();
+    }
+
+    @Test
+    void positionalAccessTest() {
+        assertThat(clientRevenues.size()).isEqualTo(3);
+        assertThat(clientRevenues.clientIdAt(2)).isEqualTo(9L);
+        assertThat(clientRevenues.lifetimeValueAt(2)).isEqualTo(30D, Offset.offset(0D));
+        assertThat(clientRevenues.orderCountAt(0)).isEqualTo(3);
+        assertThat(clientRevenues.averageBasketAt(2)).isEqualTo(7.5D, Offset.offset(0D));
+        assertThat(clientRevenues.totalRevenue()).isEqualTo(40.5D, Offset.offset(0D));
+        assertThat(clientRevenues.totalOrders()).isEqualTo(7L);
+    }
+
+    @Test
+    void mismatchedArraysTest() {
+        assertThatThrownBy(() -> new ClientRevenues(new long[]{1L}, new double[1], new int[0])).isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Client ids, lifetime values and order counts must have the same length");
+    }
+
+    @AfterEach
+    public void tearDown() {
+        clientRevenues = null;
+    }
+}
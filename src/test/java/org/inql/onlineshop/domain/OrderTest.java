@@ -5,7 +5,10 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.ListIterator;
 
 import static org.assertj.core.api.Assertions.*;
 
@@ -42,6 +45,128 @@ public class OrderTest {
         assertThat(order.getItems()).isInstanceOf(List.class).hasOnlyElementsOfType(Item.class).isEqualTo(items);
     }
 
+    @Test
+    void addItemIncrementsExistingLineTest() {
+        Item item = new Item("Banana", 2.5D);
+        Item secondItem = new Item("Ball", 4D);
+
+        OrderLine line = order.addItem(item, 2);
+        order.addItem(secondItem, 1);
+        OrderLine sameLine = order.addItem(item, 3);
+
+        assertThat(sameLine).isSameAs(line);
+        assertThat(order.getLines()).extracting(OrderLine::getQuantity).containsExactly(5, 1);
+        assertThat(line.getUnitPrice()).isEqualTo(2.5D);
+        assertThat(line.getLineTotal()).isEqualTo(12.5D);
+    }
+
+    @Test
+    void addItemIllegalQuantityTest() {
+        assertThatThrownBy(() -> order.addItem(new Item("Banana", 2.5D), 0)).isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Quantity must be positive");
+    }
+
+    @Test
+    void getItemsExpandsQuantitiesTest() {
+        Item item = new Item("Banana", 2.5D);
+        Item secondItem = new Item("Ball", 4D);
+
+        order.getItems().addAll(Arrays.asList(item, secondItem, item));
+        order.getItems().remove(0);
+
+        assertThat(order.getItems()).containsExactly(item, secondItem);
+        assertThat(order.getLines()).hasSize(2);
+        assertThatThrownBy(() -> order.getItems().add(0, item)).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    void itemsIteratorExpandsQuantitiesTest() {
+        Item item = new Item("Banana", 2.5D);
+        Item secondItem = new Item("Ball", 4D);
+        Item thirdItem = new Item("Cherry", 1D);
+        order.addItem(item, 2);
+        order.addItem(secondItem, 1);
+        order.addItem(thirdItem, 3);
+
+        List<Item> forward = new ArrayList<>();
+        order.getItems().iterator().forEachRemaining(forward::add);
+        List<Item> backward = new ArrayList<>();
+        for (ListIterator<Item> iterator = order.getItems().listIterator(order.getItemCount()); iterator.hasPrevious(); ) {
+            backward.add(0, iterator.previous());
+        }
+        ListIterator<Item> fromMiddle = order.getItems().listIterator(2);
+
+        assertThat(forward).containsExactly(item, item, secondItem, thirdItem, thirdItem, thirdItem);
+        assertThat(backward).isEqualTo(forward);
+        assertThat(order.getItems().toArray()).containsExactly(forward.toArray());
+        assertThat(fromMiddle.next()).isSameAs(secondItem);
+        assertThat(fromMiddle.previous()).isSameAs(secondItem);
+        assertThat(fromMiddle.previous()).isSameAs(item);
+        assertThat(fromMiddle.nextIndex()).isEqualTo(1);
+        assertThatThrownBy(() -> order.getItems().listIterator(7)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    void itemsIteratorRemoveTest() {
+        Item item = new Item("Banana", 2.5D);
+        Item secondItem = new Item("Ball", 4D);
+        order.addItem(item, 2);
+        order.addItem(secondItem, 2);
+        order.addItem(item, 1);
+
+        order.getItems().removeIf(secondItem::equals);
+
+        assertThat(order.getItems()).containsExactly(item, item, item);
+        assertThat(order.getItemCount()).isEqualTo(3);
+        assertThat(order.getTotal()).isEqualTo(7.5D);
+        Iterator<Item> iterator = order.getItems().iterator();
+        assertThatThrownBy(iterator::remove).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void itemMutationsMaintainTotalAndItemCountTest() {
+        Item item = new Item("Banana", 0.1D);
+        Item secondItem = new Item("Ball", 4.99D);
+
+        order.addItem(item, 3);
+        order.getItems().add(secondItem);
+        order.addItem(item, 2);
+
+        assertThat(order.getTotal()).isEqualTo(5.49D);
+        assertThat(order.getItemCount()).isEqualTo(6);
+        assertThat(order.getItems()).hasSize(6);
+
+        order.getItems().remove(5);
+        order.getItems().remove(0);
+
+        assertThat(order.getTotal()).isEqualTo(0.4D);
+        assertThat(order.getItemCount()).isEqualTo(4);
+        assertThat(order.getItems()).containsExactly(item, item, item, item);
+
+        order.getItems().clear();
+
+        assertThat(order.getTotal()).isZero();
+        assertThat(order.getItemCount()).isZero();
+    }
+
+    @Test
+    void setLinesRecomputesTotalAndItemCountTest() {
+        Order other = new Order();
+        other.addItem(new Item("Banana", 2.5D), 2);
+        other.addItem(new Item("Ball", 4D), 1);
+
+        order.addItem(new Item("Apple", 1D), 1);
+        order.setLines(other.getLines());
+
+        assertThat(order.getTotal()).isEqualTo(9D);
+        assertThat(order.getItemCount()).isEqualTo(3);
+
+        order.setItems(Arrays.asList(new Item("Apple", 1D), new Item("Pear", 0.3D)));
+
+        assertThat(order.getTotal()).isEqualTo(1.3D);
+        assertThat(order.getItemCount()).isEqualTo(2);
+    }
+
     @AfterEach
     public void tearDown() {
         order = null;
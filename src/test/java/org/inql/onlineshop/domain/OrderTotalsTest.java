@@ -0,0 +1,50 @@
+package org.inql.onlineshop.domain;
+
+import org.assertj.core.data.Offset;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class OrderTotalsTest {
+
+    private OrderTotals orderTotals;
+
+    @BeforeEach
+    public void setUp() {
+        orderTotals = new OrderTotals(new long[]{2L, 5L, 9L}, new double[]{10.5D, 0D, 3D});
+    }
+
+    @Test
+    void getTest() {
+        assertThat(orderTotals.get(2L)).isEqualTo(10.5D, Offset.offset(0D));
+        assertThat(orderTotals.get(9L)).isEqualTo(3D, Offset.offset(0D));
+    }
+
+    @Test
+    void getMissingOrderTest() {
+        assertThat(orderTotals.get(4L)).isEqualTo(0D, Offset.offset(0D));
+        assertThat(orderTotals.contains(4L)).isFalse();
+        assertThat(orderTotals.contains(5L)).isTrue();
+    }
+
+    @Test
+    void positionalAccessTest() {
+        assertThat(orderTotals.size()).isEqualTo(3);
+        assertThat(orderTotals.orderIdAt(1)).isEqualTo(5L);
+        assertThat(orderTotals.totalAt(0)).isEqualTo(10.5D, Offset.offset(0D));
+        assertThat(orderTotals.sum()).isEqualTo(13.5D, Offset.offset(0D));
+    }
+
+    @Test
+    void mismatchedArraysTest() {
+        assertThatThrownBy(() -> new OrderTotals(new long[]{1L}, new double[0])).isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Order ids and totals must have the same length");
+    }
+
+    @AfterEach
+    public void tearDown() {
+        orderTotals = null;
+    }
+}
@@ -0,0 +1,179 @@
+package org.inql.onlineshop.importing;
+
+import org.apache.commons.io.FileUtils;
+import org.inql.onlineshop.domain.Item;
+import org.inql.onlineshop.repository.ItemRepository;
+import org.inql.onlineshop.service.ItemService;
+import org.inql.onlineshop.service.ItemServiceImpl;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.validation.Validation;
+import javax.validation.ValidatorFactory;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(SpringExtension.class)
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class ItemImporterTest {
+
+    private static ValidatorFactory validatorFactory;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private ItemImporter itemImporter;
+
+    @BeforeAll
+    static void createValidator() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+    }
+
+    @AfterAll
+    static void closeValidator() {
+        validatorFactory.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        itemImporter = new ItemImporter(new ItemServiceImpl(itemRepository), transactionManager, validatorFactory.getValidator(), 2, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        itemImporter.close();
+        jdbcTemplate.update("delete from db_item");
+    }
+
+    private List<String> importedNames() {
+        List<String> names = new ArrayList<>();
+        itemRepository.findAll().forEach(item -> names.add(item.getName()));
+        return names;
+    }
+
+    @Test
+    void importCsvTest() throws Exception {
+        StringWriter rejects = new StringWriter();
+
+        ImportResult result = itemImporter.importItems(new StringReader(
+                "name,value\nApple,2.5\nPear,3\nplum,4\nCherry,-1\nFig,cheap\nKiwi,1.25\n"), ImportFormat.CSV, rejects);
+
+        assertThat(importedNames()).containsExactlyInAnyOrder("Apple", "Pear", "Kiwi");
+        assertThat(result.getRead()).isEqualTo(6);
+        assertThat(result.getImported()).isEqualTo(3);
+        assertThat(result.getRejected()).isEqualTo(3);
+        assertThat(result.getChunks()).isEqualTo(3);
+        assertThat(rejects.toString().split("\n")).containsExactly(
+                "4\tname: Invalid name input.\tplum,4",
+                "5\tvalue: Value must be higher than zero.\tCherry,-1",
+                "6\tInvalid value cheap\tFig,cheap");
+    }
+
+    @Test
+    void importSkipsServiceValidationTest() throws Exception {
+        ItemService itemService = spy(new ItemServiceImpl(itemRepository));
+        itemImporter.close();
+        itemImporter = new ItemImporter(itemService, transactionManager, validatorFactory.getValidator(), 2, 2);
+
+        itemImporter.importItems(new StringReader("name,value\nApple,2.5\nPear,3\nplum,4\n"), ImportFormat.CSV, new StringWriter());
+
+        assertThat(importedNames()).containsExactlyInAnyOrder("Apple", "Pear");
+        verify(itemService, times(1)).saveAllValidated(anyIterable());
+        verify(itemService, never()).saveAll(any());
+    }
+
+    @Test
+    void importNdjsonTest() throws Exception {
+        StringWriter rejects = new StringWriter();
+
+        ImportResult result = itemImporter.importItems(new StringReader(
+                "{\"name\":\"Apple\",\"value\":2.5}\n{\"name\":\"Pear\"}\n{\"name\":\"Plum\",\"value\":1.234}\n"),
+                ImportFormat.NDJSON, rejects);
+
+        assertThat(importedNames()).containsExactly("Apple");
+        assertThat(result.getRejected()).isEqualTo(2);
+        assertThat(rejects.toString().split("\n")).containsExactly(
+                "2\tvalue: Value cannot be null.\t{\"name\":\"Pear\"}",
+                "3\tvalue: Invalid value input.\t{\"name\":\"Plum\",\"value\":1.234}");
+    }
+
+    @Test
+    void importDuplicateNamesTest() throws Exception {
+        itemRepository.save(new Item("Apple", 1D));
+        StringWriter rejects = new StringWriter();
+
+        ImportResult result = itemImporter.importItems(new StringReader(
+                "name,value\nPear,1\nPear,2\nApple,3\nPlum,4\nPear,5\n"), ImportFormat.CSV, rejects);
+
+        assertThat(importedNames()).containsExactlyInAnyOrder("Apple", "Pear", "Plum");
+        assertThat(itemRepository.findItemByName("Pear").get().getValue()).isEqualTo(1D);
+        assertThat(itemRepository.findItemByName("Apple").get().getValue()).isEqualTo(1D);
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(rejects.toString().split("\n")).containsExactly(
+                "3\tDuplicate name Pear\tPear,2",
+                "4\tDuplicate name Apple\tApple,3",
+                "6\tDuplicate name Pear\tPear,5");
+    }
+
+    @Test
+    void importProgressTest() throws Exception {
+        List<ImportResult> progress = new ArrayList<>();
+
+        itemImporter.importItems(new StringReader("name,value\nApple,1\nPear,2\nPlum,3\n"), ImportFormat.CSV,
+                new StringWriter(), progress::add);
+
+        assertThat(progress).extracting(ImportResult::getRead).containsExactly(2L, 3L);
+        assertThat(progress).extracting(ImportResult::getImported).containsExactly(2L, 3L);
+    }
+
+    @Test
+    void importFileTest() throws Exception {
+        Path directory = Files.createTempDirectory("catalog");
+        Path source = Files.write(directory.resolve("catalog.ndjson"),
+                Arrays.asList("{\"name\":\"Apple\",\"value\":1}", "{\"name\":\"Pear\",\"value\":0}"), StandardCharsets.UTF_8);
+        Path rejects = directory.resolve("catalog.rejects");
+
+        try {
+            ImportResult result = itemImporter.importItems(source, rejects);
+
+            assertThat(result.getImported()).isEqualTo(1);
+            assertThat(Files.readAllLines(rejects, StandardCharsets.UTF_8))
+                    .containsExactly("2\tvalue: Value must be higher than zero.\t{\"name\":\"Pear\",\"value\":0}");
+        } finally {
+            FileUtils.deleteDirectory(directory.toFile());
+        }
+    }
+
+    @Test
+    void illegalChunkSizeTest() {
+        assertThatThrownBy(() -> new ItemImporter(new ItemServiceImpl(itemRepository), transactionManager,
+                validatorFactory.getValidator(), 0, 1)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
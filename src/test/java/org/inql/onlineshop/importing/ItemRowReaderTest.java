@@ -0,0 +1,84 @@
+package org.inql.onlineshop.importing;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class ItemRowReaderTest {
+
+    private List<ItemRow> read(String text, ImportFormat format) throws Exception {
+        List<ItemRow> rows = new ArrayList<>();
+        try (ItemRowReader reader = new ItemRowReader(new StringReader(text), format)) {
+            reader.forEachRemaining(rows::add);
+        }
+        return rows;
+    }
+
+    @Test
+    void readCsvTest() throws Exception {
+        List<ItemRow> rows = read("value,id,Name\n2.5,7,Apple\n\n\"3\",8,\"Pe,ar\"\n", ImportFormat.CSV);
+
+        assertThat(rows).extracting(ItemRow::getLine).containsExactly(2L, 4L);
+        assertThat(rows).extracting(ItemRow::getName).containsExactly("Apple", "Pe,ar");
+        assertThat(rows).extracting(row -> row.toItem().getValue()).containsExactly(2.5, 3D);
+        assertThat(rows).noneMatch(ItemRow::isRejected);
+    }
+
+    @Test
+    void readMalformedCsvTest() throws Exception {
+        List<ItemRow> rows = read("name,value\nApple\nPear,cheap\nPlum,\n", ImportFormat.CSV);
+
+        assertThat(rows).extracting(ItemRow::getError).containsExactly("Expected at least 2 columns, found 1", "Invalid value cheap", null);
+        assertThat(rows.get(2).toItem().getValue()).isNull();
+    }
+
+    @Test
+    void readCsvWithoutColumnsTest() {
+        assertThatThrownBy(() -> read("name,price\nApple,2\n", ImportFormat.CSV))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("CSV header must contain the name and value columns, was: name,price");
+    }
+
+    @Test
+    void readEmptyCsvTest() throws Exception {
+        assertThat(read("", ImportFormat.CSV)).isEmpty();
+    }
+
+    @Test
+    void readNdjsonTest() throws Exception {
+        List<ItemRow> rows = read("{\"name\":\"Apple\",\"value\":2.5}\n{\"value\":3,\"name\":\"Pear\",\"id\":1}\n{\"name\":null}\n",
+                ImportFormat.NDJSON);
+
+        assertThat(rows).extracting(ItemRow::getName).containsExactly("Apple", "Pear", null);
+        assertThat(rows).extracting(row -> row.toItem().getValue()).containsExactly(2.5, 3D, null);
+        assertThat(rows).noneMatch(ItemRow::isRejected);
+    }
+
+    @Test
+    void readMalformedNdjsonTest() throws Exception {
+        List<ItemRow> rows = read("{\"name\":\"Apple\"\n{\"name\":1,\"value\":2}\n{\"name\":\"Pear\",\"value\":\"2\"}\n", ImportFormat.NDJSON);
+
+        assertThat(rows).extracting(ItemRow::getError).allMatch(error -> error != null);
+        assertThat(rows.get(0).getError()).startsWith("Malformed JSON");
+        assertThat(rows.get(1).getError()).isEqualTo("Name must be a string");
+        assertThat(rows.get(2).getError()).isEqualTo("Value must be a number");
+    }
+
+    @Test
+    void splitCsvTest() {
+        assertThat(ItemRowReader.splitCsv("a,\"b,\"\"c\"\"\",,")).containsExactly("a", "b,\"c\"", "", "");
+    }
+
+    @Test
+    void formatOfFileTest() {
+        assertThat(ImportFormat.of(Paths.get("catalog.CSV"))).isEqualTo(ImportFormat.CSV);
+        assertThat(ImportFormat.of(Paths.get("dir", "catalog.ndjson"))).isEqualTo(ImportFormat.NDJSON);
+        assertThat(ImportFormat.of(Paths.get("catalog.jsonl"))).isEqualTo(ImportFormat.NDJSON);
+        assertThatThrownBy(() -> ImportFormat.of(Paths.get("catalog.xml"))).isInstanceOf(IllegalArgumentException.class);
+    }
+}
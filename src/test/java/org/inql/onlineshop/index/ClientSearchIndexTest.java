@@ -0,0 +1,89 @@
+package org.inql.onlineshop.index;
+
+import org.inql.onlineshop.domain.Client;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+public class ClientSearchIndexTest {
+
+    private ClientSearchIndex searchIndex;
+
+    private Client client;
+    private Client secondClient;
+    private Client thirdClient;
+
+    @BeforeEach
+    void setUp() {
+        searchIndex = new ClientSearchIndex();
+        client = client(1L, "Łukasz", "Żółkiewski", "lukasz@domain.com");
+        secondClient = client(2L, "Adam", "Łukaszewicz", "adam@domain.com");
+        thirdClient = client(3L, "Anna", "Zielińska", "anna@zielinska.pl");
+        searchIndex.putAll(Arrays.asList(client, secondClient, thirdClient));
+    }
+
+    private Client client(long id, String name, String surname, String email) {
+        Client client = new Client(name, surname, email);
+        client.setId(id);
+        return client;
+    }
+
+    @Test
+    void findByFieldContainingIsCaseSensitiveTest() {
+        assertAll("Checking per field lookups",
+                () -> assertThat(searchIndex.findIdsByFieldContaining(ClientSearchIndex.Field.NAME, "Łuk")).containsExactly(1L),
+                () -> assertThat(searchIndex.findIdsByFieldContaining(ClientSearchIndex.Field.NAME, "łuk")).isEmpty(),
+                () -> assertThat(searchIndex.findIdsByFieldContaining(ClientSearchIndex.Field.NAME, "Luk")).isEmpty(),
+                () -> assertThat(searchIndex.findIdsByFieldContaining(ClientSearchIndex.Field.SURNAME, "ółk")).containsExactly(1L),
+                () -> assertThat(searchIndex.findIdsByFieldContaining(ClientSearchIndex.Field.SURNAME, "ińs")).containsExactly(3L),
+                () -> assertThat(searchIndex.findIdsByFieldContaining(ClientSearchIndex.Field.EMAIL, "@domain")).containsExactlyInAnyOrder(1L, 2L),
+                () -> assertThat(searchIndex.findIdsByFieldContaining(ClientSearchIndex.Field.EMAIL, "a")).hasSize(3),
+                () -> assertThat(searchIndex.findIdsByFieldContaining(ClientSearchIndex.Field.EMAIL, null)).isEmpty());
+    }
+
+    @Test
+    void searchRanksClientsTest() {
+        assertAll("Checking ranked search",
+                () -> assertThat(searchIndex.searchIds("łukasz", 10)).containsExactly(1L, 2L),
+                () -> assertThat(searchIndex.searchIds("ZOLKIEWSKI", 10)).containsExactly(1L),
+                () -> assertThat(searchIndex.searchIds("zielinska", 10)).containsExactly(3L),
+                () -> assertThat(searchIndex.searchIds("domain", 10)).containsExactly(1L, 2L),
+                () -> assertThat(searchIndex.searchIds("in", 10)).containsExactly(3L, 1L, 2L),
+                () -> assertThat(searchIndex.searchIds("łukasz", 1)).containsExactly(1L),
+                () -> assertThat(searchIndex.searchIds("nobody", 10)).isEmpty(),
+                () -> assertThat(searchIndex.searchIds("adam", 0)).isEmpty());
+    }
+
+    @Test
+    void putReindexesChangedEmailTest() {
+        secondClient.setEmail("adam@other.com");
+
+        searchIndex.put(secondClient);
+
+        assertThat(searchIndex.size()).isEqualTo(3);
+        assertThat(searchIndex.findIdsByFieldContaining(ClientSearchIndex.Field.EMAIL, "@domain")).containsExactly(1L);
+        assertThat(searchIndex.findIdsByFieldContaining(ClientSearchIndex.Field.EMAIL, "@other")).containsExactly(2L);
+    }
+
+    @Test
+    void removeTest() {
+        searchIndex.remove(1L);
+
+        assertThat(searchIndex.searchIds("łukasz", 10)).containsExactly(2L);
+    }
+
+    @Test
+    void foldTest() {
+        assertThat(ClientSearchIndex.fold("ŻÓŁĆ gęślą jaźń")).isEqualTo("zolc gesla jazn");
+    }
+
+    @AfterEach
+    void tearDown() {
+        searchIndex = null;
+    }
+}
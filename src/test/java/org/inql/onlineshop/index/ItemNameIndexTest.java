@@ -0,0 +1,115 @@
+package org.inql.onlineshop.index;
+
+import org.inql.onlineshop.domain.Item;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+public class ItemNameIndexTest {
+
+    private ItemNameIndex nameIndex;
+
+    @BeforeEach
+    void setUp() {
+        nameIndex = new ItemNameIndex();
+    }
+
+    private Item item(long id, String name) {
+        Item item = new Item(name, 1D);
+        item.setId(id);
+        return item;
+    }
+
+    @Test
+    void findByNameContainingTest() {
+        Item item = item(1L, "Banana");
+        Item secondItem = item(2L, "Cabana");
+        Item thirdItem = item(3L, "Apple");
+        nameIndex.putAll(Arrays.asList(item, secondItem, thirdItem));
+
+        assertAll("Checking substring lookups",
+                () -> assertThat(nameIndex.findIdsByNameContaining("bana")).containsExactly(2L),
+                () -> assertThat(nameIndex.findIdsByNameContaining("ana")).containsExactlyInAnyOrder(1L, 2L),
+                () -> assertThat(nameIndex.findIdsByNameContaining("pl")).containsExactly(3L),
+                () -> assertThat(nameIndex.findIdsByNameContaining("")).hasSize(3),
+                () -> assertThat(nameIndex.findIdsByNameContaining("Banana!")).isEmpty(),
+                () -> assertThat(nameIndex.findIdsByNameContaining(null)).isEmpty());
+    }
+
+    @Test
+    void findByNameContainingVerifiesCandidatesTest() {
+        Item item = item(1L, "Zabcxbcd");
+
+        nameIndex.put(item);
+
+        assertThat(nameIndex.findIdsByNameContaining("abcd")).isEmpty();
+        assertThat(nameIndex.findIdsByNameContaining("abcxb")).containsExactly(1L);
+    }
+
+    @Test
+    void putReindexesRenamedItemTest() {
+        Item item = item(1L, "Banana");
+        nameIndex.put(item);
+
+        item.setName("Cherry");
+        nameIndex.put(item);
+
+        assertAll("Checking renamed item",
+                () -> assertThat(nameIndex.size()).isEqualTo(1),
+                () -> assertThat(nameIndex.findIdsByNameContaining("nan")).isEmpty(),
+                () -> assertThat(nameIndex.findIdsByNameContaining("err")).containsExactly(1L));
+    }
+
+    @Test
+    void removeTest() {
+        nameIndex.put(item(1L, "Banana"));
+
+        nameIndex.remove(1L);
+
+        assertThat(nameIndex.findIdsByNameContaining("ana")).isEmpty();
+        assertThat(nameIndex.size()).isZero();
+    }
+
+    @Test
+    void matchesLinearScanTest() {
+        Random random = new Random(7);
+        List<Item> items = new ArrayList<>();
+        for (long id = 1; id <= 3000; id++) {
+            items.add(item(id, randomName(random, 2 + random.nextInt(8))));
+        }
+        nameIndex.rebuild(items);
+
+        for (int i = 0; i < 200; i++) {
+            String keyword = randomName(random, 1 + random.nextInt(4)).toLowerCase();
+            Set<Long> expected = items.stream()
+                    .filter(item -> item.getName().contains(keyword))
+                    .map(Item::getId)
+                    .collect(Collectors.toSet());
+
+            assertThat(nameIndex.findIdsByNameContaining(keyword)).containsExactlyInAnyOrderElementsOf(expected);
+        }
+    }
+
+    private String randomName(Random random, int length) {
+        StringBuilder name = new StringBuilder().append((char) ('A' + random.nextInt(4)));
+        for (int i = 1; i < length; i++) {
+            name.append((char) ('a' + random.nextInt(4)));
+        }
+        return name.toString();
+    }
+
+    @AfterEach
+    void tearDown() {
+        nameIndex = null;
+    }
+}
@@ -0,0 +1,178 @@
+package org.inql.onlineshop.index;
+
+import org.inql.onlineshop.domain.Item;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+public class ItemPriceIndexTest {
+
+    private ItemPriceIndex priceIndex;
+
+    @BeforeEach
+    void setUp() {
+        priceIndex = new ItemPriceIndex();
+    }
+
+    private Item item(long id, double value) {
+        Item item = new Item();
+        item.setId(id);
+        item.setValue(value);
+        return item;
+    }
+
+    @Test
+    void findByValueTest() {
+        Item item = item(1L, 10D);
+        Item secondItem = item(2L, 10D);
+        Item thirdItem = item(3L, 11D);
+        priceIndex.putAll(Arrays.asList(item, secondItem, thirdItem));
+
+        assertThat(priceIndex.findIdsByValue(10D)).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void findByValueBetweenIsInclusiveTest() {
+        Item item = item(1L, 1D);
+        Item secondItem = item(2L, 5D);
+        Item thirdItem = item(3L, 9D);
+        priceIndex.putAll(Arrays.asList(item, secondItem, thirdItem));
+
+        assertAll("Checking range bounds",
+                () -> assertThat(priceIndex.findIdsByValueBetween(1D, 5D)).containsExactly(1L, 2L),
+                () -> assertThat(priceIndex.findIdsByValueBetween(5D, 1D)).isEmpty(),
+                () -> assertThat(priceIndex.findIdsByValueLessThan(5D, false)).containsExactly(1L),
+                () -> assertThat(priceIndex.findIdsByValueLessThan(5D, true)).containsExactly(1L, 2L),
+                () -> assertThat(priceIndex.findIdsByValueGreaterThan(5D, false)).containsExactly(3L),
+                () -> assertThat(priceIndex.findIdsByValueGreaterThan(5D, true)).containsExactly(2L, 3L));
+    }
+
+    @Test
+    void findMostExpensiveTest() {
+        Item item = item(1L, 10D);
+        Item secondItem = item(2L, 30D);
+        Item thirdItem = item(3L, 10D);
+        Item fourthItem = item(4L, 20D);
+        priceIndex.putAll(Arrays.asList(item, secondItem, thirdItem, fourthItem));
+
+        assertAll("Checking top items",
+                () -> assertThat(priceIndex.findMostExpensiveIds(3)).containsExactly(2L, 4L, 3L),
+                () -> assertThat(priceIndex.findMostExpensiveIds(10)).containsExactly(2L, 4L, 3L, 1L),
+                () -> assertThatThrownBy(() -> priceIndex.findMostExpensiveIds(0)).isInstanceOf(IllegalArgumentException.class)
+                        .hasMessage("Limit must be positive"));
+    }
+
+    @Test
+    void putUpdatesValueOfExistingItemTest() {
+        Item item = item(1L, 10D);
+        priceIndex.put(item);
+
+        item.setValue(20D);
+        priceIndex.put(item);
+
+        assertAll("Checking re-indexed item",
+                () -> assertThat(priceIndex.size()).isEqualTo(1),
+                () -> assertThat(priceIndex.findIdsByValue(10D)).isEmpty(),
+                () -> assertThat(priceIndex.findIdsByValue(20D)).containsExactly(1L));
+    }
+
+    @Test
+    void putAllMergesWithIndexedItemsTest() {
+        priceIndex.putAll(Arrays.asList(item(1L, 10D), item(2L, 20D), item(3L, 30D)));
+        Item item = new Item();
+        item.setId(4L);
+
+        priceIndex.putAll(Arrays.asList(item(2L, 5D), item(5L, 20D), item(3L, 25D), item(3L, 40D), item, item(1L, Double.NaN)));
+
+        assertAll("Checking merged batch",
+                () -> assertThat(priceIndex.size()).isEqualTo(3),
+                () -> assertThat(priceIndex.findIdsByValueGreaterThan(0D, false)).containsExactly(2L, 5L, 3L),
+                () -> assertThat(priceIndex.findIdsByValue(40D)).containsExactly(3L),
+                () -> assertThat(priceIndex.findIdsByValue(10D)).isEmpty());
+    }
+
+    @Test
+    void putAfterPutAllTest() {
+        priceIndex.putAll(Arrays.asList(item(1L, 10D), item(3L, 10D)));
+
+        priceIndex.put(item(2L, 10D));
+        priceIndex.remove(3L);
+
+        assertThat(priceIndex.findIdsByValue(10D)).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void putIgnoresItemsWithoutIdTest() {
+        Item item = new Item();
+        item.setValue(10D);
+
+        priceIndex.put(item);
+
+        assertThat(priceIndex.size()).isZero();
+    }
+
+    @Test
+    void removeTest() {
+        Item item = item(1L, 10D);
+        Item secondItem = item(2L, 10D);
+        priceIndex.putAll(Arrays.asList(item, secondItem));
+
+        priceIndex.remove(1L);
+        priceIndex.remove(5L);
+        priceIndex.remove(null);
+
+        assertThat(priceIndex.findIdsByValue(10D)).containsExactly(2L);
+    }
+
+    @Test
+    void rebuildReplacesContentTest() {
+        priceIndex.put(item(1L, 10D));
+        priceIndex.rebuild(Arrays.asList(item(2L, 3D)));
+
+        assertThat(priceIndex.findIdsByValueGreaterThan(0D, false)).containsExactly(2L);
+    }
+
+    @Test
+    void matchesLinearScanTest() {
+        Random random = new Random(42);
+        List<Item> items = new ArrayList<>();
+        for (long id = 1; id <= 2000; id++) {
+            items.add(item(id, random.nextInt(500) / 4D));
+        }
+        priceIndex.putAll(items.subList(0, 1000));
+        for (Item item : items.subList(1000, 2000)) {
+            priceIndex.put(item);
+        }
+        for (long id = 1; id <= 2000; id += 3) {
+            priceIndex.remove(id);
+        }
+        List<Item> remaining = items.stream().filter(item -> (item.getId() - 1) % 3 != 0).collect(Collectors.toList());
+
+        for (int i = 0; i < 50; i++) {
+            double lower = random.nextInt(500) / 4D;
+            double upper = lower + random.nextInt(100) / 4D;
+            List<Long> expected = remaining.stream()
+                    .filter(item -> item.getValue() >= lower && item.getValue() <= upper)
+                    .sorted(Comparator.comparing(Item::getValue).thenComparing(Item::getId))
+                    .map(Item::getId)
+                    .collect(Collectors.toList());
+
+            assertThat(priceIndex.findIdsByValueBetween(lower, upper)).isEqualTo(expected);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        priceIndex = null;
+    }
+}
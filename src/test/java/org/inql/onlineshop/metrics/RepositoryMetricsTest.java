@@ -0,0 +1,53 @@
+package org.inql.onlineshop.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.inql.onlineshop.domain.Item;
+import org.inql.onlineshop.repository.ItemRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+@ExtendWith(SpringExtension.class)
+@DataJpaTest
+@Import({RepositoryMetrics.class, RepositoryMetricsTest.Registry.class})
+public class RepositoryMetricsTest {
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Test
+    void repositoryCallsRecordedTest() {
+        itemRepository.saveAll(Arrays.asList(new Item("Apple", 2.5), new Item("Pear", 2.5)));
+
+        itemRepository.findItemsByValue(2.5);
+
+        assertAll(
+                () -> assertThat(registry.get(RepositoryMetrics.REPOSITORY_METRIC).tag("class", "ItemRepository").tag("method", "saveAll").timer().count()).isEqualTo(1),
+                () -> assertThat(registry.get(RepositoryMetrics.REPOSITORY_METRIC).tag("method", "findItemsByValue").timer().count()).isEqualTo(1),
+                () -> assertThat(registry.get(RepositoryMetrics.REPOSITORY_METRIC + ".results").tag("method", "findItemsByValue").summary().totalAmount()).isEqualTo(2)
+        );
+    }
+
+    @TestConfiguration
+    static class Registry {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
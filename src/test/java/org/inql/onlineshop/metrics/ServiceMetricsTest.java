@@ -0,0 +1,88 @@
+package org.inql.onlineshop.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import javassist.NotFoundException;
+import org.inql.onlineshop.domain.Item;
+import org.inql.onlineshop.repository.MockItemRepository;
+import org.inql.onlineshop.service.ItemService;
+import org.inql.onlineshop.service.ItemServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+public class ServiceMetricsTest {
+
+    private MeterRegistry registry;
+    private ItemService itemService;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        itemService = ServiceMetrics.instrument(ItemService.class, new ItemServiceImpl(new MockItemRepository()), registry);
+    }
+
+    @Test
+    void timerPerMethodTest() {
+        itemService.save(new Item("Apple", 2.5));
+        itemService.save(new Item("Pear", 3.5));
+        itemService.findByValue(2.5);
+
+        assertAll(
+                () -> assertThat(registry.get(ServiceMetrics.SERVICE_METRIC).tag("class", "ItemService").tag("method", "save").timer().count()).isEqualTo(2),
+                () -> assertThat(registry.get(ServiceMetrics.SERVICE_METRIC).tag("method", "findByValue").timer().count()).isEqualTo(1)
+        );
+    }
+
+    @Test
+    void resultSizeSummaryTest() {
+        itemService.save(new Item("Apple", 2.5));
+        itemService.save(new Item("Pear", 3.5));
+
+        itemService.findByValueGreaterThan(1D);
+        itemService.findByValueGreaterThan(3D);
+
+        assertAll(
+                () -> assertThat(registry.get(ServiceMetrics.SERVICE_METRIC + ".results").tag("method", "findByValueGreaterThan").summary().count()).isEqualTo(2),
+                () -> assertThat(registry.get(ServiceMetrics.SERVICE_METRIC + ".results").tag("method", "findByValueGreaterThan").summary().totalAmount()).isEqualTo(3),
+                () -> assertThat(registry.get(ServiceMetrics.SERVICE_METRIC + ".results").tag("method", "findByValueGreaterThan").summary().max()).isEqualTo(2)
+        );
+    }
+
+    @Test
+    void notFoundCounterTest() {
+        assertThatThrownBy(() -> itemService.findById(1L)).isInstanceOf(NotFoundException.class).hasMessage("Item not found");
+
+        assertAll(
+                () -> assertThat(registry.get(ServiceMetrics.SERVICE_METRIC + ".not.found").tag("method", "findById").counter().count()).isEqualTo(1),
+                () -> assertThat(registry.get(ServiceMetrics.SERVICE_METRIC).tag("method", "findById").timer().count()).isEqualTo(1)
+        );
+    }
+
+    @Test
+    void emptyLookupCountedAsNotFoundTest() {
+        assertThat(itemService.lookupById(1L)).isEmpty();
+
+        assertThat(registry.get(ServiceMetrics.SERVICE_METRIC + ".not.found").tag("method", "lookupById").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void overloadedMethodsTaggedWithParametersTest() {
+        itemService.getItems();
+        itemService.getItems(null, 10);
+
+        assertAll(
+                () -> assertThat(registry.get(ServiceMetrics.SERVICE_METRIC).tag("method", "getItems()").timer().count()).isEqualTo(1),
+                () -> assertThat(registry.get(ServiceMetrics.SERVICE_METRIC).tag("method", "getItems(Long,int)").timer().count()).isEqualTo(1)
+        );
+    }
+
+    @Test
+    void objectMethodsNotRecordedTest() {
+        assertThat(itemService.toString()).isNotEmpty();
+
+        assertThat(registry.getMeters()).isEmpty();
+    }
+}
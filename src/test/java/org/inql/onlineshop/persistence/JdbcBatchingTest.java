@@ -0,0 +1,124 @@
+package org.inql.onlineshop.persistence;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.beanvalidation.BeanValidationEventListener;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.stat.Statistics;
+import org.inql.onlineshop.domain.Client;
+import org.inql.onlineshop.domain.Item;
+import org.inql.onlineshop.domain.Order;
+import org.inql.onlineshop.repository.ClientRepository;
+import org.inql.onlineshop.repository.ItemRepository;
+import org.inql.onlineshop.repository.OrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.*;
+
+@ExtendWith(SpringExtension.class)
+@DataJpaTest
+public class JdbcBatchingTest {
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    private String letters(int i) {
+        StringBuilder letters = new StringBuilder();
+        do {
+            letters.append((char) ('a' + i % 26));
+            i /= 26;
+        } while (i > 0);
+        return letters.toString();
+    }
+
+    @Test
+    void saveAllItemsIsBatchedTest() {
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            items.add(new Item("Item" + letters(i), i + 1D));
+        }
+
+        itemRepository.saveAll(items);
+        entityManager.flush();
+
+        // 10 sequence calls for the pooled ids and 10 insert batches instead of 500 inserts
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(20);
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(500);
+        assertThat(itemRepository.count()).isEqualTo(500);
+    }
+
+    @Test
+    void saveAllClientsIsBatchedTest() {
+        List<Client> clients = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            clients.add(new Client("Name" + letters(i), "Surname" + letters(i), "client" + i + "@domain.com"));
+        }
+
+        clientRepository.saveAll(clients);
+        entityManager.flush();
+
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(8);
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(200);
+    }
+
+    @Test
+    void flushDoesNotValidateTest() {
+        EventListenerRegistry listenerRegistry = entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(EventListenerRegistry.class);
+
+        // the services validate before saving, validating again at flush would double the cost of every batch
+        assertThat(listenerRegistry.getEventListenerGroup(EventType.PRE_INSERT).listeners())
+                .noneMatch(listener -> listener instanceof BeanValidationEventListener);
+        assertThat(listenerRegistry.getEventListenerGroup(EventType.PRE_UPDATE).listeners())
+                .noneMatch(listener -> listener instanceof BeanValidationEventListener);
+    }
+
+    @Test
+    void saveAllOrdersWithItemsIsBatchedTest() {
+        Item item = itemRepository.save(new Item("Banana", 2D));
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            Order order = new Order();
+            order.getItems().add(item);
+            orders.add(order);
+        }
+        entityManager.flush();
+        statistics.clear();
+
+        orderRepository.saveAll(orders);
+        entityManager.flush();
+
+        // order rows and order line rows both go out in batches
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(12);
+        assertThat(orderRepository.sumItemValuesByOrderIds(
+                orders.stream().map(Order::getId).collect(Collectors.toList())).sum()).isEqualTo(400D);
+    }
+}
@@ -0,0 +1,152 @@
+package org.inql.onlineshop.persistence;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.inql.onlineshop.domain.Item;
+import org.inql.onlineshop.domain.Order;
+import org.inql.onlineshop.repository.ItemRepository;
+import org.inql.onlineshop.repository.OrderRepository;
+import org.inql.onlineshop.service.OrderService;
+import org.inql.onlineshop.service.OrderServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+/**
+ * Batching is switched off so that every order line row shows up as its own statement.
+ */
+@ExtendWith(SpringExtension.class)
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.jdbc.batch_size=0",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=org.inql.onlineshop.persistence.OrderLineWritesTest$RecordingStatementInspector"
+})
+public class OrderLineWritesTest {
+
+    public static class RecordingStatementInspector implements StatementInspector {
+
+        private static final List<String> STATEMENTS = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql.toLowerCase());
+            return sql;
+        }
+
+        static long count(String prefix) {
+            synchronized (STATEMENTS) {
+                return STATEMENTS.stream().filter(sql -> sql.startsWith(prefix)).count();
+            }
+        }
+    }
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private OrderService orderService;
+
+    private List<Item> items;
+
+    @BeforeEach
+    void setUp() {
+        orderService = new OrderServiceImpl(orderRepository);
+        orderRepository.deleteAll();
+        itemRepository.deleteAll();
+        items = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            items.add(new Item("Item" + (char) ('a' + i / 26) + (char) ('a' + i % 26), i + 1D));
+        }
+        itemRepository.saveAll(items);
+    }
+
+    @Test
+    void addItemsToOrderOnlyInsertsNewLinesTest() {
+        Order order = orderRepository.save(new Order());
+        orderService.addItemsToOrder(items.subList(0, 10), order);
+        Order reloaded = new TransactionTemplate(transactionManager).execute(status -> {
+            Order managed = orderRepository.findById(order.getId()).get();
+            managed.getLines().size();
+            return managed;
+        });
+        RecordingStatementInspector.STATEMENTS.clear();
+
+        boolean result = orderService.addItemsToOrder(items.subList(10, 15), reloaded);
+
+        assertAll("Checking order line writes",
+                () -> assertThat(result).isTrue(),
+                () -> assertThat(RecordingStatementInspector.count("insert into db_order_line")).isEqualTo(5),
+                () -> assertThat(RecordingStatementInspector.count("delete from db_order_line")).isEqualTo(0),
+                () -> assertThat(RecordingStatementInspector.count("update db_order_line")).isEqualTo(0),
+                () -> assertThat(orderService.getOrderTotalValueById(order.getId())).isEqualTo(120D));
+    }
+
+    @Test
+    void addingFiftyItemsOneByOneIsLinearTest() {
+        Order order = orderRepository.save(new Order());
+        RecordingStatementInspector.STATEMENTS.clear();
+
+        for (Item item : items) {
+            orderService.addItemToOrder(item, order);
+        }
+
+        assertThat(RecordingStatementInspector.count("insert into db_order_line")).isEqualTo(50);
+        assertThat(RecordingStatementInspector.count("delete from db_order_line")).isEqualTo(0);
+    }
+
+    @Test
+    void quantityIncrementIsSingleRowUpdateTest() {
+        Order order = orderRepository.save(new Order());
+        orderService.addItemsToOrder(items.subList(0, 5), order);
+        RecordingStatementInspector.STATEMENTS.clear();
+
+        orderService.addItemToOrder(items.get(3), 2, order);
+        orderService.addItemToOrder(items.get(3), order);
+
+        assertAll("Checking order line writes",
+                () -> assertThat(RecordingStatementInspector.count("update db_order_line")).isEqualTo(2),
+                () -> assertThat(RecordingStatementInspector.count("insert into db_order_line")).isEqualTo(0),
+                () -> assertThat(RecordingStatementInspector.count("delete from db_order_line")).isEqualTo(0),
+                () -> assertThat(orderService.getOrderTotalValueById(order.getId())).isEqualTo(15D + 3 * 4D));
+    }
+
+    @Test
+    void repeatedItemsCollapseIntoOneLineTest() {
+        Order order = orderRepository.save(new Order());
+
+        orderService.addItemsToOrder(Arrays.asList(items.get(2), items.get(1), items.get(2)), order);
+
+        List<Integer> quantities = new ArrayList<>();
+        List<Long> itemIds = new TransactionTemplate(transactionManager).execute(status -> {
+            Order managed = orderRepository.findById(order.getId()).get();
+            managed.getLines().forEach(line -> quantities.add(line.getQuantity()));
+            List<Long> ids = new ArrayList<>();
+            managed.getItems().forEach(item -> ids.add(item.getId()));
+            return ids;
+        });
+        assertThat(quantities).containsExactly(2, 1);
+        assertThat(itemIds).containsExactly(items.get(2).getId(), items.get(2).getId(), items.get(1).getId());
+        assertThat(orderService.findOrderByItem(items.get(2))).extracting(Order::getId).containsExactly(order.getId());
+    }
+}
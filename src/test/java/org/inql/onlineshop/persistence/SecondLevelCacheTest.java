@@ -0,0 +1,149 @@
+package org.inql.onlineshop.persistence;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.inql.onlineshop.domain.Client;
+import org.inql.onlineshop.domain.Item;
+import org.inql.onlineshop.domain.Order;
+import org.inql.onlineshop.repository.ClientRepository;
+import org.inql.onlineshop.repository.ItemRepository;
+import org.inql.onlineshop.repository.OrderRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+@ExtendWith(SpringExtension.class)
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(SecondLevelCacheStatistics.class)
+public class SecondLevelCacheTest {
+
+    private static final String ITEM_REGION = "org.inql.onlineshop.domain.Item";
+    private static final String CLIENT_REGION = "org.inql.onlineshop.domain.Client";
+    private static final String ORDER_LINES_REGION = "org.inql.onlineshop.domain.Order.lines";
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private SecondLevelCacheStatistics cacheStatistics;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private void resetCaches() {
+        entityManagerFactory.getCache().evictAll();
+        cacheStatistics.clear();
+    }
+
+    @Test
+    void repeatedFindByIdDoesNotIssueSqlTest() {
+        Item item = itemRepository.save(new Item("Banana", 2.5D));
+        resetCaches();
+
+        itemRepository.findById(item.getId());
+        long statementsAfterFirstLookup = statistics.getPrepareStatementCount();
+        itemRepository.findById(item.getId());
+        itemRepository.findById(item.getId());
+
+        assertAll("Checking item region",
+                () -> assertThat(statementsAfterFirstLookup).isEqualTo(1),
+                () -> assertThat(statistics.getPrepareStatementCount()).isEqualTo(1),
+                () -> assertThat(cacheStatistics.region(ITEM_REGION).getHitCount()).isEqualTo(2),
+                () -> assertThat(cacheStatistics.region(ITEM_REGION).getMissCount()).isEqualTo(1));
+    }
+
+    @Test
+    void repeatedFindByNameDoesNotIssueSqlTest() {
+        itemRepository.save(new Item("Cherry", 4D));
+        resetCaches();
+
+        itemRepository.findItemByName("Cherry");
+        long statementsAfterFirstLookup = statistics.getPrepareStatementCount();
+        assertThat(itemRepository.findItemByName("Cherry")).isPresent();
+
+        assertThat(statementsAfterFirstLookup).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void repeatedClientLookupDoesNotIssueSqlTest() {
+        Client client = clientRepository.save(new Client("Adam", "Abacki", "adam@abacki.pl"));
+        resetCaches();
+
+        clientRepository.findById(client.getId());
+        clientRepository.findById(client.getId());
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(cacheStatistics.region(CLIENT_REGION).getHitRatio()).isEqualTo(0.5D);
+    }
+
+    @Test
+    void repeatedWalkOfOrderItemsOnlyLoadsOrderTest() {
+        Item item = itemRepository.save(new Item("Apple", 1D));
+        Item secondItem = itemRepository.save(new Item("Melon", 3D));
+        Order order = new Order();
+        order.getItems().addAll(Arrays.asList(item, secondItem));
+        Long orderId = orderRepository.save(order).getId();
+        resetCaches();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        double firstTotal = transactionTemplate.execute(status -> sumItems(orderId));
+        long statementsAfterFirstWalk = statistics.getPrepareStatementCount();
+        double secondTotal = transactionTemplate.execute(status -> sumItems(orderId));
+
+        assertAll("Checking order items region",
+                () -> assertThat(firstTotal).isEqualTo(4D),
+                () -> assertThat(secondTotal).isEqualTo(4D),
+                () -> assertThat(statementsAfterFirstWalk).isEqualTo(2),
+                () -> assertThat(statistics.getPrepareStatementCount() - statementsAfterFirstWalk).isEqualTo(1),
+                () -> assertThat(cacheStatistics.region(ORDER_LINES_REGION).getHitCount()).isEqualTo(1),
+                () -> assertThat(cacheStatistics.regions()).containsKeys(ITEM_REGION, CLIENT_REGION, ORDER_LINES_REGION));
+    }
+
+    private double sumItems(Long orderId) {
+        double total = 0D;
+        for (Item item : orderRepository.findById(orderId).get().getItems()) {
+            total += item.getValue();
+        }
+        return total;
+    }
+
+    @AfterEach
+    void tearDown() {
+        orderRepository.deleteAll();
+        itemRepository.deleteAll();
+        clientRepository.deleteAll();
+    }
+}
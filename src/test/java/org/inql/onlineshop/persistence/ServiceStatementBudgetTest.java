@@ -0,0 +1,191 @@
+package org.inql.onlineshop.persistence;
+
+import org.inql.onlineshop.domain.Client;
+import org.inql.onlineshop.domain.Item;
+import org.inql.onlineshop.domain.Order;
+import org.inql.onlineshop.repository.ClientRepository;
+import org.inql.onlineshop.repository.ItemRepository;
+import org.inql.onlineshop.repository.OrderRepository;
+import org.inql.onlineshop.service.ClientService;
+import org.inql.onlineshop.service.ClientServiceImpl;
+import org.inql.onlineshop.service.OrderFetchPlan;
+import org.inql.onlineshop.service.OrderService;
+import org.inql.onlineshop.service.OrderServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Runs the budgeted service methods on a cold second-level cache with budget violations failing the test,
+ * so an N+1 select introduced into one of them breaks the build.
+ */
+@ExtendWith(SpringExtension.class)
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class ServiceStatementBudgetTest {
+
+    private static final int ORDERS = 60;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private OrderService orderService;
+    private ClientService clientService;
+    private Client client;
+    private Item item;
+    private Item secondItem;
+    private List<Long> orderIds;
+
+    @BeforeEach
+    void setUp() {
+        orderService = StatementBudgets.enforce(OrderService.class, new OrderServiceImpl(orderRepository), true);
+        clientService = StatementBudgets.enforce(ClientService.class, new ClientServiceImpl(clientRepository), true);
+        client = clientRepository.save(new Client("Adam", "Abacki", "adam@abacki.pl"));
+        clientRepository.save(new Client("Beata", "Babacka", "beata@babacka.pl"));
+        item = itemRepository.save(new Item("Banana", 2D));
+        secondItem = itemRepository.save(new Item("Ball", 3D));
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < ORDERS; i++) {
+            Order order = new Order();
+            order.setClient(client);
+            order.addItem(item, 1);
+            order.addItem(secondItem, i % 3 + 1);
+            orders.add(order);
+        }
+        orderIds = new ArrayList<>();
+        orderRepository.saveAll(orders).forEach(order -> orderIds.add(order.getId()));
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from db_order_line");
+        jdbcTemplate.update("delete from db_order");
+        jdbcTemplate.update("delete from db_client");
+        jdbcTemplate.update("delete from db_item");
+    }
+
+    private <T> List<T> readAll(Supplier<Stream<T>> stream) {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            try (Stream<T> rows = stream.get()) {
+                return rows.collect(Collectors.toList());
+            }
+        });
+    }
+
+    @Test
+    void orderQueriesWithinBudgetTest() throws Exception {
+        assertThat(orderService.getOrders()).hasSize(ORDERS);
+        assertThat(orderService.getOrders(null, 10)).hasSize(10);
+        assertThat(orderService.findById(orderIds.get(0))).isNotNull();
+        assertThat(orderService.findAll(orderIds)).hasSize(ORDERS);
+        assertThat(orderService.findOrdersByClientId(client.getId())).hasSize(ORDERS);
+        assertThat(orderService.findOrdersByClientEmail("adam@abacki.pl")).hasSize(ORDERS);
+        assertThat(orderService.findOrdersByClientId(client.getId(), OrderFetchPlan.SUMMARY)).hasSize(ORDERS);
+        assertThat(orderService.findOrdersByClientEmail("adam@abacki.pl", OrderFetchPlan.WITH_ITEMS)).hasSize(ORDERS);
+        assertThat(orderService.findOrderByItem(item)).hasSize(ORDERS);
+        assertThat(orderService.getOrderTotalValue(orderService.findById(orderIds.get(1)))).isEqualTo(8D);
+        assertThat(orderService.getOrderTotalValueById(orderIds.get(2))).isEqualTo(11D);
+        assertThat(orderService.getOrderTotalValues(orderIds).size()).isEqualTo(ORDERS);
+    }
+
+    @Test
+    void orderStreamsWithinBudgetTest() {
+        assertThat(readAll(orderService::streamOrders)).hasSize(ORDERS);
+        assertThat(readAll(() -> orderService.streamOrders(10))).hasSize(ORDERS);
+    }
+
+    @Test
+    void orderWritesWithinBudgetTest() throws Exception {
+        Order order = new Order();
+        order.setClient(client);
+        order.addItem(item, 2);
+        Order saved = orderService.save(order);
+        entityManagerFactory.getCache().evictAll();
+
+        assertThat(orderService.addItemToOrder(secondItem, saved)).isTrue();
+        assertThat(orderService.addItemToOrder(secondItem, 2, saved)).isTrue();
+        assertThat(orderService.addItemsToOrder(Arrays.asList(item, secondItem), saved)).isTrue();
+        assertThat(orderService.getOrderTotalValueById(saved.getId())).isEqualTo(3 * 2D + 4 * 3D);
+
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < ORDERS; i++) {
+            Order newOrder = new Order();
+            newOrder.addItem(item, 1);
+            orders.add(newOrder);
+        }
+        orderService.saveAll(orders);
+        entityManagerFactory.getCache().evictAll();
+        orderService.deleteById(saved.getId());
+
+        assertThat(orderRepository.count()).isEqualTo(2L * ORDERS);
+    }
+
+    @Test
+    void clientQueriesWithinBudgetTest() throws Exception {
+        assertThat(clientService.getClients()).hasSize(2);
+        assertThat(clientService.getClients(null, 1)).hasSize(1);
+        assertThat(clientService.findById(client.getId())).isNotNull();
+        assertThat(clientService.findAll(Arrays.asList(client.getId()))).hasSize(1);
+        assertThat(clientService.findByEmail("adam@abacki.pl")).isNotNull();
+        assertThat(clientService.findClientsByName("Adam")).hasSize(1);
+        assertThat(clientService.findClientsBySurname("Abacki")).hasSize(1);
+        assertThat(clientService.findByNameContaining("a")).hasSize(2);
+        assertThat(clientService.findBySurnameContaining("bac")).hasSize(2);
+        assertThat(clientService.findByEmailContaining("pl")).hasSize(2);
+        assertThat(clientService.search("ab", 10)).isNotEmpty();
+        assertThat(readAll(clientService::streamClients)).hasSize(2);
+        assertThat(readAll(() -> clientService.streamClients(1))).hasSize(2);
+    }
+
+    @Test
+    void clientWritesWithinBudgetTest() {
+        Client saved = clientService.save(new Client("Cezary", "Cabacki", "cezary@cabacki.pl"));
+        saved.setSurname("Cebacki");
+        clientService.save(saved);
+        List<Client> clients = new ArrayList<>();
+        for (int i = 0; i < ORDERS; i++) {
+            String letters = String.valueOf((char) ('a' + i % 26)) + (char) ('a' + i / 26);
+            clients.add(new Client("Name" + letters, "Surname" + letters, "client" + letters + "@shop.pl"));
+        }
+        clientService.saveAll(clients);
+        entityManagerFactory.getCache().evictAll();
+        clientService.deleteById(saved.getId());
+
+        assertThat(clientRepository.count()).isEqualTo(2 + ORDERS);
+    }
+}
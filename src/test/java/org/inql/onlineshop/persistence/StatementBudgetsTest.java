@@ -0,0 +1,99 @@
+package org.inql.onlineshop.persistence;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+public class StatementBudgetsTest {
+
+    private final StatementCounter counter = new StatementCounter();
+
+    interface Lookup {
+        void find(int statements);
+        void findAll(Collection<Long> ids, int statements);
+        void unbounded(int statements);
+    }
+
+    class CountingLookup implements Lookup {
+
+        @Override
+        @StatementBudget(1)
+        public void find(int statements) {
+            issue(statements);
+        }
+
+        @Override
+        @StatementBudget(value = 1, perBatch = 1)
+        public void findAll(Collection<Long> ids, int statements) {
+            issue(statements);
+        }
+
+        @Override
+        public void unbounded(int statements) {
+            issue(statements);
+        }
+
+        private void issue(int statements) {
+            for (int i = 0; i < statements; i++) {
+                counter.inspect("select 1");
+            }
+        }
+    }
+
+    @Test
+    void counterCountsPerThreadTest() throws InterruptedException {
+        long before = StatementCounter.count();
+        Thread other = new Thread(() -> counter.inspect("select 1"));
+        other.start();
+        other.join();
+
+        counter.inspect("select 1");
+
+        assertThat(StatementCounter.count() - before).isEqualTo(1);
+    }
+
+    @Test
+    void withinBudgetTest() {
+        Lookup lookup = StatementBudgets.enforce(Lookup.class, new CountingLookup(), true);
+
+        assertThatCode(() -> lookup.find(1)).doesNotThrowAnyException();
+    }
+
+    @Test
+    void overBudgetFailsTest() {
+        Lookup lookup = StatementBudgets.enforce(Lookup.class, new CountingLookup(), true);
+
+        assertThatThrownBy(() -> lookup.find(3)).isInstanceOf(IllegalStateException.class)
+                .hasMessage("Lookup.find issued 3 SQL statements, its budget is 1");
+    }
+
+    @Test
+    void overBudgetOnlyLoggedTest() {
+        Lookup lookup = StatementBudgets.enforce(Lookup.class, new CountingLookup(), false);
+
+        assertThatCode(() -> lookup.find(3)).doesNotThrowAnyException();
+    }
+
+    @Test
+    void methodWithoutBudgetNotCheckedTest() {
+        Lookup lookup = StatementBudgets.enforce(Lookup.class, new CountingLookup(), true);
+
+        assertThatCode(() -> lookup.unbounded(100)).doesNotThrowAnyException();
+    }
+
+    @Test
+    void budgetGrowsWithBatchesTest() {
+        Lookup lookup = StatementBudgets.enforce(Lookup.class, new CountingLookup(), true);
+
+        assertAll(
+                () -> assertThatCode(() -> lookup.findAll(Collections.nCopies(StatementBudget.BATCH + 1, 1L), 3)).doesNotThrowAnyException(),
+                () -> assertThatThrownBy(() -> lookup.findAll(Collections.nCopies(StatementBudget.BATCH, 1L), 3)).isInstanceOf(IllegalStateException.class),
+                () -> assertThatCode(() -> lookup.findAll(Arrays.asList(), 1)).doesNotThrowAnyException()
+        );
+    }
+}
@@ -0,0 +1,131 @@
+package org.inql.onlineshop.repository;
+
+import org.assertj.core.data.Offset;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.inql.onlineshop.domain.Client;
+import org.inql.onlineshop.domain.ClientRevenues;
+import org.inql.onlineshop.domain.Item;
+import org.inql.onlineshop.domain.Order;
+import org.inql.onlineshop.domain.OrderSnapshot;
+import org.inql.onlineshop.service.ClientRevenueAggregator;
+import org.inql.onlineshop.service.ClientRevenueService;
+import org.inql.onlineshop.service.ClientRevenueServiceImpl;
+import org.inql.onlineshop.service.RevenueMode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+@ExtendWith(SpringExtension.class)
+@DataJpaTest
+public class ClientRevenueQueryTest {
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private ClientRevenueAggregator aggregator;
+
+    private ClientRevenueService clientRevenueService;
+
+    private Statistics statistics;
+
+    private List<Client> clients;
+
+    @BeforeEach
+    void setUp() {
+        aggregator = new ClientRevenueAggregator(2);
+        clientRevenueService = new ClientRevenueServiceImpl(orderRepository, aggregator);
+        clients = new ArrayList<>();
+        clients.add(new Client("Adam", "Abacki", "adam@abacki.pl"));
+        clients.add(new Client("Bartosz", "Babacki", "bartosz@babacki.pl"));
+        clients.add(new Client("Cezary", "Cabacki", "cezary@cabacki.pl"));
+        clientRepository.saveAll(clients);
+        Item item = itemRepository.save(new Item("Banana", 2.5D));
+        Item secondItem = itemRepository.save(new Item("Ball", 10D));
+        List<Order> orders = new ArrayList<>();
+        // Adam: 2 * 2.5 and 10, Bartosz: 3 * 10, Cezary: nothing, plus an order without client
+        orders.add(order(clients.get(0), item, 2));
+        orders.add(order(clients.get(0), secondItem, 1));
+        orders.add(order(clients.get(1), secondItem, 3));
+        orders.add(order(null, item, 4));
+        orderRepository.saveAll(orders);
+        entityManager.flush();
+        entityManager.clear();
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        aggregator.close();
+    }
+
+    private Order order(Client client, Item item, int quantity) {
+        Order order = new Order();
+        order.setClient(client);
+        order.addItem(item, quantity);
+        return order;
+    }
+
+    @Test
+    void sumTotalsByClientTest() {
+        ClientRevenues revenues = orderRepository.sumTotalsByClient();
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertRevenues(revenues);
+    }
+
+    @Test
+    void loadSnapshotTest() {
+        OrderSnapshot snapshot = orderRepository.loadSnapshot(2);
+
+        assertAll("Checking snapshot",
+                () -> assertThat(statistics.getPrepareStatementCount()).isEqualTo(2),
+                () -> assertThat(snapshot.clientCount()).isEqualTo(3),
+                () -> assertThat(snapshot.orderCount()).isEqualTo(3),
+                () -> assertThat(snapshot.clientIds()).containsExactly(clients.get(0).getId(), clients.get(1).getId(), clients.get(2).getId()));
+    }
+
+    @Test
+    void revenueModesAgreeTest() {
+        assertRevenues(clientRevenueService.getClientRevenues(RevenueMode.SQL));
+        assertRevenues(clientRevenueService.getClientRevenues(RevenueMode.PARALLEL));
+    }
+
+    private void assertRevenues(ClientRevenues revenues) {
+        long adam = clients.get(0).getId();
+        long bartosz = clients.get(1).getId();
+        long cezary = clients.get(2).getId();
+        assertAll("Checking client revenues",
+                () -> assertThat(revenues.size()).isEqualTo(3),
+                () -> assertThat(revenues.clientIdAt(0)).isEqualTo(adam),
+                () -> assertThat(revenues.getLifetimeValue(adam)).isEqualTo(15D, Offset.offset(1e-9)),
+                () -> assertThat(revenues.getOrderCount(adam)).isEqualTo(2),
+                () -> assertThat(revenues.getAverageBasket(adam)).isEqualTo(7.5D, Offset.offset(1e-9)),
+                () -> assertThat(revenues.getLifetimeValue(bartosz)).isEqualTo(30D, Offset.offset(1e-9)),
+                () -> assertThat(revenues.getOrderCount(bartosz)).isEqualTo(1),
+                () -> assertThat(revenues.contains(cezary)).isTrue(),
+                () -> assertThat(revenues.getOrderCount(cezary)).isZero(),
+                () -> assertThat(revenues.totalRevenue()).isEqualTo(45D, Offset.offset(1e-9)));
+    }
+}
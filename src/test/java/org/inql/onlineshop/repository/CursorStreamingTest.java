@@ -0,0 +1,153 @@
+package org.inql.onlineshop.repository;
+
+import org.hibernate.Session;
+import org.inql.onlineshop.domain.Client;
+import org.inql.onlineshop.domain.Item;
+import org.inql.onlineshop.domain.Order;
+import org.inql.onlineshop.domain.OrderExport;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+
+@ExtendWith(SpringExtension.class)
+@DataJpaTest
+public class CursorStreamingTest {
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void streamAllClearsPersistenceContextTest() {
+        List<Client> clients = new ArrayList<>();
+        for (int i = 0; i < 1050; i++) {
+            clients.add(new Client("Name" + letters(i), "Surname" + letters(i), "client" + i + "@domain.com"));
+        }
+        clientRepository.saveAll(clients);
+        entityManager.flush();
+        entityManager.clear();
+        Session session = entityManager.unwrap(Session.class);
+        AtomicInteger maxManagedEntities = new AtomicInteger();
+        AtomicLong lastId = new AtomicLong(Long.MIN_VALUE);
+
+        long streamed;
+        try (Stream<Client> stream = clientRepository.streamAll(100)) {
+            streamed = stream
+                    .peek(client -> assertThat(client.getId()).isGreaterThan(lastId.getAndSet(client.getId())))
+                    .peek(client -> maxManagedEntities.accumulateAndGet(session.getStatistics().getEntityCount(), Math::max))
+                    .count();
+        }
+
+        assertThat(streamed).isEqualTo(1050);
+        assertThat(maxManagedEntities.get()).isLessThanOrEqualTo(100);
+    }
+
+    private String letters(int i) {
+        StringBuilder letters = new StringBuilder();
+        do {
+            letters.append((char) ('a' + i % 26));
+            i /= 26;
+        } while (i > 0);
+        return letters.toString();
+    }
+
+    @Test
+    void streamAllOrdersTest() {
+        orderRepository.save(new Order());
+        orderRepository.save(new Order());
+
+        try (Stream<Order> stream = orderRepository.streamAll(1)) {
+            assertThat(stream.count()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    void streamAllItemsTest() {
+        itemRepository.save(new Item("Banana", 2D));
+        itemRepository.save(new Item("Apple", 3D));
+
+        try (Stream<Item> stream = itemRepository.streamAll(1)) {
+            assertThat(stream.map(Item::getName)).containsExactly("Banana", "Apple");
+        }
+    }
+
+    @Test
+    void streamOrderExportsTest() {
+        Client client = clientRepository.save(new Client("Adam", "Abacki", "adam@abacki.pl"));
+        Item banana = itemRepository.save(new Item("Banana", 2D));
+        Item apple = itemRepository.save(new Item("Apple", 3D));
+        Order order = new Order();
+        order.setClient(client);
+        order.addItem(banana, 2);
+        order.addItem(apple, 1);
+        orderRepository.save(order);
+        Order empty = orderRepository.save(new Order());
+        Item cherry = itemRepository.save(new Item("Cherry", 0.1D));
+        Order single = new Order();
+        single.addItem(cherry, 3);
+        orderRepository.save(single);
+        entityManager.flush();
+        entityManager.clear();
+
+        List<OrderExport> exports;
+        try (Stream<OrderExport> stream = orderRepository.streamOrderExports(1)) {
+            exports = stream.collect(Collectors.toList());
+        }
+
+        assertThat(exports).extracting(OrderExport::getOrderId).containsExactly(order.getId(), empty.getId(), single.getId());
+        assertThat(exports.get(0).getClientId()).isEqualTo(client.getId());
+        assertThat(exports.get(0).getLineCount()).isEqualTo(2);
+        assertThat(exports.get(0).getItemIdAt(0)).isEqualTo(banana.getId());
+        assertThat(exports.get(0).getQuantityAt(0)).isEqualTo(2);
+        assertThat(exports.get(0).getItemIdAt(1)).isEqualTo(apple.getId());
+        assertThat(exports.get(0).getQuantityAt(1)).isEqualTo(1);
+        assertThat(exports.get(0).getItemCount()).isEqualTo(3);
+        assertThat(exports.get(0).getTotal()).isEqualTo(7D);
+        assertThat(exports.get(1).getClientId()).isNull();
+        assertThat(exports.get(1).getLineCount()).isZero();
+        assertThat(exports.get(1).getItemCount()).isZero();
+        assertThat(exports.get(1).getTotal()).isZero();
+        assertThat(exports.get(2).getLineCount()).isEqualTo(1);
+        assertThat(exports.get(2).getItemIdAt(0)).isEqualTo(cherry.getId());
+        assertThat(exports.get(2).getQuantityAt(0)).isEqualTo(3);
+        assertThat(exports.get(2).getItemCount()).isEqualTo(3);
+        // the stored total, rounded to cents, rather than 3 * 0.1 summed again
+        assertThat(exports.get(2).getTotal()).isEqualTo(single.getTotal()).isEqualTo(0.3D);
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void streamAllWithoutTransactionTest() {
+        assertThatThrownBy(() -> clientRepository.streamAll(100)).isInstanceOf(InvalidDataAccessApiUsageException.class);
+    }
+
+    @Test
+    void streamAllIllegalFetchSizeTest() {
+        assertThatThrownBy(() -> orderRepository.streamAll(0)).isInstanceOf(InvalidDataAccessApiUsageException.class)
+                .hasCauseInstanceOf(IllegalArgumentException.class)
+                .hasMessageStartingWith("Fetch size must be positive");
+    }
+}
@@ -0,0 +1,149 @@
+package org.inql.onlineshop.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.inql.onlineshop.domain.Item;
+import org.inql.onlineshop.domain.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.*;
+
+@ExtendWith(SpringExtension.class)
+@DataJpaTest
+@TestPropertySource(properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=org.inql.onlineshop.repository.KeysetPaginationTest$CapturingStatementInspector")
+public class KeysetPaginationTest {
+
+    private static final Pattern SCAN_COUNT = Pattern.compile("scanCount: (\\d+)");
+
+    public static class CapturingStatementInspector implements StatementInspector {
+
+        private static final ThreadLocal<List<String>> STATEMENTS = ThreadLocal.withInitial(ArrayList::new);
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.get().add(sql);
+            return sql;
+        }
+    }
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void walkItemsByValueTest() {
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            items.add(new Item("Item" + (char) ('a' + i), (double) (i % 4 + 1)));
+        }
+        itemRepository.saveAll(items);
+
+        List<Item> walked = new ArrayList<>();
+        List<Item> page = itemRepository.findItemsByOrderByValueAscIdAsc(PageRequest.of(0, 4));
+        while (!page.isEmpty()) {
+            walked.addAll(page);
+            Item last = page.get(page.size() - 1);
+            page = itemRepository.findItemsAfterValue(last.getValue(), last.getId(), PageRequest.of(0, 4));
+        }
+
+        assertThat(walked).containsExactlyElementsOf(items.stream()
+                .sorted(Comparator.comparing(Item::getValue).thenComparing(Item::getId))
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * A page deep into the listing is one statement reading a page worth of the value index, like the first page,
+     * where an offset would scan every row before it.
+     */
+    @Test
+    void deepItemPageCostsAsMuchAsFirstPageTest() {
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            items.add(new Item("Item" + (char) ('a' + i / 676) + (char) ('a' + i / 26 % 26) + (char) ('a' + i % 26), (double) (2000 - i)));
+        }
+        itemRepository.saveAll(items);
+        entityManager.flush();
+        entityManager.clear();
+        Item after = items.get(500);
+
+        List<String> firstPage = statements(() -> itemRepository.findItemsByOrderByValueAscIdAsc(PageRequest.of(0, 20)));
+        List<String> deepPage = statements(() -> itemRepository.findItemsAfterValue(after.getValue(), after.getId(), PageRequest.of(0, 20)));
+
+        assertThat(firstPage).hasSize(1);
+        assertThat(deepPage).hasSize(1);
+        String firstPlan = explainAnalyze(firstPage.get(0), 20);
+        String deepPlan = explainAnalyze(deepPage.get(0), after.getValue(), after.getValue(), after.getId(), 20);
+        assertThat(firstPlan).containsIgnoringCase("idx_item_value_id");
+        assertThat(deepPlan).containsIgnoringCase("idx_item_value_id");
+        // the deep page also reads the row the range starts at, the last row of the previous page
+        assertThat(scanCount(firstPlan)).as(firstPlan).isEqualTo(20);
+        assertThat(scanCount(deepPlan)).as(deepPlan).isEqualTo(21);
+    }
+
+    private List<String> statements(Runnable query) {
+        CapturingStatementInspector.STATEMENTS.get().clear();
+        query.run();
+        return new ArrayList<>(CapturingStatementInspector.STATEMENTS.get());
+    }
+
+    private String explainAnalyze(String sql, Object... parameters) {
+        return jdbcTemplate.query("explain analyze " + sql, statement -> {
+            for (int i = 0; i < parameters.length; i++) {
+                statement.setObject(i + 1, parameters[i]);
+            }
+        }, resultSet -> {
+            StringBuilder plan = new StringBuilder();
+            while (resultSet.next()) {
+                plan.append(resultSet.getString(1)).append('\n');
+            }
+            return plan.toString();
+        });
+    }
+
+    private static int scanCount(String plan) {
+        Matcher matcher = SCAN_COUNT.matcher(plan);
+        assertThat(matcher.find()).as(plan).isTrue();
+        return Integer.parseInt(matcher.group(1));
+    }
+
+    @Test
+    void walkOrdersByIdTest() {
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            orders.add(new Order());
+        }
+        orderRepository.saveAll(orders);
+
+        List<Order> walked = new ArrayList<>();
+        List<Order> page = orderRepository.findOrdersByIdGreaterThanOrderByIdAsc(Long.MIN_VALUE, PageRequest.of(0, 3));
+        while (!page.isEmpty()) {
+            walked.addAll(page);
+            page = orderRepository.findOrdersByIdGreaterThanOrderByIdAsc(page.get(page.size() - 1).getId(), PageRequest.of(0, 3));
+        }
+
+        assertThat(walked).containsExactlyElementsOf(orders);
+    }
+}
@@ -1,8 +1,12 @@
 package org.inql.onlineshop.repository;
 
 import org.inql.onlineshop.domain.Item;
+import org.inql.onlineshop.domain.ItemView;
+import org.springframework.data.domain.Pageable;
 
 import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
 public class MockItemRepository implements ItemRepository{
@@ -195,4 +199,85 @@ public class MockItemRepository implements ItemRepository{
                 .forEach(result::add);
         return result;
     }
+
+    @Override
+    public List<Item> findItemsByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable) {
+        if(id == null) throw new IllegalArgumentException("Null id not allowed");
+        return database
+                .stream()
+                .filter(item -> item.getId() > id)
+                .sorted(Comparator.comparing(Item::getId))
+                .limit(pageable.getPageSize())
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Item> findItemsByOrderByValueAscIdAsc(Pageable pageable) {
+        return database
+                .stream()
+                .sorted(Comparator.comparing(Item::getValue).thenComparing(Item::getId))
+                .limit(pageable.getPageSize())
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Item> findItemsByOrderByValueDescIdDesc(Pageable pageable) {
+        return database
+                .stream()
+                .sorted(Comparator.comparing(Item::getValue).thenComparing(Item::getId).reversed())
+                .limit(pageable.getPageSize())
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Item> findItemsAfterValue(Double value, Long id, Pageable pageable) {
+        if(value == null || id == null) throw new IllegalArgumentException("Null value or id not allowed");
+        return database
+                .stream()
+                .filter(item -> item.getValue() > value || (item.getValue().equals(value) && item.getId() > id))
+                .sorted(Comparator.comparing(Item::getValue).thenComparing(Item::getId))
+                .limit(pageable.getPageSize())
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public Stream<Item> streamAll(int fetchSize) {
+        if(fetchSize <= 0) throw new IllegalArgumentException("Fetch size must be positive");
+        return database
+                .stream()
+                .sorted(Comparator.comparing(Item::getId));
+    }
+
+    @Override
+    public List<Item> findTop(Comparator<? super Item> comparator, int limit) {
+        return TopN.of(streamAll(1), comparator, limit);
+    }
+
+    @Override
+    public List<ItemView> findItemViewsBy() {
+        return database
+                .stream()
+                .map(MockItemRepository::view)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<ItemView> findItemViewsByNameContaining(String keyword) {
+        return findItemsByNameContaining(keyword)
+                .stream()
+                .map(MockItemRepository::view)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<ItemView> findItemViewsByValueBetween(Double lower, Double upper) {
+        return findItemsByValueBetween(lower, upper)
+                .stream()
+                .map(MockItemRepository::view)
+                .collect(Collectors.toList());
+    }
+
+    private static ItemView view(Item item) {
+        return new ItemView(item.getId(), item.getName(), item.getValue());
+    }
 }
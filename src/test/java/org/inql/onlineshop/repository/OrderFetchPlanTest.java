@@ -0,0 +1,142 @@
+package org.inql.onlineshop.repository;
+
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.inql.onlineshop.domain.Client;
+import org.inql.onlineshop.domain.Item;
+import org.inql.onlineshop.domain.Order;
+import org.inql.onlineshop.service.OrderFetchPlan;
+import org.inql.onlineshop.service.OrderService;
+import org.inql.onlineshop.service.OrderServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+@ExtendWith(SpringExtension.class)
+@DataJpaTest
+public class OrderFetchPlanTest {
+
+    private static final int ORDERS = 200;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private OrderService orderService;
+
+    private Statistics statistics;
+
+    private Client client;
+
+    @BeforeEach
+    void setUp() {
+        orderService = new OrderServiceImpl(orderRepository);
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        client = clientRepository.save(new Client("Adam", "Abacki", "adam@abacki.pl"));
+        Item item = itemRepository.save(new Item("Banana", 2D));
+        Item secondItem = itemRepository.save(new Item("Ball", 3D));
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < ORDERS; i++) {
+            Order order = new Order();
+            order.setClient(client);
+            order.addItem(item, 1);
+            order.addItem(secondItem, i % 3 + 1);
+            orders.add(order);
+        }
+        orderRepository.saveAll(orders);
+        entityManager.flush();
+        entityManager.clear();
+        entityManager.getEntityManagerFactory().getCache().evictAll();
+        statistics.clear();
+    }
+
+    private double render(Set<Order> orders) {
+        double total = 0D;
+        for (Order order : orders) {
+            assertThat(order.getClient().getEmail()).isEqualTo("adam@abacki.pl");
+            total += orderService.getOrderTotalValue(order);
+        }
+        return total;
+    }
+
+    private void renderSummaries(Set<Order> orders) {
+        for (Order order : orders) {
+            assertThat(order.getClient().getEmail()).isEqualTo("adam@abacki.pl");
+        }
+    }
+
+    @Test
+    void withItemsPlanLoadsOrdersInOneQueryTest() {
+        Set<Order> orders = orderService.findOrdersByClientId(client.getId(), OrderFetchPlan.WITH_ITEMS);
+        double total = render(orders);
+
+        assertAll("Checking statements",
+                () -> assertThat(orders).hasSize(ORDERS),
+                () -> assertThat(total).isEqualTo(ORDERS * 2D + 3D * (67 + 2 * 67 + 3 * 66)),
+                () -> assertThat(statistics.getPrepareStatementCount()).isEqualTo(1));
+    }
+
+    @Test
+    void withItemsPlanByEmailTest() {
+        Set<Order> orders = orderService.findOrdersByClientEmail("adam@abacki.pl", OrderFetchPlan.WITH_ITEMS);
+        render(orders);
+
+        assertThat(orders).hasSize(ORDERS);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void summaryPlanLoadsClientWithOrdersTest() {
+        Set<Order> orders = orderService.findOrdersByClientEmail("adam@abacki.pl", OrderFetchPlan.SUMMARY);
+        renderSummaries(orders);
+        Set<Order> ordersById = orderService.findOrdersByClientId(client.getId(), OrderFetchPlan.SUMMARY);
+        renderSummaries(ordersById);
+
+        assertThat(ordersById).hasSize(ORDERS);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void lazyListingIsBatchFetchedTest() {
+        Set<Order> orders = orderService.findOrdersByClientId(client.getId());
+        for (Order order : orders) {
+            order.getClient().getEmail();
+            order.getLines().size();
+        }
+
+        // orders, the shared client and the lines of 50 orders per statement instead of 1 + 2 * 200
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1 + 1 + ORDERS / 50);
+    }
+
+    @Test
+    void itemCountAndTotalDoNotLoadLinesTest() {
+        Set<Order> orders = orderService.findOrdersByClientId(client.getId());
+        for (Order order : orders) {
+            assertThat(order.getItems()).hasSize(order.getItemCount());
+            orderService.getOrderTotalValue(order);
+        }
+
+        assertThat(orders).allSatisfy(order -> assertThat(Hibernate.isInitialized(order.getLines())).isFalse());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+}
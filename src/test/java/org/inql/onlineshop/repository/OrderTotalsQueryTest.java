@@ -0,0 +1,157 @@
+package org.inql.onlineshop.repository;
+
+import org.assertj.core.data.Offset;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.inql.onlineshop.domain.Item;
+import org.inql.onlineshop.domain.Order;
+import org.inql.onlineshop.domain.OrderTotals;
+import org.inql.onlineshop.service.OrderService;
+import org.inql.onlineshop.service.OrderServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+@ExtendWith(SpringExtension.class)
+@DataJpaTest
+public class OrderTotalsQueryTest {
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private OrderService orderService;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        orderService = new OrderServiceImpl(orderRepository);
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void sumItemValuesByOrderIdTest() {
+        Item item = itemRepository.save(new Item("Banana", 25D));
+        Item secondItem = itemRepository.save(new Item("Ball", 1.11D));
+        Order order = new Order();
+        order.getItems().addAll(Arrays.asList(item, secondItem, item));
+        Long orderId = orderRepository.save(order).getId();
+        Long emptyOrderId = orderRepository.save(new Order()).getId();
+
+        assertThat(orderRepository.sumItemValuesByOrderId(orderId)).isEqualTo(51.11D, Offset.offset(1e-9));
+        assertThat(orderRepository.sumItemValuesByOrderId(emptyOrderId)).isEqualTo(0D);
+    }
+
+    @Test
+    void lazyOrderTotalIsReadFromColumnTest() {
+        Item item = itemRepository.save(new Item("Banana", 25D));
+        Order order = new Order();
+        order.getItems().addAll(Arrays.asList(item, item));
+        Long orderId = orderRepository.save(order).getId();
+        entityManager.flush();
+        entityManager.clear();
+
+        Order loaded = orderRepository.findById(orderId).get();
+        statistics.clear();
+        double total = orderService.getOrderTotalValue(loaded);
+
+        assertThat(total).isEqualTo(50D, Offset.offset(0D));
+        assertThat(loaded.getItemCount()).isEqualTo(2);
+        assertThat(Hibernate.isInitialized(loaded.getLines())).isFalse();
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(orderService.getOrderTotalValueById(orderId)).isEqualTo(50D, Offset.offset(0D));
+    }
+
+    @Test
+    void findOrdersByTotalRangeTest() {
+        Item item = itemRepository.save(new Item("Banana", 400D));
+        List<Order> orders = new ArrayList<>();
+        for (int quantity = 1; quantity <= 5; quantity++) {
+            Order order = new Order();
+            order.addItem(item, quantity);
+            orders.add(order);
+        }
+        orders.add(new Order());
+        orderRepository.saveAll(orders);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(orderRepository.findOrdersByTotalGreaterThan(1000D, PageRequest.of(0, 10)))
+                .extracting(Order::getTotal).containsExactly(2000D, 1600D, 1200D);
+        assertThat(orderRepository.findOrdersByTotalGreaterThan(1000D, PageRequest.of(1, 2)))
+                .extracting(Order::getTotal).containsExactly(1200D);
+        assertThat(orderRepository.findOrdersByTotalBetween(0D, 800D, PageRequest.of(0, 10)))
+                .extracting(Order::getTotal).containsExactly(800D, 400D, 0D);
+    }
+
+    @Test
+    void bulkTotalsUseSingleQueryPerPageTest() {
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            items.add(new Item("Item" + (char) ('a' + i), (double) (i + 1)));
+        }
+        itemRepository.saveAll(items);
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            Order order = new Order();
+            for (int j = 0; j < i % 4; j++) {
+                order.getItems().add(items.get((i + j) % items.size()));
+            }
+            orders.add(order);
+        }
+        orderRepository.saveAll(orders);
+        entityManager.flush();
+        entityManager.clear();
+        List<Long> orderIds = new ArrayList<>();
+        orders.forEach(order -> orderIds.add(order.getId()));
+        statistics.clear();
+
+        OrderTotals totals = orderService.getOrderTotalValues(orderIds);
+
+        assertAll("Checking bulk totals",
+                () -> assertThat(statistics.getPrepareStatementCount()).isEqualTo(1),
+                () -> assertThat(totals.size()).isEqualTo(500),
+                () -> orders.forEach(order -> assertThat(totals.get(order.getId())).isEqualTo(
+                        order.getItems().stream().mapToDouble(Item::getValue).sum(), Offset.offset(1e-9))));
+    }
+
+    @Test
+    void bulkTotalsSpanSeveralChunksTest() {
+        Item item = itemRepository.save(new Item("Banana", 2D));
+        Order order = new Order();
+        order.getItems().add(item);
+        Long orderId = orderRepository.save(order).getId();
+        entityManager.flush();
+        List<Long> orderIds = new ArrayList<>();
+        for (long id = orderId - 1500; id <= orderId + 1500; id++) {
+            orderIds.add(id);
+        }
+        statistics.clear();
+
+        OrderTotals totals = orderRepository.sumItemValuesByOrderIds(orderIds);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(4);
+        assertThat(totals.size()).isEqualTo(3001);
+        assertThat(totals.get(orderId)).isEqualTo(2D);
+        assertThat(totals.sum()).isEqualTo(2D);
+    }
+}
@@ -0,0 +1,183 @@
+package org.inql.onlineshop.repository;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.inql.onlineshop.domain.Client;
+import org.inql.onlineshop.domain.Item;
+import org.inql.onlineshop.domain.Order;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import javax.persistence.EntityManager;
+import java.lang.reflect.Method;
+import java.util.*;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Runs every query method declared on the repositories, captures the SQL Hibernate sends and fails if H2
+ * plans a table scan for it. A new query method is covered as soon as it is declared, it either gets an
+ * index or an entry in {@link #TABLE_SCAN_ALLOWED} explaining why scanning is fine.
+ */
+@ExtendWith(SpringExtension.class)
+@DataJpaTest
+@TestPropertySource(properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=org.inql.onlineshop.repository.QueryPlanTest$CapturingStatementInspector")
+public class QueryPlanTest {
+
+    private static final Map<String, String> TABLE_SCAN_ALLOWED = new HashMap<>();
+
+    static {
+        String substring = "LIKE '%keyword%' cannot use a B-tree index, substring search is served by the n-gram indexes";
+        TABLE_SCAN_ALLOWED.put("findItemsByNameContaining", substring);
+        TABLE_SCAN_ALLOWED.put("findClientsByNameContaining", substring);
+        TABLE_SCAN_ALLOWED.put("findClientsBySurnameContaining", substring);
+        TABLE_SCAN_ALLOWED.put("findClientsByEmailContaining", substring);
+        TABLE_SCAN_ALLOWED.put("findItemViewsByNameContaining", substring);
+        TABLE_SCAN_ALLOWED.put("findClientViewsByNameContaining", substring);
+        TABLE_SCAN_ALLOWED.put("findClientsByFoldedPattern", substring);
+        TABLE_SCAN_ALLOWED.put("streamAll", "reads the whole table by design");
+        TABLE_SCAN_ALLOWED.put("streamOrderExports", "reads the whole table by design");
+        TABLE_SCAN_ALLOWED.put("findItemViewsBy", "lists the whole table by design");
+        TABLE_SCAN_ALLOWED.put("findClientViewsBy", "lists the whole table by design");
+        TABLE_SCAN_ALLOWED.put("findOrderViews", "lists the whole table by design");
+        TABLE_SCAN_ALLOWED.put("findTop", "ranks every row by a comparator the database cannot evaluate");
+        TABLE_SCAN_ALLOWED.put("sumTotalsByClient", "aggregates every client by design");
+        TABLE_SCAN_ALLOWED.put("loadSnapshot", "copies every order by design");
+    }
+
+    public static class CapturingStatementInspector implements StatementInspector {
+
+        private static final ThreadLocal<List<String>> STATEMENTS = ThreadLocal.withInitial(ArrayList::new);
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.get().add(sql);
+            return sql;
+        }
+    }
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Item item;
+
+    static Stream<Arguments> queryMethods() {
+        List<Arguments> methods = new ArrayList<>();
+        for (Class<?> repository : Arrays.asList(ItemRepository.class, ClientRepository.class, OrderRepository.class)) {
+            List<Class<?>> declaring = new ArrayList<>();
+            declaring.add(repository);
+            declaring.addAll(Arrays.asList(repository.getInterfaces()));
+            for (Class<?> type : declaring) {
+                if (type.getPackage() != repository.getPackage()) {
+                    continue;
+                }
+                Arrays.stream(type.getDeclaredMethods())
+                        .filter(method -> !method.isDefault() && !method.isSynthetic())
+                        .sorted(Comparator.comparing(Method::getName))
+                        .forEach(method -> methods.add(Arguments.of(repository.getSimpleName() + "." + method.getName(), repository, method)));
+            }
+        }
+        return methods.stream();
+    }
+
+    @BeforeEach
+    void setUp() {
+        Client client = new Client("Adam", "Abacki", "adam@abacki.pl");
+        entityManager.persist(client);
+        item = new Item("Banana", 2D);
+        entityManager.persist(item);
+        for (int i = 0; i < 3; i++) {
+            Order order = new Order();
+            order.setClient(client);
+            order.addItem(item, i + 1);
+            entityManager.persist(order);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getCache().evictAllRegions();
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("queryMethods")
+    void queryMethodUsesIndexTest(String name, Class<?> repositoryType, Method method) throws Exception {
+        Object repository = applicationContext.getBean(repositoryType);
+        Object[] arguments = Arrays.stream(method.getParameterTypes()).map(this::sampleArgument).toArray();
+
+        CapturingStatementInspector.STATEMENTS.get().clear();
+        Object result = method.invoke(repository, arguments);
+        if (result instanceof Stream) {
+            ((Stream<?>) result).close();
+        }
+        List<String> statements = new ArrayList<>(CapturingStatementInspector.STATEMENTS.get());
+
+        assertThat(statements).as("SQL issued by %s", name).isNotEmpty();
+        if (TABLE_SCAN_ALLOWED.containsKey(method.getName())) {
+            return;
+        }
+        for (String sql : statements) {
+            assertThat(explain(sql)).as("Plan of %s", name).doesNotContain(".tableScan");
+        }
+    }
+
+    private String explain(String sql) {
+        int parameters = (int) sql.chars().filter(c -> c == '?').count();
+        return jdbcTemplate.query("explain " + sql, statement -> {
+            for (int i = 1; i <= parameters; i++) {
+                statement.setObject(i, 1);
+            }
+        }, resultSet -> {
+            StringBuilder plan = new StringBuilder();
+            while (resultSet.next()) {
+                plan.append(resultSet.getString(1)).append('\n');
+            }
+            return plan.toString();
+        });
+    }
+
+    private Object sampleArgument(Class<?> type) {
+        if (type == Long.class || type == long.class) {
+            return 1L;
+        }
+        if (type == Double.class || type == double.class) {
+            return 1D;
+        }
+        if (type == Integer.class || type == int.class) {
+            return 10;
+        }
+        if (type == String.class) {
+            return "adam@abacki.pl";
+        }
+        if (type == Pageable.class) {
+            return PageRequest.of(0, 10);
+        }
+        if (type == Item.class) {
+            return item;
+        }
+        if (type == Comparator.class) {
+            return Comparator.comparingInt(Object::hashCode);
+        }
+        if (Collection.class.isAssignableFrom(type)) {
+            return Arrays.asList(1L, 2L, 3L);
+        }
+        throw new IllegalStateException("No sample argument for " + type.getName());
+    }
+}
@@ -0,0 +1,73 @@
+package org.inql.onlineshop.repository;
+
+import org.inql.onlineshop.domain.Client;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Streams millions of rows from a file based H2 database. Run with {@code mvn test -P heavy-tests},
+ * which forks the JVM with a small heap, so materializing the table would fail with an OutOfMemoryError.
+ */
+@Tag("heavy")
+@ExtendWith(SpringExtension.class)
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:file:./target/streaming-heap/db;LAZY_QUERY_EXECUTION=1",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class StreamingHeapTest {
+
+    private static final int ROWS = Integer.getInteger("streaming.rows", 5_000_000);
+    private static final int INSERT_CHUNK = 100_000;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void streamAllClientsWithFlatHeapTest() {
+        for (int from = 1; from <= ROWS; from += INSERT_CHUNK) {
+            jdbcTemplate.update("insert into db_client (id, name, surname, email) "
+                            + "select x, 'Name' || x, 'Surname' || x, 'client' || x || '@domain.com' from system_range(?, ?)",
+                    from, Math.min(ROWS, from + INSERT_CHUNK - 1));
+        }
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        long[] checksum = new long[2];
+        transactionTemplate.execute(status -> {
+            try (Stream<Client> stream = clientRepository.streamAll(1000)) {
+                stream.forEach(client -> {
+                    checksum[0]++;
+                    checksum[1] += client.getId();
+                });
+            }
+            return null;
+        });
+
+        assertThat(checksum[0]).isEqualTo(ROWS);
+        assertThat(checksum[1]).isEqualTo((long) ROWS * (ROWS + 1) / 2);
+    }
+}
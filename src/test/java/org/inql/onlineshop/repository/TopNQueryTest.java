@@ -0,0 +1,98 @@
+package org.inql.onlineshop.repository;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.inql.onlineshop.domain.Item;
+import org.inql.onlineshop.domain.Order;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@ExtendWith(SpringExtension.class)
+@DataJpaTest
+public class TopNQueryTest {
+
+    private static final int ITEMS = 30;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+
+    private List<Item> items;
+
+    @BeforeEach
+    void setUp() {
+        items = new ArrayList<>();
+        for (int i = 0; i < ITEMS; i++) {
+            items.add(new Item("Item" + (char) ('a' + i % 26) + (char) ('a' + i / 26), (double) (1 + i * 7 % ITEMS)));
+        }
+        itemRepository.saveAll(items);
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < ITEMS; i++) {
+            Order order = new Order();
+            order.addItem(items.get(i), 1 + i % 4);
+            orders.add(order);
+        }
+        orderRepository.saveAll(orders);
+        entityManager.flush();
+        entityManager.clear();
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void mostExpensiveItemsTest() {
+        List<Item> top = itemRepository.findItemsByOrderByValueDescIdDesc(PageRequest.of(0, 5));
+
+        assertThat(top).extracting(Item::getValue).containsExactly(30D, 29D, 28D, 27D, 26D);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void largestOrdersTest() {
+        List<Order> top = orderRepository.findOrdersByOrderByTotalDescIdDesc(PageRequest.of(0, 3));
+
+        assertThat(top).extracting(Order::getTotal).isSortedAccordingTo(Comparator.reverseOrder());
+        assertThat(top.get(0).getTotal()).isEqualTo(88D);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void findTopItemsByComparatorTest() {
+        Comparator<Item> byName = Comparator.comparing(Item::getName).reversed();
+
+        List<Item> top = itemRepository.findTop(byName, 3);
+
+        assertThat(top).extracting(Item::getName).containsExactly("Itemza", "Itemya", "Itemxa");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void findTopOrdersByComparatorTest() {
+        Comparator<Order> byItemCount = Comparator.comparingInt(Order::getItemCount).reversed().thenComparing(Order::getId);
+
+        List<Order> top = orderRepository.findTop(byItemCount, 4);
+
+        assertThat(top).extracting(Order::getItemCount).containsOnly(4);
+        assertThat(top).extracting(Order::getId).isSorted();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+}
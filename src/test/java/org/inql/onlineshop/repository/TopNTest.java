@@ -0,0 +1,55 @@
+package org.inql.onlineshop.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class TopNTest {
+
+    @Test
+    void matchesFullSortTest() {
+        Random random = new Random(42);
+        List<Integer> values = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            values.add(random.nextInt(1000));
+        }
+        Comparator<Integer> descending = Comparator.reverseOrder();
+
+        assertThat(TopN.of(values.stream(), descending, 50))
+                .containsExactlyElementsOf(values.stream().sorted(descending).limit(50).collect(Collectors.toList()));
+    }
+
+    @Test
+    void limitAboveSizeReturnsAllSortedTest() {
+        assertThat(TopN.of(Stream.of(3, 1, 2), Comparator.naturalOrder(), Integer.MAX_VALUE)).containsExactly(1, 2, 3);
+        assertThat(TopN.of(Stream.<Integer>empty(), Comparator.naturalOrder(), 10)).isEmpty();
+    }
+
+    @Test
+    void closesStreamTest() {
+        AtomicBoolean closed = new AtomicBoolean();
+
+        TopN.of(IntStream.range(0, 10).boxed().onClose(() -> closed.set(true)), Comparator.naturalOrder(), 3);
+
+        assertThat(closed).isTrue();
+    }
+
+    @Test
+    void illegalLimitTest() {
+        AtomicBoolean closed = new AtomicBoolean();
+
+        assertThatThrownBy(() -> TopN.of(Stream.of(1).onClose(() -> closed.set(true)), Comparator.naturalOrder(), 0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Limit must be positive");
+        assertThat(closed).isTrue();
+    }
+}
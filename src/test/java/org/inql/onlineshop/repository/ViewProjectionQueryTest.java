@@ -0,0 +1,136 @@
+package org.inql.onlineshop.repository;
+
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.inql.onlineshop.domain.Client;
+import org.inql.onlineshop.domain.ClientView;
+import org.inql.onlineshop.domain.Item;
+import org.inql.onlineshop.domain.ItemView;
+import org.inql.onlineshop.domain.Order;
+import org.inql.onlineshop.domain.OrderView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+@ExtendWith(SpringExtension.class)
+@DataJpaTest
+public class ViewProjectionQueryTest {
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+
+    private Client client;
+
+    private Item banana;
+
+    private Item ball;
+
+    private List<Order> orders;
+
+    @BeforeEach
+    void setUp() {
+        client = clientRepository.save(new Client("Adam", "Abacki", "adam@abacki.pl"));
+        clientRepository.save(new Client("Bartosz", "Babacki", "bartosz@babacki.pl"));
+        banana = itemRepository.save(new Item("Banana", 2.5D));
+        ball = itemRepository.save(new Item("Ball", 10D));
+        orders = new ArrayList<>();
+        Order order = new Order();
+        order.setClient(client);
+        order.addItem(banana, 2);
+        order.addItem(ball, 1);
+        orders.add(order);
+        orders.add(new Order());
+        orderRepository.saveAll(orders);
+        entityManager.flush();
+        entityManager.clear();
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    private void assertNothingManaged() {
+        assertAll("Checking persistence context",
+                () -> assertThat(entityManager.unwrap(Session.class).getStatistics().getEntityCount()).isZero(),
+                () -> assertThat(statistics.getEntityLoadCount()).isZero(),
+                () -> assertThat(statistics.getPrepareStatementCount()).isEqualTo(1));
+    }
+
+    @Test
+    void findItemViewsTest() {
+        List<ItemView> views = itemRepository.findItemViewsBy();
+
+        assertThat(views).containsExactlyInAnyOrder(new ItemView(banana.getId(), "Banana", 2.5D), new ItemView(ball.getId(), "Ball", 10D));
+        assertNothingManaged();
+    }
+
+    @Test
+    void findItemViewsByNameContainingTest() {
+        assertThat(itemRepository.findItemViewsByNameContaining("nan")).containsExactly(new ItemView(banana.getId(), "Banana", 2.5D));
+        assertThat(itemRepository.findItemViewsByNameContaining("%")).isEmpty();
+    }
+
+    @Test
+    void findItemViewsByValueBetweenTest() {
+        List<ItemView> views = itemRepository.findItemViewsByValueBetween(5D, 20D);
+
+        assertThat(views).containsExactly(new ItemView(ball.getId(), "Ball", 10D));
+        assertNothingManaged();
+    }
+
+    @Test
+    void findClientViewsTest() {
+        List<ClientView> views = clientRepository.findClientViewsBy();
+
+        assertThat(views).hasSize(2).contains(new ClientView(client.getId(), "Adam", "Abacki", "adam@abacki.pl"));
+        assertNothingManaged();
+    }
+
+    @Test
+    void findClientViewsByNameTest() {
+        assertAll("Checking client views",
+                () -> assertThat(clientRepository.findClientViewsByName("Adam")).extracting(ClientView::getId).containsExactly(client.getId()),
+                () -> assertThat(clientRepository.findClientViewsBySurname("Abacki")).extracting(ClientView::getId).containsExactly(client.getId()),
+                () -> assertThat(clientRepository.findClientViewsByNameContaining("art")).extracting(ClientView::getEmail).containsExactly("bartosz@babacki.pl"),
+                () -> assertThat(clientRepository.findClientViewsByName("Cezary")).isEmpty());
+    }
+
+    @Test
+    void findOrderViewsTest() {
+        List<OrderView> views = orderRepository.findOrderViews();
+
+        assertThat(views).containsExactlyInAnyOrder(new OrderView(orders.get(0).getId(), client.getId(), 15D, 3),
+                new OrderView(orders.get(1).getId(), null, 0D, 0));
+        assertNothingManaged();
+    }
+
+    @Test
+    void findOrderViewsByClientTest() {
+        OrderView view = new OrderView(orders.get(0).getId(), client.getId(), 15D, 3);
+
+        assertThat(orderRepository.findOrderViewsByClient_Id(client.getId())).containsExactly(view);
+        assertNothingManaged();
+        assertThat(orderRepository.findOrderViewsByClient_Email("adam@abacki.pl")).containsExactly(view);
+        assertThat(orderRepository.findOrderViewsByClient_Email("bartosz@babacki.pl")).isEmpty();
+    }
+}
@@ -0,0 +1,43 @@
+package org.inql.onlineshop.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class AsyncLookupsTest {
+
+    @Test
+    void resultsInLookupOrderTest() {
+        CompletableFuture<Integer> slow = new CompletableFuture<>();
+        CompletableFuture<Integer> fast = CompletableFuture.completedFuture(2);
+
+        CompletableFuture<List<Integer>> all = AsyncLookups.all(slow, fast);
+        assertThat(all).isNotDone();
+        slow.complete(1);
+
+        assertThat(all.join()).containsExactly(1, 2);
+    }
+
+    @Test
+    void failsWithoutWaitingForOthersTest() {
+        CompletableFuture<Integer> pending = new CompletableFuture<>();
+        CompletableFuture<Integer> failed = new CompletableFuture<>();
+        failed.completeExceptionally(new IllegalStateException("lookup failed"));
+
+        CompletableFuture<List<Integer>> all = AsyncLookups.all(Arrays.asList(pending, failed));
+
+        assertThatThrownBy(all::join).isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void noLookupsTest() {
+        assertThat(AsyncLookups.<Integer>all(Collections.emptyList()).join()).isEmpty();
+    }
+}
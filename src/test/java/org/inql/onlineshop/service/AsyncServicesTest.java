@@ -0,0 +1,120 @@
+package org.inql.onlineshop.service;
+
+import javassist.NotFoundException;
+import org.inql.onlineshop.domain.Client;
+import org.inql.onlineshop.domain.Item;
+import org.inql.onlineshop.domain.Order;
+import org.inql.onlineshop.domain.OrderTotals;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class AsyncServicesTest {
+
+    @Mock
+    private ItemService itemService;
+
+    @Mock
+    private ClientService clientService;
+
+    @Mock
+    private OrderService orderService;
+
+    private ExecutorService executor;
+
+    private AsyncItemService asyncItemService;
+    private AsyncClientService asyncClientService;
+    private AsyncOrderService asyncOrderService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.initMocks(this);
+        executor = ServiceExecutors.bounded("test", 2, 10);
+        asyncItemService = new AsyncItemServiceImpl(itemService, executor);
+        asyncClientService = new AsyncClientServiceImpl(clientService, executor);
+        asyncOrderService = new AsyncOrderServiceImpl(orderService, executor);
+    }
+
+    @Test
+    void lookupRunsOnExecutorTest() throws NotFoundException {
+        Item item = new Item("Apple", 2D);
+        Thread caller = Thread.currentThread();
+        when(itemService.findById(1L)).thenAnswer(invocation -> {
+            assertThat(Thread.currentThread()).isNotSameAs(caller);
+            return item;
+        });
+
+        assertThat(asyncItemService.findById(1L).join()).isSameAs(item);
+    }
+
+    @Test
+    void notFoundCompletesExceptionallyTest() throws NotFoundException {
+        when(clientService.findByEmail("nobody@shop.pl")).thenThrow(new NotFoundException("Client not found"));
+
+        CompletableFuture<Client> client = asyncClientService.findByEmail("nobody@shop.pl");
+
+        assertThatThrownBy(client::join).isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(NotFoundException.class);
+    }
+
+    @Test
+    void errorCompletesExceptionallyTest() throws NotFoundException {
+        when(itemService.findById(1L)).thenThrow(new AssertionError("broken"));
+
+        CompletableFuture<Item> item = asyncItemService.findById(1L);
+
+        assertThatThrownBy(() -> item.get(5, TimeUnit.SECONDS)).isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(AssertionError.class);
+    }
+
+    @Test
+    void deleteCompletesAfterDelegateTest() {
+        asyncOrderService.deleteById(1L).join();
+
+        verify(orderService, times(1)).deleteById(1L);
+    }
+
+    @Test
+    void clientOrdersAndTotalsPageTest() throws NotFoundException {
+        Client client = new Client("Adam", "Abacki", "adam@abacki.pl");
+        client.setId(1L);
+        Order first = new Order();
+        first.setId(10L);
+        Order second = new Order();
+        second.setId(11L);
+        when(clientService.findByEmail("adam@abacki.pl")).thenReturn(client);
+        when(orderService.findOrdersByClientId(1L)).thenReturn(new HashSet<>(Arrays.asList(first, second)));
+        when(orderService.getOrderTotalValueById(10L)).thenReturn(5D);
+        when(orderService.getOrderTotalValueById(11L)).thenReturn(7D);
+        when(orderService.getOrderTotalValues(anyCollection())).thenReturn(new OrderTotals(new long[]{10L, 11L}, new double[]{5D, 7D}));
+
+        CompletableFuture<List<Double>> totals = asyncClientService.findByEmail("adam@abacki.pl")
+                .thenCompose(found -> asyncOrderService.findOrdersByClientId(found.getId()))
+                .thenCompose(orders -> AsyncLookups.all(orders.stream()
+                        .map(order -> asyncOrderService.getOrderTotalValueById(order.getId()))
+                        .collect(Collectors.toList())));
+
+        assertThat(totals.join()).containsExactlyInAnyOrder(5D, 7D);
+        assertThat(asyncOrderService.getOrderTotalValues(Arrays.asList(10L, 11L)).join().sum()).isEqualTo(12D);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,130 @@
+package org.inql.onlineshop.service;
+
+import org.inql.onlineshop.domain.Client;
+import org.inql.onlineshop.domain.Item;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.ConstraintViolationException;
+import javax.validation.Validation;
+import javax.validation.ValidatorFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class BatchValidatorTest {
+
+    private static ValidatorFactory validatorFactory;
+
+    private BatchValidator batchValidator;
+
+    @BeforeAll
+    static void createValidator() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+    }
+
+    @AfterAll
+    static void closeValidator() {
+        validatorFactory.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        batchValidator = new BatchValidator(validatorFactory.getValidator(), 4, Item.class, Client.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        batchValidator.close();
+    }
+
+    private List<Item> items(int count) {
+        List<Item> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            items.add(new Item("Apple", 1D + i));
+        }
+        return items;
+    }
+
+    @Test
+    void validateSmallBatchTest() {
+        List<Set<ConstraintViolation<Item>>> violations = batchValidator.validate(Arrays.asList(
+                new Item("Apple", 2.5), new Item("apple", 2.5), null, new Item("Pear", -1D)));
+
+        assertThat(violations).hasSize(4);
+        assertThat(violations.get(0)).isEmpty();
+        assertThat(violations.get(1)).extracting(ConstraintViolation::getMessage).containsExactly("Invalid name input.");
+        assertThat(violations.get(2)).isEmpty();
+        assertThat(violations.get(3)).extracting(ConstraintViolation::getMessage).containsExactly("Value must be higher than zero.");
+    }
+
+    @Test
+    void validateLargeBatchInParallelTest() {
+        List<Item> items = items(BatchValidator.SEQUENTIAL_THRESHOLD * 8 + 3);
+        items.get(0).setName(null);
+        items.get(1000).setValue(1.234);
+        items.get(items.size() - 1).setName("X");
+
+        List<Set<ConstraintViolation<Item>>> violations = batchValidator.validate(items);
+
+        assertThat(violations).hasSize(items.size()).doesNotContainNull();
+        for (int i = 0; i < violations.size(); i++) {
+            assertThat(violations.get(i).isEmpty()).as("position %d", i).isEqualTo(i != 0 && i != 1000 && i != items.size() - 1);
+        }
+    }
+
+    @Test
+    void validateAllReportsEveryInvalidEntityTest() {
+        List<Item> items = items(1000);
+        items.get(10).setName("apple");
+        items.get(500).setValue(null);
+
+        assertThatThrownBy(() -> batchValidator.validateAll(items))
+                .isInstanceOf(ConstraintViolationException.class)
+                .hasMessage("2 of 1000 entities are invalid, the first at position 10: name: Invalid name input.")
+                .satisfies(e -> {
+                    BatchValidationException exception = (BatchValidationException) e;
+                    assertThat(exception.getInvalidPositions()).containsExactly(10, 500);
+                    assertThat(exception.getViolations(500)).extracting(ConstraintViolation::getMessage)
+                            .containsExactly("Value cannot be null.");
+                    assertThat(exception.getViolations(11)).isEmpty();
+                    assertThat(exception.getConstraintViolations()).hasSize(2);
+                });
+    }
+
+    @Test
+    void validateAllValidBatchTest() {
+        Client client = new Client("Adam", "Abacki", "adam@abacki.pl");
+
+        assertThatCode(() -> batchValidator.validateAll(new ArrayList<>(items(300)))).doesNotThrowAnyException();
+        assertThatCode(() -> batchValidator.validateAll(Arrays.asList(client)::iterator)).doesNotThrowAnyException();
+    }
+
+    @Test
+    void validateAllReturnsOneShotBatchTest() {
+        List<Item> items = items(3);
+        Iterator<Item> iterator = items.iterator();
+
+        assertThat(batchValidator.validateAll(() -> iterator)).containsExactlyElementsOf(items);
+    }
+
+    @Test
+    void validateOneTest() {
+        Item item = new Item("Apple", 1D);
+
+        assertThat(batchValidator.validateOne(item)).isSameAs(item);
+        assertThat(batchValidator.validateOne((Item) null)).isNull();
+        assertThatThrownBy(() -> batchValidator.validateOne(new Item("apple", -1D)))
+                .isInstanceOf(ConstraintViolationException.class)
+                .isNotInstanceOf(BatchValidationException.class)
+                .hasMessage("name: Invalid name input., value: Value must be higher than zero.");
+    }
+}
@@ -0,0 +1,100 @@
+package org.inql.onlineshop.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.inql.onlineshop.cache.ClientCache;
+import org.inql.onlineshop.domain.Client;
+import org.inql.onlineshop.domain.Item;
+import org.inql.onlineshop.domain.Order;
+import org.inql.onlineshop.repository.ClientRepository;
+import org.inql.onlineshop.repository.ItemRepository;
+import org.inql.onlineshop.repository.OrderRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Looks clients up through the cache in one transaction and again in the next, the way two requests with
+ * open-in-view would, to check that a cache hit still returns a client attached to the current session.
+ */
+@ExtendWith(SpringExtension.class)
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class CachingClientServiceJpaTest {
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private ClientService clientService;
+    private Client client;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        clientService = new CachingClientService(new ClientServiceImpl(clientRepository),
+                new ClientCache(Duration.ofMinutes(5), Duration.ofSeconds(10), 100, new SimpleMeterRegistry()));
+        client = clientRepository.save(new Client("Adam", "Abacki", "adam@abacki.pl"));
+        Item item = itemRepository.save(new Item("Banana", 2D));
+        Order order = new Order();
+        order.setClient(client);
+        order.addItem(item, 2);
+        orderRepository.save(order);
+    }
+
+    @Test
+    void lazyOrdersAfterCacheHitTest() {
+        transactionTemplate.execute(status -> clientService.lookupByEmail("adam@abacki.pl").get());
+
+        Client cached = transactionTemplate.execute(status -> {
+            Client found = clientService.lookupByEmail("adam@abacki.pl").get();
+            assertThat(found.getOrders()).hasSize(1);
+            return found;
+        });
+        Client byId = transactionTemplate.execute(status -> {
+            Client found = clientService.lookupById(client.getId()).get();
+            assertThat(found.getOrders()).hasSize(1);
+            return found;
+        });
+
+        assertThat(cached).isNotSameAs(byId);
+    }
+
+    @Test
+    void returnedClientNotSharedTest() {
+        Client first = transactionTemplate.execute(status -> clientService.lookupByEmail("adam@abacki.pl").get());
+        first.setName("Changed");
+
+        Client second = transactionTemplate.execute(status -> clientService.lookupByEmail("adam@abacki.pl").get());
+
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getName()).isEqualTo("Adam");
+    }
+
+    @AfterEach
+    void tearDown() {
+        orderRepository.deleteAll();
+        itemRepository.deleteAll();
+        clientRepository.deleteAll();
+    }
+}
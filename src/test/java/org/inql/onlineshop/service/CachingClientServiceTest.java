@@ -0,0 +1,171 @@
+package org.inql.onlineshop.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import javassist.NotFoundException;
+import org.inql.onlineshop.cache.ClientCache;
+import org.inql.onlineshop.domain.Client;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class CachingClientServiceTest {
+
+    @Mock
+    private ClientService delegate;
+
+    private ClientService clientService;
+
+    private SimpleMeterRegistry registry;
+
+    private Client client;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.initMocks(this);
+        registry = new SimpleMeterRegistry();
+        clientService = new CachingClientService(delegate,
+                new ClientCache(Duration.ofMinutes(5), Duration.ofSeconds(10), 100, registry));
+        client = new Client("Adam", "Abacki", "adam@abacki.pl");
+        client.setId(1L);
+    }
+
+    @Test
+    void findByEmailReadThroughTest() throws NotFoundException {
+        Client reloaded = new Client("Adam", "Abacki", "adam@abacki.pl");
+        reloaded.setId(1L);
+        when(delegate.lookupByEmail("adam@abacki.pl")).thenReturn(Optional.of(client));
+        when(delegate.lookupById(1L)).thenReturn(Optional.of(reloaded));
+
+        assertThat(clientService.findByEmail("adam@abacki.pl")).isSameAs(client);
+        assertThat(clientService.findByEmail("adam@abacki.pl")).isSameAs(reloaded);
+
+        verify(delegate, times(1)).lookupByEmail("adam@abacki.pl");
+        verify(delegate, times(1)).lookupById(1L);
+    }
+
+    @Test
+    void emailChangedElsewhereReloadedByEmailTest() {
+        Client changed = new Client("Adam", "Abacki", "adam@domain.pl");
+        changed.setId(1L);
+        when(delegate.lookupByEmail("adam@abacki.pl")).thenReturn(Optional.of(client)).thenReturn(Optional.empty());
+        when(delegate.lookupById(1L)).thenReturn(Optional.of(changed));
+        clientService.lookupByEmail("adam@abacki.pl");
+
+        assertThat(clientService.lookupByEmail("adam@abacki.pl")).isEmpty();
+        verify(delegate, times(2)).lookupByEmail("adam@abacki.pl");
+    }
+
+    @Test
+    void oneShotSaveAllInvalidatesTest() {
+        when(delegate.lookupById(1L)).thenReturn(Optional.empty()).thenReturn(Optional.of(client));
+        clientService.lookupById(1L);
+        Iterator<Client> clients = Arrays.asList(client).iterator();
+
+        clientService.saveAll(() -> clients);
+
+        assertThat(clientService.lookupById(1L)).containsSame(client);
+        verify(delegate, times(1)).saveAll(Arrays.asList(client));
+    }
+
+    @Test
+    void missCachedUntilSaveTest() {
+        when(delegate.lookupByEmail("adam@abacki.pl")).thenReturn(Optional.empty()).thenReturn(Optional.of(client));
+
+        assertThatThrownBy(() -> clientService.findByEmail("adam@abacki.pl")).isInstanceOf(StacklessNotFoundException.class)
+                .hasMessage("Client not found");
+        assertThat(clientService.lookupByEmail("adam@abacki.pl")).isEmpty();
+        clientService.save(client);
+
+        assertThat(clientService.lookupByEmail("adam@abacki.pl")).containsSame(client);
+        verify(delegate, times(2)).lookupByEmail("adam@abacki.pl");
+    }
+
+    @Test
+    void emailChangeInvalidatesOldEmailTest() {
+        when(delegate.lookupById(1L)).thenReturn(Optional.of(client));
+        when(delegate.lookupByEmail("adam@abacki.pl")).thenReturn(Optional.empty());
+        clientService.lookupById(1L);
+
+        client.setEmail("adam@domain.pl");
+        clientService.saveAll(Arrays.asList(client));
+
+        assertThat(clientService.lookupByEmail("adam@abacki.pl")).isEmpty();
+        verify(delegate, times(1)).lookupByEmail("adam@abacki.pl");
+        verify(delegate, times(1)).saveAll(anyList());
+    }
+
+    @Test
+    void deleteInvalidatesTest() {
+        when(delegate.lookupById(1L)).thenReturn(Optional.of(client)).thenReturn(Optional.empty());
+        clientService.lookupById(1L);
+
+        clientService.deleteById(1L);
+
+        assertThat(clientService.lookupById(1L)).isEmpty();
+        verify(delegate, times(2)).lookupById(1L);
+    }
+
+    @Test
+    void failedSaveStillInvalidatesTest() {
+        when(delegate.lookupById(1L)).thenReturn(Optional.of(client));
+        when(delegate.save(client)).thenThrow(new IllegalStateException("Connection lost"));
+        clientService.lookupById(1L);
+
+        assertThatThrownBy(() -> clientService.save(client)).isInstanceOf(IllegalStateException.class);
+        clientService.lookupById(1L);
+
+        verify(delegate, times(2)).lookupById(1L);
+    }
+
+    @Test
+    void cachedIdNotCountedAsHitTest() {
+        when(delegate.lookupById(1L)).thenReturn(Optional.of(client));
+
+        clientService.lookupById(1L);
+        clientService.lookupById(1L);
+
+        verify(delegate, times(2)).lookupById(1L);
+        assertThat(registry.get(ClientCache.HIT_RATIO_METRIC).gauge().value()).isZero();
+    }
+
+    @Test
+    void deletedElsewhereDroppedFromCacheTest() {
+        when(delegate.lookupById(1L)).thenReturn(Optional.of(client)).thenReturn(Optional.empty());
+        when(delegate.lookupByEmail("adam@abacki.pl")).thenReturn(Optional.empty());
+        clientService.lookupById(1L);
+
+        assertThat(clientService.lookupById(1L)).isEmpty();
+        assertThat(clientService.lookupByEmail("adam@abacki.pl")).isEmpty();
+
+        verify(delegate, times(1)).lookupByEmail("adam@abacki.pl");
+    }
+
+    @Test
+    void nullKeysBypassCacheTest() {
+        when(delegate.lookupById(null)).thenThrow(new IllegalArgumentException("Null id not allowed"));
+
+        assertThatThrownBy(() -> clientService.findById(null)).isInstanceOf(IllegalArgumentException.class);
+        clientService.lookupByEmail(null);
+        clientService.lookupByEmail(null);
+
+        verify(delegate, times(2)).lookupByEmail(null);
+    }
+
+    @Test
+    void otherCallsDelegatedTest() {
+        clientService.search("ada", 10);
+        clientService.findClientsByName("Adam");
+
+        verify(delegate).search("ada", 10);
+        verify(delegate).findClientsByName("Adam");
+    }
+}
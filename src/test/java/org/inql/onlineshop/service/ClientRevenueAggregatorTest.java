@@ -0,0 +1,89 @@
+package org.inql.onlineshop.service;
+
+import org.assertj.core.data.Offset;
+import org.inql.onlineshop.domain.ClientRevenues;
+import org.inql.onlineshop.domain.OrderSnapshot;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+public class ClientRevenueAggregatorTest {
+
+    private ClientRevenueAggregator aggregator;
+
+    @BeforeEach
+    void setUp() {
+        aggregator = new ClientRevenueAggregator(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        aggregator.close();
+    }
+
+    @Test
+    void aggregateSmallSnapshotTest() {
+        OrderSnapshot snapshot = new OrderSnapshot(new long[]{1L, 2L, 3L},
+                new long[]{3L, 1L, 3L, 7L}, new double[]{10D, 4.5D, 20D, 100D});
+
+        ClientRevenues revenues = aggregator.aggregate(snapshot);
+
+        assertAll("Checking client revenues",
+                () -> assertThat(revenues.size()).isEqualTo(3),
+                () -> assertThat(revenues.getLifetimeValue(3L)).isEqualTo(30D, Offset.offset(0D)),
+                () -> assertThat(revenues.getOrderCount(3L)).isEqualTo(2),
+                () -> assertThat(revenues.getAverageBasket(3L)).isEqualTo(15D, Offset.offset(0D)),
+                () -> assertThat(revenues.getLifetimeValue(1L)).isEqualTo(4.5D, Offset.offset(0D)),
+                () -> assertThat(revenues.getOrderCount(2L)).isZero(),
+                () -> assertThat(revenues.contains(7L)).isFalse());
+    }
+
+    @Test
+    void aggregateLargeSnapshotInParallelTest() {
+        int clients = 1000;
+        int orders = ClientRevenueAggregator.SEQUENTIAL_THRESHOLD * 10;
+        long[] clientIds = new long[clients];
+        for (int i = 0; i < clients; i++) {
+            clientIds[i] = 10L + 2 * i;
+        }
+        Random random = new Random(7);
+        long[] orderClientIds = new long[orders];
+        double[] orderTotals = new double[orders];
+        double[] expectedValues = new double[clients];
+        int[] expectedCounts = new int[clients];
+        for (int i = 0; i < orders; i++) {
+            int client = random.nextInt(clients);
+            orderClientIds[i] = clientIds[client];
+            orderTotals[i] = random.nextInt(100_000) / 100D;
+            expectedValues[client] += orderTotals[i];
+            expectedCounts[client]++;
+        }
+
+        ClientRevenues revenues = aggregator.aggregate(new OrderSnapshot(clientIds, orderClientIds, orderTotals));
+
+        assertThat(revenues.size()).isEqualTo(clients);
+        assertThat(revenues.totalOrders()).isEqualTo(orders);
+        for (int i = 0; i < clients; i++) {
+            assertThat(revenues.clientIdAt(i)).isEqualTo(clientIds[i]);
+            assertThat(revenues.orderCountAt(i)).isEqualTo(expectedCounts[i]);
+            assertThat(revenues.lifetimeValueAt(i)).isEqualTo(expectedValues[i], Offset.offset(1e-6));
+        }
+    }
+
+    @Test
+    void aggregateEmptySnapshotTest() {
+        assertThat(aggregator.aggregate(new OrderSnapshot(new long[0], new long[0], new double[0])).size()).isZero();
+        assertThat(aggregator.aggregate(new OrderSnapshot(new long[]{1L}, new long[0], new double[0])).getOrderCount(1L)).isZero();
+    }
+
+    @Test
+    void mismatchedSnapshotArraysTest() {
+        assertThatThrownBy(() -> new OrderSnapshot(new long[0], new long[1], new double[0])).isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Order client ids and totals must have the same length");
+    }
+}
@@ -0,0 +1,93 @@
+package org.inql.onlineshop.service;
+
+import org.inql.onlineshop.domain.Client;
+import org.inql.onlineshop.domain.Item;
+import org.inql.onlineshop.domain.Order;
+import org.inql.onlineshop.index.ClientSearchIndex;
+import org.inql.onlineshop.repository.ClientRepository;
+import org.inql.onlineshop.repository.ItemRepository;
+import org.inql.onlineshop.repository.OrderRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Builds the search index when the service is created and searches in later transactions, the way requests
+ * would, to check that indexed lookups return clients attached to the current session.
+ */
+@ExtendWith(SpringExtension.class)
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class ClientSearchIndexJpaTest {
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private ClientService clientService;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        Client client = clientRepository.save(new Client("Adam", "Abacki", "adam@abacki.pl"));
+        Item item = itemRepository.save(new Item("Banana", 2D));
+        Order order = new Order();
+        order.setClient(client);
+        order.addItem(item, 2);
+        orderRepository.save(order);
+        clientService = new ClientServiceImpl(clientRepository, new ClientSearchIndex());
+    }
+
+    @Test
+    void lazyOrdersAfterIndexedLookupTest() {
+        transactionTemplate.execute(status -> {
+            List<Client> found = clientService.search("adam", 10);
+            assertThat(found).hasSize(1);
+            assertThat(found.get(0).getOrders()).hasSize(1);
+            Set<Client> byName = clientService.findByNameContaining("Ada");
+            assertThat(byName).hasSize(1);
+            assertThat(byName.iterator().next().getOrders()).hasSize(1);
+            return null;
+        });
+    }
+
+    @Test
+    void returnedClientNotSharedTest() {
+        Client first = transactionTemplate.execute(status -> clientService.search("adam", 10).get(0));
+        first.setName("Changed");
+
+        Client second = transactionTemplate.execute(status -> clientService.search("adam", 10).get(0));
+
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getName()).isEqualTo("Adam");
+    }
+
+    @AfterEach
+    void tearDown() {
+        orderRepository.deleteAll();
+        itemRepository.deleteAll();
+        clientRepository.deleteAll();
+    }
+}
@@ -0,0 +1,51 @@
+package org.inql.onlineshop.service;
+
+import org.inql.onlineshop.domain.Client;
+import org.inql.onlineshop.index.ClientSearchIndex;
+import org.inql.onlineshop.repository.ClientRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Runs the same keywords through the indexed and the database search, both have to find and rank the same clients.
+ */
+@ExtendWith(SpringExtension.class)
+@DataJpaTest
+public class ClientSearchPathsTest {
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    private ClientService databaseSearch;
+    private ClientService indexedSearch;
+
+    @BeforeEach
+    void setUp() {
+        clientRepository.save(new Client("Janusz", "Kowalski", "janusz@kowalski.pl"));
+        clientRepository.save(new Client("Łukasz", "Żółkiewski", "lukasz@domain.com"));
+        clientRepository.save(new Client("Adam", "Łukaszewicz", "adam@domain.pl"));
+        clientRepository.save(new Client("Anna", "Nowak", "anna_nowak@shop.pl"));
+        clientRepository.save(new Client("Kowal", "Nowicki", "kowal@shop.pl"));
+        databaseSearch = new ClientServiceImpl(clientRepository);
+        indexedSearch = new ClientServiceImpl(clientRepository, new ClientSearchIndex());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"kowalski", "KOWAL", "lukasz", "Łuk", "żółk", "domain", "a_n", "%", "nobody"})
+    void sameResultsOnBothPathsTest(String keyword) {
+        assertThat(databaseSearch.search(keyword, 10)).containsExactlyElementsOf(indexedSearch.search(keyword, 10));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"kowalski", "lukasz"})
+    void foldedMatchOnDatabasePathTest(String keyword) {
+        assertThat(databaseSearch.search(keyword, 10)).isNotEmpty();
+    }
+}
@@ -2,16 +2,23 @@ package org.inql.onlineshop.service;
 
 import javassist.NotFoundException;
 import org.inql.onlineshop.domain.Client;
+import org.inql.onlineshop.domain.ClientView;
+import org.inql.onlineshop.index.ClientSearchIndex;
 import org.inql.onlineshop.repository.ClientRepository;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.PageRequest;
 
+import javax.validation.ConstraintViolationException;
+import javax.validation.Validation;
 import java.util.*;
+import java.util.stream.Stream;
 
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -132,6 +139,26 @@ public class ClientServiceImplMockitoTest {
         assertThatThrownBy(() -> clientService.findByEmail("example@example.com")).isInstanceOf(NotFoundException.class).hasMessage("Client not found");
     }
 
+    @Test
+    void lookupClientByEmailTest() {
+        Client client = new Client();
+        client.setEmail("example@example.com");
+
+        when(clientRepository.findClientByEmail("example@example.com")).thenReturn(Optional.of(client));
+        when(clientRepository.findClientByEmail("missing@example.com")).thenReturn(Optional.empty());
+
+        assertThat(clientService.lookupByEmail("example@example.com")).containsSame(client);
+        assertThat(clientService.lookupByEmail("missing@example.com")).isEmpty();
+    }
+
+    @Test
+    void lookupClientByIdTest() {
+        when(clientRepository.findById(1L)).thenReturn(Optional.empty());
+
+        assertThat(clientService.lookupById(1L)).isEmpty();
+        verify(clientRepository, times(1)).findById(1L);
+    }
+
     @Test
     void findClientByEmailNullInputTest() {
         String email = null;
@@ -252,6 +279,19 @@ public class ClientServiceImplMockitoTest {
         verify(clientRepository, never()).findById(1L);
     }
 
+    @Test
+    void findClientViewsByNameTest() {
+        ClientView view = new ClientView(1L, "Marcin", "Kowalski", "marcin@kowalski.pl");
+
+        when(clientRepository.findClientViewsByName("Marcin")).thenReturn(Collections.singletonList(view));
+
+        List<ClientView> views = clientService.findClientViewsByName("Marcin");
+
+        assertThat(views).containsExactly(view);
+        verify(clientRepository, times(1)).findClientViewsByName("Marcin");
+        verify(clientRepository, never()).findClientsByName(anyString());
+    }
+
     @Test
     void findClientByNameNullInputTest() {
         String name = null;
@@ -490,6 +530,19 @@ public class ClientServiceImplMockitoTest {
         verify(clientRepository, times(1)).save(client);
     }
 
+    @Test
+    void saveInvalidClientTest() {
+        Client client = new Client("Dawid", "Abacki", "not an email");
+
+        try (BatchValidator batchValidator = new BatchValidator(Validation.buildDefaultValidatorFactory().getValidator(), 2)) {
+            clientService = new ClientServiceImpl(clientRepository, batchValidator);
+
+            assertThatThrownBy(() -> clientService.save(client)).isInstanceOf(ConstraintViolationException.class)
+                    .hasMessageStartingWith("email: ");
+        }
+        verify(clientRepository, never()).save(any());
+    }
+
     @Test
     void saveClientNullTest() {
         Client client = null;
@@ -541,6 +594,21 @@ public class ClientServiceImplMockitoTest {
                 .hasMessage("One of clients is null");
     }
 
+    @Test
+    void saveAllInvalidBatchTest() {
+        Client client = new Client("Dawid", "Abacki", "dawid@abacki.com");
+        Client secondClient = new Client("A", "Babacka", "anna@babacka.com");
+        List<Client> clientsData = Arrays.asList(client, secondClient);
+
+        try (BatchValidator batchValidator = new BatchValidator(Validation.buildDefaultValidatorFactory().getValidator(), 2)) {
+            clientService = new ClientServiceImpl(clientRepository, batchValidator);
+
+            assertThatThrownBy(() -> clientService.saveAll(clientsData)).isInstanceOf(BatchValidationException.class)
+                    .hasMessageStartingWith("1 of 2 entities are invalid, the first at position 1");
+        }
+        verify(clientRepository, never()).saveAll(any());
+    }
+
     @Test
     void deleteByIdTest() {
         Long idToDelete = 2L;
@@ -560,6 +628,149 @@ public class ClientServiceImplMockitoTest {
         verify(clientRepository, times(1)).deleteById(idToDelete);
     }
 
+    @Test
+    void searchTest() {
+        Client client = new Client("Adam","Abacki","adam@abacki.pl");
+        client.setId(1L);
+        Client secondClient = new Client("Dawid","Adamski","dawid@domain.com");
+        secondClient.setId(2L);
+
+        when(clientRepository.findClientsByFoldedPattern("%adam%", ClientSearchIndex.POLISH_LETTERS, ClientSearchIndex.PLAIN_LETTERS))
+                .thenReturn(new HashSet<>(Arrays.asList(secondClient, client)));
+
+        List<Client> clientsReturned = clientService.search("Adam", 10);
+
+        assertThat(clientsReturned).containsExactly(client, secondClient);
+        verify(clientRepository, never()).findAll();
+    }
+
+    @Test
+    void searchIndexedTest() {
+        Client client = new Client("Łukasz","Żółkiewski","lukasz@domain.com");
+        client.setId(1L);
+        Client secondClient = new Client("Adam","Łukaszewicz","adam@domain.com");
+        secondClient.setId(2L);
+        Client thirdClient = new Client("Anna","Nowak","anna@nowak.pl");
+        thirdClient.setId(3L);
+
+        when(clientRepository.findAll()).thenReturn(Arrays.asList(client, secondClient, thirdClient));
+        stubFindAllById(thirdClient, secondClient, client);
+        clientService = new ClientServiceImpl(clientRepository, new ClientSearchIndex());
+
+        List<Client> clientsReturned = clientService.search("lukasz", 10);
+
+        assertThat(clientsReturned).containsExactly(client, secondClient);
+        assertThat(clientService.search("lukasz", 1)).containsExactly(client);
+        verify(clientRepository, never()).findClientsByNameContaining(anyString());
+        verify(clientRepository, never()).findClientsBySurnameContaining(anyString());
+        verify(clientRepository, never()).findClientsByEmailContaining(anyString());
+    }
+
+    @Test
+    void findClientsByNameContainingIndexedTest() {
+        Client client = new Client("Łukasz","Abacki","lukasz@domain.com");
+        client.setId(1L);
+        Client secondClient = new Client("Adam","Łukaszewicz","adam@domain.com");
+        secondClient.setId(2L);
+
+        when(clientRepository.findAll()).thenReturn(Arrays.asList(client, secondClient));
+        stubFindAllById(client, secondClient);
+        clientService = new ClientServiceImpl(clientRepository, new ClientSearchIndex());
+
+        assertThat(clientService.findByNameContaining("Łuk")).containsExactly(client);
+        assertThat(clientService.findByNameContaining("łuk")).isEmpty();
+        assertThat(clientService.findBySurnameContaining("Łuk")).containsExactly(secondClient);
+        assertThat(clientService.findByEmailContaining("domain")).containsExactlyInAnyOrder(client, secondClient);
+        verify(clientRepository, never()).findClientsByNameContaining(anyString());
+    }
+
+    @Test
+    void searchIndexedLoadsClientsPerCallTest() {
+        Client client = new Client("Adam","Abacki","adam@abacki.pl");
+        client.setId(1L);
+        Client loadedClient = new Client("Adam","Abacki","adam@abacki.pl");
+        loadedClient.setId(1L);
+
+        when(clientRepository.findAll()).thenReturn(Collections.singletonList(client));
+        stubFindAllById(loadedClient);
+        clientService = new ClientServiceImpl(clientRepository, new ClientSearchIndex());
+
+        assertThat(clientService.search("adam", 10)).hasSize(1).allSatisfy(found -> assertThat(found).isSameAs(loadedClient));
+        assertThat(clientService.findByNameContaining("Adam")).hasSize(1).allSatisfy(found -> assertThat(found).isSameAs(loadedClient));
+        verify(clientRepository, times(2)).findAllById(Collections.singletonList(1L));
+    }
+
+    // findAllById answering from the given clients, in the given order
+    @SuppressWarnings("unchecked")
+    private void stubFindAllById(Client... clients) {
+        when(clientRepository.findAllById(any())).thenAnswer(invocation -> {
+            Set<Long> ids = new HashSet<>();
+            ((Iterable<Long>) invocation.getArgument(0)).forEach(ids::add);
+            List<Client> found = new ArrayList<>();
+            for (Client client : clients) {
+                if (ids.contains(client.getId())) found.add(client);
+            }
+            return found;
+        });
+    }
+
+    @Test
+    void deleteByIdIndexedTest() {
+        Client client = new Client("Adam","Abacki","adam@abacki.pl");
+        client.setId(1L);
+
+        when(clientRepository.save(client)).thenReturn(client);
+        clientService = new ClientServiceImpl(clientRepository, new ClientSearchIndex());
+        clientService.save(client);
+        clientService.deleteById(1L);
+
+        assertThat(clientService.findByNameContaining("Adam")).isEmpty();
+        verify(clientRepository, times(1)).deleteById(1L);
+    }
+
+    @Test
+    void getClientsPageTest() {
+        Client client = new Client();
+        client.setId(3L);
+        Client secondClient = new Client();
+        secondClient.setId(4L);
+
+        when(clientRepository.findClientsByIdGreaterThanOrderByIdAsc(2L, PageRequest.of(0, 2))).thenReturn(Arrays.asList(client, secondClient));
+
+        List<Client> clientsReturned = clientService.getClients(2L, 2);
+
+        assertThat(clientsReturned).containsExactly(client, secondClient);
+        verify(clientRepository, times(1)).findClientsByIdGreaterThanOrderByIdAsc(2L, PageRequest.of(0, 2));
+        verify(clientRepository, never()).findAll();
+    }
+
+    @Test
+    void getClientsFirstPageTest() {
+        clientService.getClients(null, 10);
+
+        verify(clientRepository, times(1)).findClientsByIdGreaterThanOrderByIdAsc(Long.MIN_VALUE, PageRequest.of(0, 10));
+    }
+
+    @Test
+    void streamClientsTest() {
+        Client client = new Client();
+        client.setId(1L);
+
+        when(clientRepository.streamAll(500)).thenReturn(Stream.of(client));
+
+        assertThat(clientService.streamClients()).containsExactly(client);
+        verify(clientRepository, times(1)).streamAll(500);
+        verify(clientRepository, never()).findAll();
+    }
+
+    @Test
+    void streamClientsFetchSizeTest() {
+        when(clientRepository.streamAll(50)).thenReturn(Stream.empty());
+
+        assertThat(clientService.streamClients(50)).isEmpty();
+        verify(clientRepository, times(1)).streamAll(50);
+    }
+
     @AfterEach
     public void tearDown() {
         clientService = null;
@@ -3,6 +3,9 @@ package org.inql.onlineshop.service;
 import com.google.common.collect.Sets;
 import javassist.NotFoundException;
 import org.inql.onlineshop.domain.Item;
+import org.inql.onlineshop.domain.ItemView;
+import org.inql.onlineshop.index.ItemNameIndex;
+import org.inql.onlineshop.index.ItemPriceIndex;
 import org.inql.onlineshop.repository.ItemRepository;
 import org.inql.onlineshop.repository.MockItemRepository;
 import org.junit.jupiter.api.AfterEach;
@@ -11,9 +14,18 @@ import org.junit.jupiter.api.Test;
 import static org.assertj.core.api.Assertions.*;
 import static org.junit.jupiter.api.Assertions.assertAll;
 
+import javax.validation.ConstraintViolationException;
+import javax.validation.Validation;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class ItemServiceImplCustomMockTest {
 
@@ -61,11 +73,45 @@ public class ItemServiceImplCustomMockTest {
         assertThat(itemReturned).isNotNull().isInstanceOf(Item.class).isEqualTo(item);
     }
 
+    @Test
+    void getItemViewsTest() {
+        Item banana = new Item("Banana", 2.5D);
+        banana.setId(1L);
+        Item ball = new Item("Ball", 10D);
+        ball.setId(2L);
+        itemService.saveAll(Arrays.asList(banana, ball));
+
+        assertAll("Checking item views",
+                () -> assertThat(itemService.getItemViews()).containsExactlyInAnyOrder(new ItemView(1L, "Banana", 2.5D), new ItemView(2L, "Ball", 10D)),
+                () -> assertThat(itemService.findViewsByNameContaining("nan")).containsExactly(new ItemView(1L, "Banana", 2.5D)),
+                () -> assertThat(itemService.findViewsByValueBetween(5D, 20D)).containsExactly(new ItemView(2L, "Ball", 10D)));
+    }
+
     @Test
     void findItemByNameNotFoundTest() {
         assertThatThrownBy(() -> itemService.findByName("Banana")).isInstanceOf(NotFoundException.class).hasMessage("Item not found");
     }
 
+    @Test
+    void findItemByIdNotFoundIsStacklessTest() {
+        assertThatThrownBy(() -> itemService.findById(1L)).isInstanceOf(StacklessNotFoundException.class)
+                .satisfies(e -> assertThat(e.getStackTrace()).isEmpty());
+    }
+
+    @Test
+    void lookupItemTest() {
+        Item item = new Item("Banana", 2D);
+        item.setId(1L);
+        itemService.save(item);
+
+        assertAll(
+                () -> assertThat(itemService.lookupById(1L)).containsSame(item),
+                () -> assertThat(itemService.lookupById(2L)).isEmpty(),
+                () -> assertThat(itemService.lookupByName("Banana")).containsSame(item),
+                () -> assertThat(itemService.lookupByName("Apple")).isEmpty()
+        );
+    }
+
     @Test
     void findItemByNameNullInputTest(){
         assertThatThrownBy(() -> itemService.findByName(null)).isInstanceOf(IllegalArgumentException.class).hasMessage("Null name not allowed");
@@ -372,6 +418,20 @@ public class ItemServiceImplCustomMockTest {
         assertThat(itemsReturned).isNotNull().isNotEmpty().isInstanceOf(Set.class).hasOnlyElementsOfType(Item.class).hasSize(1).containsExactly(item);
     }
 
+    @Test
+    void saveInvalidItemTest() {
+        Item item = new Item("Pear", 0D);
+        item.setId(1L);
+
+        try (BatchValidator batchValidator = new BatchValidator(Validation.buildDefaultValidatorFactory().getValidator(), 2)) {
+            itemService = new ItemServiceImpl(itemRepository, batchValidator);
+
+            assertThatThrownBy(() -> itemService.save(item)).isInstanceOf(ConstraintViolationException.class)
+                    .hasMessage("value: Value must be higher than zero.");
+        }
+        assertThat(itemService.getItems()).isEmpty();
+    }
+
     @Test
     void saveItemNullInputTest(){
         Item item = null;
@@ -402,6 +462,37 @@ public class ItemServiceImplCustomMockTest {
         assertThatThrownBy(() -> itemService.saveAll(items)).isInstanceOf(IllegalArgumentException.class);
     }
 
+    @Test
+    void saveAllItemsInvalidBatchTest() {
+        Item item = new Item("Apple", 1D);
+        Item secondItem = new Item("Pear", 0D);
+
+        try (BatchValidator batchValidator = new BatchValidator(Validation.buildDefaultValidatorFactory().getValidator(), 2)) {
+            itemService = new ItemServiceImpl(itemRepository, batchValidator);
+
+            assertThatThrownBy(() -> itemService.saveAll(Arrays.asList(item, secondItem))).isInstanceOf(BatchValidationException.class)
+                    .hasMessage("1 of 2 entities are invalid, the first at position 1: value: Value must be higher than zero.");
+        }
+        assertThat(itemService.getItems()).isEmpty();
+    }
+
+    @Test
+    void saveAllItemsOneShotIterableTest() {
+        Item item = new Item("Apple", 2D);
+        item.setId(1L);
+        Item secondItem = new Item("Pear", 3D);
+        secondItem.setId(2L);
+        Iterator<Item> iterator = Arrays.asList(item, secondItem).iterator();
+
+        try (BatchValidator batchValidator = new BatchValidator(Validation.buildDefaultValidatorFactory().getValidator(), 2)) {
+            itemService = new ItemServiceImpl(itemRepository, new ItemPriceIndex(), null, batchValidator);
+
+            itemService.saveAll(() -> iterator);
+        }
+        assertThat(itemService.getItems()).containsExactlyInAnyOrder(item, secondItem);
+        assertThat(itemService.findByValue(3D)).containsExactly(secondItem);
+    }
+
     @Test
     void deleteByIdTest() {
         Item item = new Item();
@@ -422,6 +513,181 @@ public class ItemServiceImplCustomMockTest {
         assertThatThrownBy(() -> itemService.deleteById(null)).isInstanceOf(IllegalArgumentException.class).hasMessage("Null id not allowed");
     }
 
+    @Test
+    void findItemByValueBetweenIndexedTest() {
+        Item item = new Item("Banana", 25.25);
+        item.setId(1L);
+        Item secondItem = new Item("Ball", 23.25);
+        secondItem.setId(2L);
+        Item thirdItem = new Item("Apple", 1.00);
+        thirdItem.setId(3L);
+        itemService = new ItemServiceImpl(itemRepository, new ItemPriceIndex());
+        itemService.saveAll(Sets.newHashSet(item, secondItem, thirdItem));
+
+        Set<Item> itemsReturned = itemService.findByValueBetween(23.25,25.25);
+
+        assertThat(itemsReturned).isNotNull().hasSize(2).containsExactlyInAnyOrder(item, secondItem);
+    }
+
+    @Test
+    void findItemByValueIndexedLoadsExistingItemsTest() {
+        Item item = new Item("Banana", 25.25);
+        item.setId(1L);
+        Item secondItem = new Item("Ball", 25.25);
+        secondItem.setId(2L);
+        itemRepository.saveAll(Sets.newHashSet(item, secondItem));
+
+        itemService = new ItemServiceImpl(itemRepository, new ItemPriceIndex());
+
+        assertAll("Checking indexed value lookups",
+                () -> assertThat(itemService.findByValue(25.25)).containsExactlyInAnyOrder(item, secondItem),
+                () -> assertThat(itemService.findByValueGreaterThan(25.25)).isEmpty(),
+                () -> assertThat(itemService.findByValueGreaterThanEqual(25.25)).hasSize(2),
+                () -> assertThat(itemService.findByValueLessThan(25.25)).isEmpty(),
+                () -> assertThat(itemService.findByValueLessThanEqual(25.25)).hasSize(2));
+    }
+
+    @Test
+    void deleteByIdIndexedTest() {
+        Item item = new Item("Banana", 25.25);
+        item.setId(1L);
+        itemService = new ItemServiceImpl(itemRepository, new ItemPriceIndex());
+        itemService.save(item);
+
+        itemService.deleteById(1L);
+
+        assertThat(itemService.findByValue(25.25)).isEmpty();
+    }
+
+    @Test
+    void findItemByValueIndexedNullInputTest() {
+        itemService = new ItemServiceImpl(itemRepository, new ItemPriceIndex());
+
+        assertThat(itemService.findByValue(null)).isNotNull().isEmpty();
+    }
+
+    @Test
+    void findItemByNameContainingIndexedTest() {
+        Item item = new Item("Banana", 2D);
+        item.setId(1L);
+        Item secondItem = new Item("Bandana", 3D);
+        secondItem.setId(2L);
+        Item thirdItem = new Item("Ball", 4D);
+        thirdItem.setId(3L);
+        itemService = new ItemServiceImpl(itemRepository, null, new ItemNameIndex());
+        itemService.saveAll(Sets.newHashSet(item, secondItem, thirdItem));
+
+        assertAll("Checking indexed name lookups",
+                () -> assertThat(itemService.findByNameContaining("ana")).containsExactlyInAnyOrder(item, secondItem),
+                () -> assertThat(itemService.findByNameContaining("Ba")).containsExactlyInAnyOrder(item, secondItem, thirdItem),
+                () -> assertThat(itemService.findByNameContaining("nan")).containsExactly(item),
+                () -> assertThat(itemService.findByNameContaining("ban")).isEmpty());
+    }
+
+    @Test
+    void findItemByNameContainingIndexedAfterDeleteTest() {
+        Item item = new Item("Banana", 2D);
+        item.setId(1L);
+        itemService = new ItemServiceImpl(itemRepository, null, new ItemNameIndex());
+        itemService.save(item);
+
+        itemService.deleteById(1L);
+
+        assertThat(itemService.findByNameContaining("ana")).isEmpty();
+    }
+
+    @Test
+    void getItemsPageTest() {
+        Item item = new Item("Banana", 2D);
+        item.setId(1L);
+        Item secondItem = new Item("Ball", 3D);
+        secondItem.setId(2L);
+        Item thirdItem = new Item("Apple", 1D);
+        thirdItem.setId(3L);
+        itemService.saveAll(Sets.newHashSet(item, secondItem, thirdItem));
+
+        assertAll("Checking id keyset pages",
+                () -> assertThat(itemService.getItems(null, 2)).containsExactly(item, secondItem),
+                () -> assertThat(itemService.getItems(2L, 2)).containsExactly(thirdItem),
+                () -> assertThat(itemService.getItems(3L, 2)).isEmpty());
+    }
+
+    @Test
+    void getItemsByValuePageTest() {
+        Item item = new Item("Banana", 2D);
+        item.setId(1L);
+        Item secondItem = new Item("Ball", 2D);
+        secondItem.setId(2L);
+        Item thirdItem = new Item("Apple", 1D);
+        thirdItem.setId(3L);
+        itemService.saveAll(Sets.newHashSet(item, secondItem, thirdItem));
+
+        assertAll("Checking value keyset pages",
+                () -> assertThat(itemService.getItemsByValue(null, null, 2)).containsExactly(thirdItem, item),
+                () -> assertThat(itemService.getItemsByValue(2D, 1L, 2)).containsExactly(secondItem),
+                () -> assertThat(itemService.getItemsByValue(2D, 2L, 2)).isEmpty(),
+                () -> assertThat(itemService.getItemsByValue(2D, null, 2)).containsExactly(item, secondItem));
+    }
+
+    @Test
+    void getItemsByValueIdWithoutValueTest() {
+        assertThatThrownBy(() -> itemService.getItemsByValue(null, 1L, 2)).isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Id without value not allowed");
+    }
+
+    @Test
+    void getMostExpensiveItemsTest() {
+        Item item = new Item("Banana", 2D);
+        item.setId(1L);
+        Item secondItem = new Item("Ball", 5D);
+        secondItem.setId(2L);
+        Item thirdItem = new Item("Apple", 2D);
+        thirdItem.setId(3L);
+        itemService.saveAll(Sets.newHashSet(item, secondItem, thirdItem));
+
+        assertThat(itemService.getMostExpensiveItems(2)).containsExactly(secondItem, thirdItem);
+
+        itemService = new ItemServiceImpl(itemRepository, new ItemPriceIndex());
+
+        assertThat(itemService.getMostExpensiveItems(2)).containsExactly(secondItem, thirdItem);
+    }
+
+    @Test
+    void getTopItemsTest() {
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            Item item = new Item("Item" + (char) ('a' + i % 26) + (char) ('a' + i / 26), (double) (i * 37 % 100 + 1));
+            item.setId((long) i + 1);
+            items.add(item);
+        }
+        itemService.saveAll(items);
+        Comparator<Item> byName = Comparator.comparing(Item::getName).reversed();
+
+        assertThat(itemService.getTopItems(byName, 5)).containsExactlyElementsOf(items.stream().sorted(byName).limit(5).collect(Collectors.toList()));
+        assertThat(itemService.getTopItems(byName, 500)).hasSize(100).isSortedAccordingTo(byName);
+        assertThatThrownBy(() -> itemService.getTopItems(byName, 0)).isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Limit must be positive");
+    }
+
+    @Test
+    void getItemsPageIllegalLimitTest() {
+        assertThatThrownBy(() -> itemService.getItems(null, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void streamItemsTest() {
+        Item first = new Item("Apple", 2.5);
+        first.setId(2L);
+        Item second = new Item("Pear", 3.5);
+        second.setId(1L);
+        itemService.save(first);
+        itemService.save(second);
+
+        try (Stream<Item> items = itemService.streamItems()) {
+            assertThat(items).containsExactly(second, first);
+        }
+    }
+
     @AfterEach
     void tearDown() {
         itemRepository = null;
@@ -6,12 +6,17 @@ import org.easymock.TestSubject;
 import org.inql.onlineshop.domain.Client;
 import org.inql.onlineshop.domain.Item;
 import org.inql.onlineshop.domain.Order;
+import org.inql.onlineshop.domain.OrderTotals;
+import org.inql.onlineshop.domain.OrderView;
 import org.inql.onlineshop.repository.OrderRepository;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
 
+import javax.validation.Validation;
 import java.util.*;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.easymock.EasyMock.*;
@@ -55,6 +60,29 @@ public class OrderServiceImplEasyMockTest {
         verify(orderRepository);
     }
 
+    @Test
+    void findOrderByIdNotFoundIsStacklessTest() {
+        expect(orderRepository.findById(anyLong())).andReturn(Optional.empty());
+        replay(orderRepository);
+
+        assertThatThrownBy(() -> orderService.findById(1L)).isInstanceOf(StacklessNotFoundException.class)
+                .satisfies(e -> assertThat(e.getStackTrace()).isEmpty());
+    }
+
+    @Test
+    void lookupOrderByIdTest() {
+        Order order = new Order();
+        order.setId(1L);
+
+        expect(orderRepository.findById(1L)).andReturn(Optional.of(order));
+        expect(orderRepository.findById(2L)).andReturn(Optional.empty());
+        replay(orderRepository);
+
+        assertThat(orderService.lookupById(1L)).containsSame(order);
+        assertThat(orderService.lookupById(2L)).isEmpty();
+        verify(orderRepository);
+    }
+
     @Test
     void findOrderByIdNullInputTest() {
 
@@ -195,6 +223,19 @@ public class OrderServiceImplEasyMockTest {
         verify(orderRepository);
     }
 
+    @Test
+    void findOrderViewsByClientEmailTest() {
+        OrderView view = new OrderView(1L, 1L, 12.5D, 3);
+
+        expect(orderRepository.findOrderViewsByClient_Email("example@example.com")).andReturn(Collections.singletonList(view));
+        replay(orderRepository);
+
+        List<OrderView> views = orderService.findOrderViewsByClientEmail("example@example.com");
+
+        assertThat(views).containsExactly(view);
+        verify(orderRepository);
+    }
+
     @Test
     void findOrdersByClientEmailEmptyTest() {
         Client client = new Client();
@@ -322,6 +363,25 @@ public class OrderServiceImplEasyMockTest {
         verify(orderRepository);
     }
 
+    @Test
+    void saveOrderInvalidLineTest() {
+        Item item = new Item("Banana", 2D);
+        item.setId(1L);
+        Order order = new Order();
+        order.addItem(item, 1).setQuantity(0);
+        orderRepository = createMock(OrderRepository.class);
+        replay(orderRepository);
+
+        try (BatchValidator batchValidator = new BatchValidator(Validation.buildDefaultValidatorFactory().getValidator(), 2)) {
+            orderService = new OrderServiceImpl(orderRepository, batchValidator);
+
+            assertThatThrownBy(() -> orderService.save(order)).isInstanceOf(BatchValidationException.class)
+                    .hasMessage("1 of 1 entities are invalid, the first at position 0: quantity: Quantity must be higher than zero.");
+            assertThatThrownBy(() -> orderService.saveAll(Collections.singletonList(order))).isInstanceOf(BatchValidationException.class);
+        }
+        verify(orderRepository);
+    }
+
     @Test
     void saveOrderNullTest() {
         Order order = null;
@@ -413,6 +473,68 @@ public class OrderServiceImplEasyMockTest {
         assertThat(result).isFalse();
     }
 
+    @Test
+    void addItemToOrderWithQuantityTest() {
+        Order order = new Order();
+        order.setId(1L);
+        Item item = new Item("Banana", 25D);
+
+        expect(orderRepository.save(order)).andReturn(order).times(2);
+        replay(orderRepository);
+
+        boolean result = orderService.addItemToOrder(item, 3, order);
+        boolean secondResult = orderService.addItemToOrder(item, 2, order);
+
+        assertAll("Checking order lines",
+                () -> assertThat(result).isTrue(),
+                () -> assertThat(secondResult).isTrue(),
+                () -> assertThat(order.getLines()).hasSize(1),
+                () -> assertThat(order.getLines().get(0).getQuantity()).isEqualTo(5),
+                () -> assertThat(orderService.getOrderTotalValue(order)).isEqualTo(125D, Offset.offset(0D)));
+        verify(orderRepository);
+    }
+
+    @Test
+    void addItemToOrderIllegalQuantityTest() {
+        Order order = new Order();
+        replay(orderRepository);
+
+        assertThat(orderService.addItemToOrder(new Item("Banana", 25D), 0, order)).isFalse();
+        assertThat(order.getLines()).isEmpty();
+        verify(orderRepository);
+    }
+
+    @Test
+    void addItemsToOrderTest() {
+        Order order = new Order();
+        order.setId(1L);
+        Item item = new Item("Banana", 25D);
+        Item secondItem = new Item("Ball", 1.11D);
+
+        expect(orderRepository.save(order)).andReturn(order).once();
+        replay(orderRepository);
+
+        boolean result = orderService.addItemsToOrder(Arrays.asList(item, secondItem), order);
+
+        assertThat(result).isTrue();
+        assertThat(order.getItems()).containsExactly(item, secondItem);
+        verify(orderRepository);
+    }
+
+    @Test
+    void addItemsToOrderInvalidInputTest() {
+        Order order = new Order();
+        replay(orderRepository);
+
+        assertAll("Checking rejected input",
+                () -> assertThat(orderService.addItemsToOrder(null, order)).isFalse(),
+                () -> assertThat(orderService.addItemsToOrder(Collections.emptyList(), order)).isFalse(),
+                () -> assertThat(orderService.addItemsToOrder(Arrays.asList(new Item(), null), order)).isFalse(),
+                () -> assertThat(orderService.addItemsToOrder(Collections.singletonList(new Item()), null)).isFalse(),
+                () -> assertThat(order.getItems()).isEmpty());
+        verify(orderRepository);
+    }
+
     @Test
     void getOrderTotalValueTest() throws NotFoundException {
         Order order = new Order();
@@ -490,6 +612,149 @@ public class OrderServiceImplEasyMockTest {
         verify(orderRepository);
     }
 
+    @Test
+    void getOrdersPageTest() {
+        Order order = new Order();
+        order.setId(6L);
+        Order secondOrder = new Order();
+        secondOrder.setId(7L);
+
+        expect(orderRepository.findOrdersByIdGreaterThanOrderByIdAsc(5L, PageRequest.of(0, 2))).andReturn(Arrays.asList(order, secondOrder));
+        replay(orderRepository);
+
+        List<Order> orders = orderService.getOrders(5L, 2);
+
+        assertThat(orders).containsExactly(order, secondOrder);
+        verify(orderRepository);
+    }
+
+    @Test
+    void getOrdersFirstPageTest() {
+        expect(orderRepository.findOrdersByIdGreaterThanOrderByIdAsc(Long.MIN_VALUE, PageRequest.of(0, 3))).andReturn(new ArrayList<>());
+        replay(orderRepository);
+
+        List<Order> orders = orderService.getOrders(null, 3);
+
+        assertThat(orders).isEmpty();
+        verify(orderRepository);
+    }
+
+    @Test
+    void getLargestOrdersTest() {
+        Order order = new Order();
+        order.setId(6L);
+
+        expect(orderRepository.findOrdersByOrderByTotalDescIdDesc(PageRequest.of(0, 50))).andReturn(Collections.singletonList(order));
+        replay(orderRepository);
+
+        assertThat(orderService.getLargestOrders(50)).containsExactly(order);
+        verify(orderRepository);
+    }
+
+    @Test
+    void getTopOrdersTest() {
+        Order order = new Order();
+        Comparator<Order> byItemCount = Comparator.comparingInt(Order::getItemCount).reversed();
+
+        expect(orderRepository.findTop(byItemCount, 10)).andReturn(Collections.singletonList(order));
+        replay(orderRepository);
+
+        assertThat(orderService.getTopOrders(byItemCount, 10)).containsExactly(order);
+        verify(orderRepository);
+    }
+
+    @Test
+    void streamOrdersTest() {
+        Order order = new Order();
+        order.setId(1L);
+
+        expect(orderRepository.streamAll(500)).andReturn(Stream.of(order));
+        replay(orderRepository);
+
+        assertThat(orderService.streamOrders()).containsExactly(order);
+        verify(orderRepository);
+    }
+
+    @Test
+    void streamOrdersFetchSizeTest() {
+        expect(orderRepository.streamAll(20)).andReturn(Stream.empty());
+        replay(orderRepository);
+
+        assertThat(orderService.streamOrders(20)).isEmpty();
+        verify(orderRepository);
+    }
+
+    @Test
+    void getOrderTotalValueByIdTest() {
+        expect(orderRepository.findTotalById(1L)).andReturn(26.11D);
+        replay(orderRepository);
+
+        assertThat(orderService.getOrderTotalValueById(1L)).isEqualTo(26.11D, Offset.offset(0D));
+        verify(orderRepository);
+    }
+
+    @Test
+    void getOrderTotalValueByIdNullInputTest() {
+        replay(orderRepository);
+
+        assertThat(orderService.getOrderTotalValueById(null)).isEqualTo(0D, Offset.offset(0D));
+        verify(orderRepository);
+    }
+
+    @Test
+    void getOrderTotalValuesTest() {
+        List<Long> orderIds = Arrays.asList(1L, 2L, 3L);
+        OrderTotals totals = new OrderTotals(new long[]{1L, 2L, 3L}, new double[]{26.11D, 0D, 4D});
+
+        expect(orderRepository.findTotalsByOrderIds(orderIds)).andReturn(totals);
+        replay(orderRepository);
+
+        OrderTotals result = orderService.getOrderTotalValues(orderIds);
+
+        assertAll("Checking bulk totals",
+                () -> assertThat(result.size()).isEqualTo(3),
+                () -> assertThat(result.get(1L)).isEqualTo(26.11D, Offset.offset(0D)),
+                () -> assertThat(result.get(2L)).isEqualTo(0D, Offset.offset(0D)));
+        verify(orderRepository);
+    }
+
+    @Test
+    void getOrderTotalValuesEmptyInputTest() {
+        replay(orderRepository);
+
+        assertThat(orderService.getOrderTotalValues(Collections.emptyList()).size()).isEqualTo(0);
+        assertThat(orderService.getOrderTotalValues(null).size()).isEqualTo(0);
+        verify(orderRepository);
+    }
+
+    @Test
+    void findOrdersByClientIdFetchPlanTest() {
+        Order order = new Order();
+        Order secondOrder = new Order();
+
+        expect(orderRepository.findOrderSummariesByClient_Id(1L)).andReturn(Collections.singleton(order));
+        expect(orderRepository.findOrdersWithItemsByClient_Id(1L)).andReturn(Collections.singleton(secondOrder));
+        replay(orderRepository);
+
+        assertThat(orderService.findOrdersByClientId(1L, OrderFetchPlan.SUMMARY)).containsExactly(order);
+        assertThat(orderService.findOrdersByClientId(1L, OrderFetchPlan.WITH_ITEMS)).containsExactly(secondOrder);
+        verify(orderRepository);
+    }
+
+    @Test
+    void findOrdersByClientEmailFetchPlanTest() {
+        Order order = new Order();
+        Order secondOrder = new Order();
+
+        expect(orderRepository.findOrderSummariesByClient_Email("adam@abacki.pl")).andReturn(Collections.singleton(order));
+        expect(orderRepository.findOrdersWithItemsByClient_Email("adam@abacki.pl")).andReturn(Collections.singleton(secondOrder));
+        replay(orderRepository);
+
+        assertThat(orderService.findOrdersByClientEmail("adam@abacki.pl", OrderFetchPlan.SUMMARY)).containsExactly(order);
+        assertThat(orderService.findOrdersByClientEmail("adam@abacki.pl", OrderFetchPlan.WITH_ITEMS)).containsExactly(secondOrder);
+        verify(orderRepository);
+    }
+
     @AfterEach
     void tearDown() {
         orderService = null;
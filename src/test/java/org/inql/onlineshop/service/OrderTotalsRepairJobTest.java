@@ -0,0 +1,104 @@
+package org.inql.onlineshop.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.inql.onlineshop.domain.Item;
+import org.inql.onlineshop.domain.Order;
+import org.inql.onlineshop.repository.ItemRepository;
+import org.inql.onlineshop.repository.OrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@ExtendWith(SpringExtension.class)
+@DataJpaTest
+public class OrderTotalsRepairJobTest {
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private MeterRegistry registry;
+
+    private OrderTotalsRepairJob job;
+
+    private List<Order> orders;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        job = new OrderTotalsRepairJob(orderRepository, 2, registry);
+        Item item = itemRepository.save(new Item("Banana", 2.5D));
+        Item secondItem = itemRepository.save(new Item("Ball", 0.1D));
+        orders = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Order order = new Order();
+            order.addItem(item, i + 1);
+            order.addItem(secondItem, 3);
+            orders.add(order);
+        }
+        orders.add(new Order());
+        orderRepository.saveAll(orders);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void consistentTotalsAreLeftAloneTest() {
+        assertThat(job.repair()).isZero();
+        assertThat(registry.get(OrderTotalsRepairJob.REPAIRED_METRIC).counter().count()).isZero();
+    }
+
+    @Test
+    void driftedTotalsAreRepairedTest() {
+        jdbcTemplate.update("update db_order set total = 1 where id = ?", orders.get(0).getId());
+        jdbcTemplate.update("update db_order set item_count = 0 where id = ?", orders.get(3).getId());
+        jdbcTemplate.update("update db_order set total = 7, item_count = 2 where id = ?", orders.get(5).getId());
+        jdbcTemplate.update("update db_order_line set quantity = 10 where order_id = ? and quantity = 3", orders.get(4).getId());
+
+        assertThat(job.repair()).isEqualTo(4);
+        entityManager.clear();
+        // the lines were changed behind the second level cache
+        entityManager.getEntityManagerFactory().getCache().evictAll();
+
+        assertThat(orderRepository.findAllById(ids())).allSatisfy(order -> {
+            assertThat(order.getTotal()).isEqualTo(order.getLines().stream().mapToDouble(line -> line.getLineTotal()).sum(), offset(1e-9));
+            assertThat(order.getItemCount()).isEqualTo(order.getLines().stream().mapToInt(line -> line.getQuantity()).sum());
+        });
+        assertThat(orderRepository.findTotalById(orders.get(0).getId())).isEqualTo(2.8D);
+        assertThat(orderRepository.findTotalById(orders.get(4).getId())).isEqualTo(13.5D);
+        assertThat(orderRepository.findTotalById(orders.get(5).getId())).isZero();
+        assertThat(registry.get(OrderTotalsRepairJob.REPAIRED_METRIC).counter().count()).isEqualTo(4);
+        assertThat(job.repair()).isZero();
+    }
+
+    @Test
+    void illegalPageSizeTest() {
+        assertThatThrownBy(() -> new OrderTotalsRepairJob(orderRepository, 0, registry)).isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Page size must be positive");
+    }
+
+    private List<Long> ids() {
+        List<Long> ids = new ArrayList<>();
+        orders.forEach(order -> ids.add(order.getId()));
+        return ids;
+    }
+}
@@ -0,0 +1,95 @@
+package org.inql.onlineshop.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class ServiceExecutorsTest {
+
+    @Test
+    void boundedBlocksSubmitterWhenSaturatedTest() throws InterruptedException {
+        ExecutorService executor = ServiceExecutors.bounded("test", 1, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            executor.execute(() -> await(release));
+            executor.execute(() -> { });
+            CompletableFuture<CompletableFuture<Thread>> overflow = CompletableFuture.supplyAsync(
+                    () -> AsyncCalls.supply(executor, Thread::currentThread));
+
+            assertThatThrownBy(() -> overflow.get(200, TimeUnit.MILLISECONDS)).isInstanceOf(TimeoutException.class);
+            release.countDown();
+
+            assertThat(overflow.join().join().getName()).isEqualTo("test-1");
+        } finally {
+            release.countDown();
+            executor.shutdown();
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    void shutDownExecutorFailsFutureTest() {
+        ExecutorService executor = ServiceExecutors.bounded("test", 1, 1);
+        executor.shutdown();
+
+        CompletableFuture<String> lookup = AsyncCalls.supply(executor, () -> "result");
+
+        assertThatThrownBy(lookup::join).isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(RejectedExecutionException.class);
+    }
+
+    @Test
+    void limitedCapsConcurrentCallsTest() throws InterruptedException {
+        ExecutorService executor = ServiceExecutors.limited(Executors.newCachedThreadPool(), 2);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(20);
+        for (int i = 0; i < 20; i++) {
+            executor.execute(() -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                sleep();
+                running.decrementAndGet();
+                done.countDown();
+            });
+        }
+
+        assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(maxRunning.get()).isEqualTo(2);
+        executor.shutdown();
+    }
+
+    @Test
+    void virtualThreadsNeedNewerJdkTest() {
+        assumeTrue(System.getProperty("java.version").startsWith("1."));
+
+        assertThatThrownBy(() -> ServiceExecutors.virtualThreads(10)).isInstanceOf(UnsupportedOperationException.class)
+                .hasMessageStartingWith("Virtual threads need Java 21 or newer");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(5);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package org.inql.onlineshop.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.inql.onlineshop.domain.Client;
+import org.inql.onlineshop.domain.Item;
+import org.inql.onlineshop.domain.Order;
+import org.inql.onlineshop.repository.ClientRepository;
+import org.inql.onlineshop.repository.ItemRepository;
+import org.inql.onlineshop.repository.OrderRepository;
+import org.inql.onlineshop.service.ClientServiceImpl;
+import org.inql.onlineshop.service.ItemServiceImpl;
+import org.inql.onlineshop.service.OrderServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(SpringExtension.class)
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class ExportControllerTest {
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private MeterRegistry meterRegistry;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        ExportController exportController = new ExportController(new ItemServiceImpl(itemRepository),
+                new ClientServiceImpl(clientRepository), new OrderServiceImpl(orderRepository),
+                transactionManager, new ObjectMapper(), meterRegistry);
+        mockMvc = MockMvcBuilders.standaloneSetup(exportController).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from db_order_line");
+        jdbcTemplate.update("delete from db_order");
+        jdbcTemplate.update("delete from db_client");
+        jdbcTemplate.update("delete from db_item");
+    }
+
+    private String export(String path) throws Exception {
+        MvcResult started = mockMvc.perform(get(path)).andExpect(request().asyncStarted()).andReturn();
+        return mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", ExportController.NDJSON))
+                .andReturn().getResponse().getContentAsString();
+    }
+
+    @Test
+    void exportItemsTest() throws Exception {
+        Item banana = itemRepository.save(new Item("Banana", 2D));
+        Item apple = itemRepository.save(new Item("Apple", 3.5));
+
+        assertThat(export("/export/items")).isEqualTo(
+                "{\"id\":" + banana.getId() + ",\"name\":\"Banana\",\"value\":2.0}\n"
+                        + "{\"id\":" + apple.getId() + ",\"name\":\"Apple\",\"value\":3.5}\n");
+    }
+
+    @Test
+    void exportClientsTest() throws Exception {
+        Client client = clientRepository.save(new Client("Adam", "Abacki", "adam@abacki.pl"));
+
+        assertThat(export("/export/clients")).isEqualTo(
+                "{\"id\":" + client.getId() + ",\"name\":\"Adam\",\"surname\":\"Abacki\",\"email\":\"adam@abacki.pl\"}\n");
+    }
+
+    @Test
+    void exportOrdersTest() throws Exception {
+        Client client = clientRepository.save(new Client("Adam", "Abacki", "adam@abacki.pl"));
+        Item banana = itemRepository.save(new Item("Banana", 2D));
+        Item apple = itemRepository.save(new Item("Apple", 3D));
+        Order order = new Order();
+        order.setClient(client);
+        order.addItem(banana, 2);
+        order.addItem(apple, 1);
+        order = orderRepository.save(order);
+        Order empty = orderRepository.save(new Order());
+
+        assertThat(export("/export/orders")).isEqualTo(
+                "{\"id\":" + order.getId() + ",\"clientId\":" + client.getId() + ",\"lines\":["
+                        + "{\"itemId\":" + banana.getId() + ",\"quantity\":2},{\"itemId\":" + apple.getId() + ",\"quantity\":1}],"
+                        + "\"itemCount\":3,\"total\":7.0}\n"
+                        + "{\"id\":" + empty.getId() + ",\"clientId\":null,\"lines\":[],\"itemCount\":0,\"total\":0.0}\n");
+    }
+
+    @Test
+    void exportTimesRecordedTest() throws Exception {
+        itemRepository.save(new Item("Banana", 2D));
+
+        export("/export/items");
+        export("/export/orders");
+
+        assertThat(meterRegistry.get(ExportController.FIRST_BYTE_METRIC).tag("type", "items").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(ExportController.EXPORT_METRIC).tag("type", "items").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(ExportController.FIRST_BYTE_METRIC).tag("type", "orders").timer().count()).isEqualTo(1);
+    }
+}